@@ -0,0 +1,89 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.security.AccessTokenMinter;
+import com.selflearntech.tech_blog_backend.security.JwtAlgorithm;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token minting through the generic {@link JwtEncoder} (claims set, joined roles, header and claims
+ * serialisation per call) against {@link AccessTokenMinter}. Compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenMintingBenchmark {
+
+    private static final String SUBJECT = "john.doe@gmail.com";
+    private static final List<String> ROLES = List.of("USER", "ADMIN");
+    private static final UUID SESSION_ID = UUID.randomUUID();
+
+    @Param({"RS256", "ES256", "ED25519"})
+    private JwtAlgorithm algorithm;
+
+    private Path directory;
+    private Clock clock;
+    private JwtEncoder jwtEncoder;
+    private AccessTokenMinter accessTokenMinter;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("access-token-minting-benchmark");
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+        properties.setAlgorithm(algorithm);
+
+        SigningKeyManager signingKeyManager = new SigningKeyManager(properties, Clock.systemUTC());
+        clock = Clock.systemUTC();
+        jwtEncoder = new SecurityConfig(signingKeyManager).jwtEncoder();
+        accessTokenMinter = new AccessTokenMinter(signingKeyManager);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public String jwtEncoder() {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(Instant.now(clock))
+                .expiresAt(Instant.now(clock).plus(10, ChronoUnit.SECONDS))
+                .subject(SUBJECT)
+                .claim("sid", SESSION_ID.toString())
+                .claim("roles", String.join(",", ROLES))
+                .build();
+
+        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    @Benchmark
+    public String accessTokenMinter() {
+        Instant now = Instant.now(clock);
+        return accessTokenMinter.mint(SUBJECT, AccessTokenMinter.roleMask(ROLES), SESSION_ID, now, now.plus(10, ChronoUnit.SECONDS));
+    }
+}
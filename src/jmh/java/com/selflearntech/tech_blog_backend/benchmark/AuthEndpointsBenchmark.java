@@ -0,0 +1,147 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.Application;
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end throughput and latency of {@code /auth/login} and {@code /auth/refresh} with Tomcat on platform threads
+ * and on virtual threads. Every run boots the whole application (Postgres comes from compose.yml through Spring
+ * Boot's Docker Compose support, or from the usual {@code spring.datasource.*} system properties), so each mode gets a
+ * fresh JVM and schema.
+ * <p>
+ * 256 client threads exceed Tomcat's 200 platform request threads; compare the p0.99 of the sample-time results:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="AuthEndpointsBenchmark -bm sample"}. Use {@code -bm thrpt}
+ * for throughput and {@code -t} to change the client concurrency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class AuthEndpointsBenchmark {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private Path keyDirectory;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private final AtomicInteger users = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private String email;
+        private String refreshTokenCookie;
+
+        // every client thread has its own account, so logins don't contend on the same token row
+        @Setup
+        public void setUp(AuthEndpointsBenchmark benchmark) throws IOException, InterruptedException {
+            email = "benchmark-" + benchmark.users.incrementAndGet() + "@gmail.com";
+            benchmark.post("/auth/register", """
+                    {"firstName":"John","lastName":"Doe","email":"%s","password":"%s","verifyPassword":"%s"}
+                    """.formatted(email, PASSWORD, PASSWORD), null, 201);
+
+            refreshTokenCookie = refreshTokenCookie(benchmark.login(email)).orElseThrow();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        keyDirectory = Files.createTempDirectory("auth-endpoints-benchmark");
+        // command line arguments, since application.yml would override default properties
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("dev")
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--selflearntech.jwt.signing-keys.directory=" + keyDirectory,
+                        // measure queueing for BCrypt rather than 429s
+                        "--selflearntech.password-hashing.queue-capacity=10000",
+                        "--selflearntech.rate-limit.enabled=false");
+        seedRoles();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    // the dev profile starts from an empty create-drop schema
+    private void seedRoles() {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        for (RoleType roleType : RoleType.values()) {
+            if (roleRepository.findByAuthority(roleType).isEmpty()) roleRepository.save(Role.builder().authority(roleType).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.list(keyDirectory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(keyDirectory);
+    }
+
+    @Benchmark
+    public HttpResponse<String> login(Client client) throws IOException, InterruptedException {
+        return login(client.email);
+    }
+
+    @Benchmark
+    public HttpResponse<String> refresh(Client client) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/auth/refresh", "", client.refreshTokenCookie, 200);
+        // every refresh rotates the token, the next one has to present its successor
+        refreshTokenCookie(response).ifPresent(cookie -> client.refreshTokenCookie = cookie);
+        return response;
+    }
+
+    private HttpResponse<String> login(String email) throws IOException, InterruptedException {
+        return post("/auth/login", """
+                {"email":"%s","password":"%s"}
+                """.formatted(email, PASSWORD), null, 200);
+    }
+
+    private static Optional<String> refreshTokenCookie(HttpResponse<?> response) {
+        return response.headers().firstValue("Set-Cookie").map(cookie -> cookie.substring(0, cookie.indexOf(';')));
+    }
+
+    private HttpResponse<String> post(String path, String json, String cookie, int expectedStatus) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (cookie != null) request.header("Cookie", cookie);
+
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
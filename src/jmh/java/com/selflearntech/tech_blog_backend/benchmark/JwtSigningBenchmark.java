@@ -0,0 +1,79 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.security.JwtAlgorithm;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost of an access token for each {@link JwtAlgorithm}, through the same encoder and decoder the
+ * application wires up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "ED25519"})
+    private JwtAlgorithm algorithm;
+
+    private Path directory;
+    private JwtEncoder jwtEncoder;
+    private JwtDecoder jwtDecoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jwt-signing-benchmark");
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+        properties.setAlgorithm(algorithm);
+
+        SecurityConfig securityConfig = new SecurityConfig(new SigningKeyManager(properties, Clock.systemUTC()));
+        jwtEncoder = securityConfig.jwtEncoder();
+        jwtDecoder = securityConfig.jwtDecoder();
+
+        // long lived so the decoder's timestamp validation passes for the whole run
+        parameters = JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .subject("john.doe@gmail.com")
+                .claim("roles", "USER,WRITER")
+                .build());
+        token = jwtEncoder.encode(parameters).getTokenValue();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public Jwt sign() {
+        return jwtEncoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return jwtDecoder.decode(token);
+    }
+}
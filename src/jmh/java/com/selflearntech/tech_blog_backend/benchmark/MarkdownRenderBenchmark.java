@@ -0,0 +1,59 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import com.selflearntech.tech_blog_backend.rendering.MarkdownRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a long post, 40 sections of a heading, two paragraphs, a list and a Java code block, on a save that
+ * edited one paragraph: with the block cache turned off ({@code full}) every block is rendered, while {@code cached}
+ * renders only the edited one and reuses the rest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownRenderBenchmark {
+
+    private static final int SECTIONS = 40;
+
+    @Param({"full", "cached"})
+    private String cache;
+
+    private MarkdownRenderer renderer;
+    private String post;
+    private int edit;
+
+    @Setup
+    public void setUp() {
+        MarkdownProperties properties = new MarkdownProperties();
+        if (cache.equals("full")) properties.setBlockCacheSize(DataSize.ofBytes(0));
+        renderer = new MarkdownRenderer(properties, new SimpleMeterRegistry());
+
+        StringBuilder post = new StringBuilder();
+        for (int i = 0; i < SECTIONS; i++) {
+            post.append("## Section ").append(i).append("\n\n")
+                    .append("Keyset pagination seeks to the last row of the previous page, so *deep* pages cost as much as ")
+                    .append("the first one, while `OFFSET` reads and throws away every row before it.\n\n")
+                    .append("- an index on `(updated_at, id)`\n- a cursor encoding both\n- a `LIMIT` on each page\n\n")
+                    .append("```java\n")
+                    .append("List<Story> page = repository.findPageAfter(cursor.updatedAt(), cursor.id(), Limit.of(20)); // ")
+                    .append(i).append("\nreturn new StoryPage(page, page.size() < 20 ? null : StoryCursor.after(page));\n```\n\n")
+                    .append("Reads of section ").append(i).append(" stay fast as the table grows.\n\n");
+        }
+        this.post = post.toString();
+        renderer.render(this.post);
+    }
+
+    @Benchmark
+    public String renderAfterEdit() {
+        // a paragraph never seen before on every save
+        return renderer.render(post.replace("Reads of section 20 ", "Edit " + edit++ + ": reads of section 20 "));
+    }
+}
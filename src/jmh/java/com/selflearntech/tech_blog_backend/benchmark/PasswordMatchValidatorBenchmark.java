@@ -0,0 +1,41 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.dto.RegistrationDTO;
+import com.selflearntech.tech_blog_backend.test_data.RegistrationDTOMother;
+import com.selflearntech.tech_blog_backend.validation.PasswordMatchValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordMatchValidator} reads both fields reflectively on every call; measures that cost for matching and
+ * mismatching registrations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordMatchValidatorBenchmark {
+
+    private final PasswordMatchValidator validator = new PasswordMatchValidator();
+    private RegistrationDTO matching;
+    private RegistrationDTO mismatching;
+
+    @Setup
+    public void setUp() {
+        matching = RegistrationDTOMother.complete().build();
+        mismatching = RegistrationDTOMother.complete().verifyPassword(matching.getPassword() + "?").build();
+    }
+
+    @Benchmark
+    public boolean matchingPasswords() {
+        return validator.isValid(matching, null);
+    }
+
+    @Benchmark
+    public boolean mismatchingPasswords() {
+        return validator.isValid(mismatching, null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import com.selflearntech.tech_blog_backend.config.PublishedStoryCacheProperties;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.rendering.ContentCoding;
+import com.selflearntech.tech_blog_backend.rendering.MarkdownRenderer;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStory;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStoryCache;
+import com.selflearntech.tech_blog_backend.rendering.StoryRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of answering a read of a published story of about {@code size} bytes of Markdown: serializing and
+ * compressing it on every request, as a response compression filter would (gzip at the default level, brotli at
+ * quality 4, typical on-the-fly settings), against the pre-rendered path of a {@link RenderedStoryCache} hit plus
+ * coding negotiation. {@code renderOnMiss} is what a cache miss costs the read that takes it, rendering every encoding
+ * at the given brotli quality ({@code 5} is the default).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishedStoryBenchmark {
+
+    @Param({"2000", "20000"})
+    private int size;
+
+    @Param({"gzip", "br"})
+    private String acceptEncoding;
+
+    @Param({"5", "11"})
+    private int brotliQuality;
+
+    private Story story;
+    private ObjectMapper objectMapper;
+    private StoryMapper storyMapper;
+    private RenderedStoryCache cache;
+    private StoryRenderer renderer;
+    private Encoder.Parameters onTheFlyBrotli;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] words = new String[2000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 3 + random.nextInt(6); length > 0; length--) word.append((char) ('a' + random.nextInt(26)));
+            words[i] = word.toString();
+        }
+        StringBuilder body = new StringBuilder();
+        while (body.length() < size) body.append(words[(int) Math.min(words.length - 1, 1 / random.nextDouble())]).append(' ');
+
+        story = Story.builder()
+                .id("6571a2f0c3b2a54e1d2f3a4b")
+                .authorId(1)
+                .status(StoryStatus.PUBLISHED)
+                .title("Keyset pagination in MongoDB")
+                .body(body.toString())
+                .tags(List.of("mongodb", "pagination"))
+                .publishedAt(Instant.parse("2024-12-13T12:15:00Z"))
+                .version(1L)
+                .build();
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        storyMapper = Mappers.getMapper(StoryMapper.class);
+        PublishedStoryCacheProperties properties = new PublishedStoryCacheProperties();
+        properties.setBrotliQuality(brotliQuality);
+        cache = new RenderedStoryCache(properties, new SimpleMeterRegistry());
+        MarkdownRenderer markdownRenderer = new MarkdownRenderer(new MarkdownProperties(), new SimpleMeterRegistry());
+        story.setBodyHtml(markdownRenderer.render(story.getBody()));
+        renderer = new StoryRenderer(objectMapper, storyMapper, markdownRenderer, properties);
+        cache.put(renderer.render(story));
+        onTheFlyBrotli = new Encoder.Parameters().setQuality(4).setMode(Encoder.Mode.TEXT);
+    }
+
+    @Benchmark
+    public byte[] perRequest() throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(storyMapper.toPublishedStoryDTO(story));
+        if (acceptEncoding.equals("br")) return Encoder.compress(json, onTheFlyBrotli);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public RenderedStory renderOnMiss() {
+        return renderer.render(story);
+    }
+
+    @Benchmark
+    public byte[] prerendered() {
+        RenderedStory rendered = cache.get(story.getId(), 1, () -> {
+            throw new IllegalStateException("not pre-rendered");
+        });
+        ContentCoding coding = rendered.negotiate(acceptEncoding);
+        return rendered.body(coding);
+    }
+}
@@ -0,0 +1,74 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.security.RoleAuthoritiesConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authority conversion of an access token by {@link JwtGrantedAuthoritiesConverter} (split claim, new authorities and
+ * collection per call) against {@link RoleAuthoritiesConverter}, on its own and as part of the
+ * {@link JwtAuthenticationConverter} run for every authenticated request. Compare {@code gc.alloc.rate.norm}, the
+ * bytes allocated per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleAuthoritiesBenchmark {
+
+    @Param({"USER", "USER,ADMIN"})
+    private String roles;
+
+    @Param({"split", "interned"})
+    private String converter;
+
+    private Jwt jwt;
+    private Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private JwtAuthenticationConverter authenticationConverter;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .issuer("self")
+                .subject("john.doe@gmail.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(10))
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, roles)
+                .build();
+
+        if (converter.equals("interned")) {
+            authoritiesConverter = new RoleAuthoritiesConverter();
+        } else {
+            JwtGrantedAuthoritiesConverter split = new JwtGrantedAuthoritiesConverter();
+            split.setAuthoritiesClaimName(RoleAuthoritiesConverter.ROLES_CLAIM);
+            split.setAuthoritiesClaimDelimiter(",");
+            split.setAuthorityPrefix("ROLE_");
+            authoritiesConverter = split;
+        }
+        authenticationConverter = new JwtAuthenticationConverter();
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> authorities() {
+        return authoritiesConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken authentication() {
+        return authenticationConverter.convert(jwt);
+    }
+}
@@ -0,0 +1,91 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.search.StorySearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link StorySearchIndex} over 100k synthetic stories: 8-word titles, three tags and 300-word
+ * bodies drawn from a 30k-word vocabulary with Zipf-like (1/rank) frequencies, so that query words range from ones
+ * in most stories to ones in a few. Each query type is a mix of word ranks: {@code rare} words sit around rank 10k,
+ * {@code mixed} pairs a common word with mid-frequency ones, {@code common} words are among the 20 most frequent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class StorySearchBenchmark {
+
+    private static final int STORIES = 100_000;
+    private static final int VOCABULARY = 30_000;
+    private static final int BODY_WORDS = 300;
+
+    @Param({"rare", "mixed", "common"})
+    private String query;
+
+    private StorySearchIndex index;
+    private String[] words;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) words[i] = word(random);
+
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) cumulative[rank] = sum += 1.0 / (rank + 1);
+
+        index = new StorySearchIndex();
+        for (int story = 0; story < STORIES; story++) {
+            index.put("story-" + story, 0, text(random, cumulative, 8), List.of(pick(random, cumulative),
+                    pick(random, cumulative), pick(random, cumulative)), text(random, cumulative, BODY_WORDS));
+        }
+
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = switch (query) {
+                case "rare" -> words[10_000 + random.nextInt(1000)] + " " + words[10_000 + random.nextInt(1000)];
+                case "mixed" -> words[random.nextInt(20)] + " " + words[200 + random.nextInt(800)] + " " + words[200 + random.nextInt(800)];
+                default -> words[random.nextInt(20)] + " " + words[random.nextInt(20)] + " " + words[random.nextInt(20)];
+            };
+        }
+    }
+
+    @Benchmark
+    public List<StorySearchIndex.Hit> search() {
+        return index.search(queries[next++ & (queries.length - 1)], 20);
+    }
+
+    private String text(SplittableRandom random, double[] cumulative, int length) {
+        List<String> text = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) text.add(pick(random, cumulative));
+        return String.join(" ", text);
+    }
+
+    private String pick(SplittableRandom random, double[] cumulative) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] < target) low = middle + 1;
+            else high = middle;
+        }
+        return words[low];
+    }
+
+    private static String word(SplittableRandom random) {
+        char[] word = new char[4 + random.nextInt(7)];
+        for (int i = 0; i < word.length; i++) word[i] = (char) ('a' + random.nextInt(26));
+        return new String(word);
+    }
+}
@@ -0,0 +1,91 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.security.AccessTokenMinter;
+import com.selflearntech.tech_blog_backend.security.JwtAlgorithm;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.service.impl.TokenService;
+import com.selflearntech.tech_blog_backend.test_data.RoleMother;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The token operations behind login and refresh, wired as in the application: access tokens through
+ * {@link AccessTokenMinter}, refresh tokens through the {@code JwtEncoder} and validation through the
+ * {@code JwtDecoder}, all with the signing key of the given algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final UUID SESSION_ID = UUID.randomUUID();
+
+    @Param({"RS256", "ES256", "ED25519"})
+    private JwtAlgorithm algorithm;
+
+    private Path directory;
+    private TokenService tokenService;
+    private User user;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("token-service-benchmark");
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+        properties.setAlgorithm(algorithm);
+
+        SigningKeyManager signingKeyManager = new SigningKeyManager(properties, Clock.systemUTC());
+        SecurityConfig securityConfig = new SecurityConfig(signingKeyManager);
+        tokenService = new TokenService(securityConfig.jwtEncoder(), securityConfig.jwtDecoder(),
+                new AccessTokenMinter(signingKeyManager), Clock.systemUTC(), new SimpleMeterRegistry());
+
+        user = UserMother.complete()
+                .authorities(Set.of(RoleMother.USER().build(), RoleMother.ADMIN().build()))
+                .build();
+        refreshToken = createRefreshToken();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokenService.createAccessToken(user, SESSION_ID);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        Instant now = Instant.now();
+        return tokenService.createRefreshToken(user.getEmail(), now, now.plus(7, ChronoUnit.DAYS));
+    }
+
+    @Benchmark
+    public Jwt validateJWT() {
+        return tokenService.validateJWT(refreshToken);
+    }
+}
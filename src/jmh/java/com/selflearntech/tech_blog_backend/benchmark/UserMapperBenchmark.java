@@ -0,0 +1,49 @@
+package com.selflearntech.tech_blog_backend.benchmark;
+
+import com.selflearntech.tech_blog_backend.dto.UserDTO;
+import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
+import com.selflearntech.tech_blog_backend.mapper.UserMapper;
+import com.selflearntech.tech_blog_backend.mapper.UserMapperImpl;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.test_data.RoleMother;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct mappings that build the login and refresh responses, including the roles set copied from the
+ * user's authorities on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private static final String ACCESS_TOKEN = "accessToken";
+    private static final String REFRESH_TOKEN = "refreshToken";
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = UserMother.complete()
+                .authorities(Set.of(RoleMother.USER().build(), RoleMother.ADMIN().build()))
+                .build();
+    }
+
+    @Benchmark
+    public UserWithRefreshAndAccessTokenDTO toUserWithAccessAndRefreshTokenDTO() {
+        return userMapper.toUserWithAccessAndRefreshTokenDTO(user, ACCESS_TOKEN, REFRESH_TOKEN);
+    }
+
+    @Benchmark
+    public UserDTO toUserDTOFromUserAndAccessToken() {
+        return userMapper.toUserDTOFromUserAndAccessToken(user, ACCESS_TOKEN);
+    }
+}
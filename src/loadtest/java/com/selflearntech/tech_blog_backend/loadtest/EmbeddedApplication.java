@@ -0,0 +1,134 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+import com.selflearntech.tech_blog_backend.Application;
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * The application started in-process on throwaway Postgres and MongoDB containers, with the roles and an admin account
+ * seeded into the fresh schema, and a few pages of drafts of the admin's for {@code /stories/drafts} to list.
+ */
+class EmbeddedApplication implements AutoCloseable {
+
+    private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+    private static final int ADMIN_DRAFTS = 50;
+
+    private final PostgreSQLContainer<?> postgres;
+    private final MongoDBContainer mongo;
+    private final ConfigurableApplicationContext context;
+    private final Path keyDirectory;
+    private final String adminPassword;
+
+    private EmbeddedApplication(PostgreSQLContainer<?> postgres, MongoDBContainer mongo, ConfigurableApplicationContext context,
+                                Path keyDirectory, String adminPassword) {
+        this.postgres = postgres;
+        this.mongo = mongo;
+        this.context = context;
+        this.keyDirectory = keyDirectory;
+        this.adminPassword = adminPassword;
+    }
+
+    static EmbeddedApplication start(LoadTestConfig config) throws IOException {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.1");
+        postgres.start();
+        MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+        mongo.start();
+        Path keyDirectory = Files.createTempDirectory("load-test-keys");
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.data.mongodb.uri", mongo.getReplicaSetUrl());
+        properties.put("spring.docker.compose.enabled", false);
+        properties.put("spring.devtools.restart.enabled", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("selflearntech.jwt.signing-keys.directory", keyDirectory.toString());
+        // every virtual user connects from the loopback address; --selflearntech.rate-limit.enabled=true to measure it
+        properties.put("selflearntech.rate-limit.enabled", false);
+        properties.putAll(config.applicationProperties());
+
+        // as arguments rather than default properties, which application.yml would override
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(properties.entrySet().stream().map(property -> "--" + property.getKey() + "=" + property.getValue()).toArray(String[]::new));
+
+        String adminPassword = "Lt" + UUID.randomUUID().toString().substring(0, 8) + "1!";
+        seed(context, adminPassword);
+        return new EmbeddedApplication(postgres, mongo, context, keyDirectory, adminPassword);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    String adminEmail() {
+        return ADMIN_EMAIL;
+    }
+
+    String adminPassword() {
+        return adminPassword;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        mongo.stop();
+        postgres.stop();
+        try (var files = Files.list(keyDirectory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(keyDirectory);
+    }
+
+    private static void seed(ConfigurableApplicationContext context, String adminPassword) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Set<Role> roles = new HashSet<>();
+        for (RoleType roleType : RoleType.values()) roles.add(roleRepository.save(Role.builder().authority(roleType).build()));
+
+        User admin = context.getBean(UserRepository.class).save(User.builder()
+                .firstName("Load")
+                .lastName("Test")
+                .email(ADMIN_EMAIL)
+                .password(context.getBean(PasswordEncoder.class).encode(adminPassword))
+                .authorities(roles)
+                .build());
+
+        Instant now = Instant.now();
+        List<Story> drafts = new ArrayList<>(ADMIN_DRAFTS);
+        for (int i = 0; i < ADMIN_DRAFTS; i++) {
+            Instant updatedAt = now.minus(i, ChronoUnit.MINUTES);
+            drafts.add(Story.builder()
+                    .authorId(admin.getUserId())
+                    .status(StoryStatus.DRAFT)
+                    .title("Load test draft " + i)
+                    .body("Draft " + i + " of the load test admin.")
+                    .tags(List.of("load-test"))
+                    .createdAt(updatedAt)
+                    .updatedAt(updatedAt)
+                    .build());
+        }
+        context.getBean(StoryRepository.class).saveAll(drafts);
+    }
+}
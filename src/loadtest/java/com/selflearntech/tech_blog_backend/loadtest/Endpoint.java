@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+public enum Endpoint {
+
+    REGISTER("register", "/auth/register"),
+    LOGIN("login", "/auth/login"),
+    REFRESH("refresh", "/auth/refresh"),
+    DRAFTS("drafts", "/stories/drafts");
+
+    private final String key;
+    private final String path;
+
+    Endpoint(String key, String path) {
+        this.key = key;
+        this.path = path;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) return endpoint;
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + key + ", expected one of register, login, refresh, drafts");
+    }
+}
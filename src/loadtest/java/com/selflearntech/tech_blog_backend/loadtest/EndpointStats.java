@@ -0,0 +1,52 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint, recorded in microseconds.
+ * <p>
+ * Response time runs from the moment the request was scheduled to be sent, service time from the moment it actually
+ * was. When the load generator or the client falls behind, only the former includes the wait, which is what a real
+ * user would have seen; a closed-loop tool that reports service time alone suffers from coordinated omission.
+ */
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(String outcome, long intendedStartNanos, long sentNanos, long completedNanos) {
+        responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedStartNanos)));
+        serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos)));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    LoadTestReport.EndpointReport report(double seconds, String expectedOutcome) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        long requests = counts.values().stream().mapToLong(Long::longValue).sum();
+        long failures = requests - counts.getOrDefault(expectedOutcome, 0L);
+
+        return new LoadTestReport.EndpointReport(requests, failures, requests / seconds, counts,
+                LoadTestReport.Latency.of(responseTime), LoadTestReport.Latency.of(serviceTime), encode(responseTime));
+    }
+
+    // compressed HdrHistogram, so reports can be merged or re-plotted (HistogramLogProcessor, HdrHistogram plotter)
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,300 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Open-model HTTP load generator for the auth and story endpoints:
+ * {@code mvn -Pload-test test-compile exec:exec -Dload-test.args="--rate=200 --duration=2m"}.
+ * <p>
+ * Requests are dispatched on a fixed schedule derived from {@code --rate}, each on its own virtual thread, so a slow
+ * response never delays the next request the way it would with a fixed pool of looping clients. Without
+ * {@code --base-url} the application is started in-process on Postgres and MongoDB containers. See
+ * {@link LoadTestConfig} for the options and {@link LoadTestReport} for the output.
+ */
+public class LoadTest {
+
+    private static final long LAG_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long ACCESS_TOKEN_REUSE_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final String PASSWORD = "Password123!";
+
+    private static final class VirtualUser {
+        private final String email;
+        private volatile String refreshTokenCookie;
+
+        private VirtualUser(String email, String refreshTokenCookie) {
+            this.email = email;
+            this.refreshTokenCookie = refreshTokenCookie;
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final ReentrantLock adminLock = new ReentrantLock();
+    private VirtualUser admin;
+    private volatile String adminAccessToken;
+    private volatile long adminAccessTokenIssuedAt;
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).connectTimeout(config.timeout()).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (EmbeddedApplication application = config.baseUrl() == null ? EmbeddedApplication.start(config) : null) {
+            if (application != null) config = config.withBaseUrl(application.baseUrl()).withAdmin(application.adminEmail(), application.adminPassword());
+            if (config.mix().containsKey(Endpoint.DRAFTS) && config.adminEmail() == null) {
+                System.out.println("No --admin-email/--admin-password given, leaving /stories/drafts out of the mix");
+                Map<Endpoint, Integer> mix = new EnumMap<>(config.mix());
+                mix.remove(Endpoint.DRAFTS);
+                config = config.withMix(mix);
+            }
+
+            LoadTestReport report = new LoadTest(config).run();
+            write(config, report);
+        }
+        System.exit(0);
+    }
+
+    LoadTestReport run() throws Exception {
+        System.out.printf("Preparing %d users on %s%n", config.users(), config.baseUrl());
+        prepareUsers();
+
+        for (Endpoint endpoint : config.mix().keySet()) stats.put(endpoint, new EndpointStats());
+        Endpoint[] schedule = weightedSchedule();
+        Histogram lag = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        SplittableRandom random = new SplittableRandom();
+        long saturated = 0;
+        long dispatched = 0;
+
+        System.out.printf("Running %.1f req/s (%s arrivals) for %s after a %s warmup%n",
+                config.rate(), config.arrivals().name().toLowerCase(Locale.ROOT), config.duration(), config.warmup());
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        double intended = start;
+
+        while (true) {
+            intended += config.arrivals() == LoadTestConfig.Arrivals.POISSON ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+            long intendedStart = (long) intended;
+            if (intendedStart >= end) break;
+
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            boolean measured = intendedStart >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) saturated++;
+                inFlight.acquire();
+            }
+            long dispatchedAt = System.nanoTime();
+            if (measured) {
+                lag.recordValue(Math.min(lag.getHighestTrackableValue(), TimeUnit.NANOSECONDS.toMicros(dispatchedAt - intendedStart)));
+                dispatched++;
+            }
+
+            Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            executor.execute(() -> {
+                try {
+                    send(endpoint, user, intendedStart, measured);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        inFlight.acquire(config.maxInFlight());
+        double seconds = config.duration().toNanos() / 1e9;
+
+        Map<Endpoint, LoadTestReport.EndpointReport> endpoints = new EnumMap<>(Endpoint.class);
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.report(seconds, expectedStatus(endpoint))));
+
+        long lagged = lag.getCountBetweenValues(TimeUnit.NANOSECONDS.toMicros(LAG_THRESHOLD_NANOS), lag.getHighestTrackableValue());
+        boolean coordinatedOmissionSuspected = saturated > 0 || lagged > dispatched / 100;
+        LoadTestReport.Dispatcher dispatcher = new LoadTestReport.Dispatcher(dispatched, LoadTestReport.Latency.of(lag), saturated, coordinatedOmissionSuspected);
+
+        LoadTestReport.Settings settings = new LoadTestReport.Settings(config.rate(), config.arrivals().name().toLowerCase(Locale.ROOT),
+                config.warmup().toNanos() / 1e9, config.mix(), config.users(), config.maxInFlight());
+        return new LoadTestReport(startedAt, config.baseUrl(), settings, seconds, endpoints, dispatcher);
+    }
+
+    private void send(Endpoint endpoint, VirtualUser user, long intendedStart, boolean measured) {
+        long sentAt = System.nanoTime();
+        String outcome;
+
+        try {
+            HttpResponse<String> response = httpClient.send(request(endpoint, user), HttpResponse.BodyHandlers.ofString());
+            outcome = Integer.toString(response.statusCode());
+            // logins start a new session and refreshes rotate the token, later refreshes have to present the new one
+            if (endpoint != Endpoint.REGISTER && response.statusCode() == 200) {
+                refreshTokenCookieIfSet(response).ifPresent(cookie -> user.refreshTokenCookie = cookie);
+            }
+        } catch (IOException ex) {
+            outcome = ex.getClass().getSimpleName();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (measured) stats.get(endpoint).record(outcome, intendedStart, sentAt, System.nanoTime());
+    }
+
+    private HttpRequest request(Endpoint endpoint, VirtualUser user) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(config.baseUrl() + endpoint.path())).timeout(config.timeout());
+
+        return switch (endpoint) {
+            case REGISTER -> json(request, registration("loadtest-" + runId + "-r" + registrations.incrementAndGet() + "@example.com"));
+            case LOGIN -> json(request, credentials(user.email, PASSWORD));
+            case REFRESH -> request.header("Cookie", user.refreshTokenCookie).POST(HttpRequest.BodyPublishers.noBody()).build();
+            case DRAFTS -> request.header("Authorization", "Bearer " + adminAccessToken()).GET().build();
+        };
+    }
+
+    // access tokens live for seconds; the admin's is renewed outside the measurement whenever it gets old
+    private String adminAccessToken() throws IOException, InterruptedException {
+        if (System.nanoTime() - adminAccessTokenIssuedAt > ACCESS_TOKEN_REUSE_NANOS && adminLock.tryLock()) {
+            try {
+                HttpResponse<String> response = post(HttpRequest.newBuilder(URI.create(config.baseUrl() + Endpoint.REFRESH.path()))
+                        .header("Cookie", admin.refreshTokenCookie).POST(HttpRequest.BodyPublishers.noBody()).build(), 200);
+                refreshTokenCookieIfSet(response).ifPresent(cookie -> admin.refreshTokenCookie = cookie);
+                adminAccessToken = new ObjectMapper().readTree(response.body()).get("accessToken").asText();
+                adminAccessTokenIssuedAt = System.nanoTime();
+            } finally {
+                adminLock.unlock();
+            }
+        }
+        return adminAccessToken;
+    }
+
+    private void prepareUsers() throws Exception {
+        List<Future<VirtualUser>> prepared = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            String email = "loadtest-" + runId + "-u" + i + "@example.com";
+            prepared.add(executor.submit(() -> {
+                post(json(HttpRequest.newBuilder(URI.create(config.baseUrl() + Endpoint.REGISTER.path())), registration(email)), 201);
+                return login(email, PASSWORD);
+            }));
+        }
+        for (Future<VirtualUser> user : prepared) users.add(user.get());
+
+        if (config.mix().containsKey(Endpoint.DRAFTS)) {
+            admin = login(config.adminEmail(), config.adminPassword());
+            adminAccessToken();
+        }
+    }
+
+    private VirtualUser login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = post(json(HttpRequest.newBuilder(URI.create(config.baseUrl() + Endpoint.LOGIN.path())), credentials(email, password)), 200);
+        return new VirtualUser(email, refreshTokenCookie(response));
+    }
+
+    private HttpResponse<String> post(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.uri().getPath() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private Endpoint[] weightedSchedule() {
+        List<Endpoint> schedule = new ArrayList<>();
+        config.mix().forEach((endpoint, weight) -> schedule.addAll(Collections.nCopies(weight, endpoint)));
+        return schedule.toArray(Endpoint[]::new);
+    }
+
+    private static String expectedStatus(Endpoint endpoint) {
+        return endpoint == Endpoint.REGISTER ? "201" : "200";
+    }
+
+    private static HttpRequest json(HttpRequest.Builder request, String body) {
+        return request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static String registration(String email) {
+        return """
+                {"firstName":"Load","lastName":"Test","email":"%s","password":"%s","verifyPassword":"%s"}
+                """.formatted(email, PASSWORD, PASSWORD);
+    }
+
+    private static String credentials(String email, String password) {
+        return """
+                {"email":"%s","password":"%s"}
+                """.formatted(email, password);
+    }
+
+    private static String refreshTokenCookie(HttpResponse<?> response) {
+        return refreshTokenCookieIfSet(response)
+                .orElseThrow(() -> new IllegalStateException("Login response without a refresh-token cookie"));
+    }
+
+    // a refresh racing another one of the same user may legitimately come back without a new token
+    private static Optional<String> refreshTokenCookieIfSet(HttpResponse<?> response) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("refresh-token="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';')))
+                .findFirst();
+    }
+
+    private static void write(LoadTestConfig config, LoadTestReport report) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        if (config.report().getParent() != null) Files.createDirectories(config.report().getParent());
+        objectMapper.writeValue(config.report().toFile(), report);
+
+        JsonNode previous = config.compare() != null ? objectMapper.readTree(config.compare().toFile()) : null;
+        System.out.printf("%n%-10s %10s %9s %9s %9s %9s %9s%n", "endpoint", "req/s", "failures", "p50 ms", "p99 ms", "p99.9 ms", "svc p99");
+        report.endpoints().forEach((endpoint, result) -> {
+            System.out.printf("%-10s %10.1f %9d %9.1f %9.1f %9.1f %9.1f%n", endpoint.key(), result.throughput(), result.failures(),
+                    result.responseTime().p50(), result.responseTime().p99(), result.responseTime().p999(), result.serviceTime().p99());
+
+            JsonNode before = previous != null ? previous.path("endpoints").path(endpoint.name()) : null;
+            if (before != null && !before.isMissingNode()) {
+                System.out.printf("%-10s %+9.1f%% %9s %9s %+8.1f%%%n", "  vs prev",
+                        change(before.path("throughput").asDouble(), result.throughput()), "", "",
+                        change(before.path("responseTime").path("p99").asDouble(), result.responseTime().p99()));
+            }
+        });
+
+        LoadTestReport.Dispatcher dispatcher = report.dispatcher();
+        System.out.printf("%nDispatcher lag p99 %.1f ms, max %.1f ms, %d dispatches waited for a free in-flight slot%n",
+                dispatcher.lag().p99(), dispatcher.lag().max(), dispatcher.saturatedDispatches());
+        if (dispatcher.coordinatedOmissionSuspected()) {
+            System.out.println("WARNING: the load generator fell behind schedule; the offered rate was lower than configured");
+        }
+        System.out.println("Report written to " + config.report());
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+}
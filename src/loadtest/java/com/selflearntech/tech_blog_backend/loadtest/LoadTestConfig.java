@@ -0,0 +1,96 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Command line options, all given as {@code --name=value}. Options starting with {@code --spring.} or
+ * {@code --selflearntech.} are passed on to the embedded application.
+ *
+ * @param baseUrl       instance to test; without it the application is started in-process on Postgres and MongoDB
+ *                      containers
+ * @param rate          requests per second, independent of how fast responses come back (open model)
+ * @param arrivals      {@code poisson} (exponential gaps, like independent clients) or {@code constant}
+ * @param mix           relative weight per endpoint, e.g. {@code register:1,login:2,refresh:6,drafts:1}
+ * @param users         accounts registered and logged in before the run, used by login and refresh
+ * @param maxInFlight   outstanding requests before the dispatcher has to wait (which is reported)
+ * @param adminEmail    WRITER/ADMIN account for {@code /stories/drafts} against an external instance
+ */
+public record LoadTestConfig(String baseUrl, double rate, Arrivals arrivals, Duration warmup, Duration duration,
+                             Map<Endpoint, Integer> mix, int users, int maxInFlight, Duration timeout, Path report,
+                             Path compare, String adminEmail, String adminPassword, Map<String, String> applicationProperties) {
+
+    public enum Arrivals {
+        POISSON, CONSTANT
+    }
+
+    private static final String DEFAULT_MIX = "register:1,login:2,refresh:6,drafts:1";
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            if (name.startsWith("spring.") || name.startsWith("selflearntech.")) applicationProperties.put(name, value);
+            else options.put(name, value);
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                options.remove("base-url"),
+                Double.parseDouble(options.getOrDefault("rate", "100")),
+                Arrivals.valueOf(options.getOrDefault("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("users", "100")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                DurationStyle.detectAndParse(options.getOrDefault("timeout", "10s")),
+                Path.of(options.getOrDefault("report", "target/load-test-report.json")),
+                options.containsKey("compare") ? Path.of(options.get("compare")) : null,
+                options.get("admin-email"),
+                options.get("admin-password"),
+                applicationProperties);
+
+        Set<String> known = Set.of("rate", "arrivals", "warmup", "duration", "mix", "users", "max-in-flight", "timeout",
+                "report", "compare", "admin-email", "admin-password");
+        for (String name : options.keySet()) {
+            if (!known.contains(name)) throw new IllegalArgumentException("Unknown option --" + name);
+        }
+        if (config.rate <= 0) throw new IllegalArgumentException("--rate must be positive");
+        return config;
+    }
+
+    public LoadTestConfig withBaseUrl(String baseUrl) {
+        return new LoadTestConfig(baseUrl, rate, arrivals, warmup, duration, mix, users, maxInFlight, timeout, report,
+                compare, adminEmail, adminPassword, applicationProperties);
+    }
+
+    public LoadTestConfig withAdmin(String adminEmail, String adminPassword) {
+        return new LoadTestConfig(baseUrl, rate, arrivals, warmup, duration, mix, users, maxInFlight, timeout, report,
+                compare, adminEmail, adminPassword, applicationProperties);
+    }
+
+    public LoadTestConfig withMix(Map<Endpoint, Integer> mix) {
+        return new LoadTestConfig(baseUrl, rate, arrivals, warmup, duration, mix, users, maxInFlight, timeout, report,
+                compare, adminEmail, adminPassword, applicationProperties);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) throw new IllegalArgumentException("Expected endpoint:weight in --mix but got " + entry);
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) weights.put(Endpoint.of(parts[0]), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("--mix has no endpoint with a positive weight");
+        return weights;
+    }
+}
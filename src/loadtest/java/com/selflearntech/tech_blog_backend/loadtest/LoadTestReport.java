@@ -0,0 +1,50 @@
+package com.selflearntech.tech_blog_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * The JSON written after a run. Latencies are in milliseconds.
+ */
+public record LoadTestReport(Instant startedAt, String target, Settings settings, double measuredSeconds,
+                             Map<Endpoint, EndpointReport> endpoints, Dispatcher dispatcher) {
+
+    public record Settings(double rate, String arrivals, double warmupSeconds, Map<Endpoint, Integer> mix, int users,
+                           int maxInFlight) {
+    }
+
+    /**
+     * @param failures requests that did not end with the expected status
+     * @param outcomes count per HTTP status, or per exception for requests without a response
+     */
+    public record EndpointReport(long requests, long failures, double throughput, Map<String, Long> outcomes,
+                                 Latency responseTime, Latency serviceTime, String histogram) {
+    }
+
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(ms(micros.getValueAtPercentile(50)), ms(micros.getValueAtPercentile(90)),
+                    ms(micros.getValueAtPercentile(99)), ms(micros.getValueAtPercentile(99.9)), ms(micros.getMaxValue()),
+                    micros.getTotalCount() == 0 ? 0 : micros.getMean() / 1000.0);
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    /**
+     * How far behind schedule the load generator itself was. A lagging dispatcher, or one that had to wait for a
+     * free in-flight slot, means the offered rate was not the configured one; response times still account for it,
+     * but the run should not be compared with one that kept up.
+     *
+     * @param lag                          delay between a request's scheduled and actual dispatch
+     * @param saturatedDispatches          requests that waited because {@code max-in-flight} were outstanding
+     * @param coordinatedOmissionSuspected whether either of the above was significant
+     */
+    public record Dispatcher(long dispatched, Latency lag, long saturatedDispatches, boolean coordinatedOmissionSuspected) {
+    }
+}
@@ -2,8 +2,10 @@ package com.selflearntech.tech_blog_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class Application {
 	public static void main(String[] args) {
 		SpringApplication.run(Application.class, args);
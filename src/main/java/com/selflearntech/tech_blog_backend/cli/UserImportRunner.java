@@ -0,0 +1,81 @@
+package com.selflearntech.tech_blog_backend.cli;
+
+import com.selflearntech.tech_blog_backend.config.UserImportProperties;
+import com.selflearntech.tech_blog_backend.dto.UserImportErrorDTO;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.service.UserImportListener;
+import com.selflearntech.tech_blog_backend.service.impl.UserImportService;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Imports {@code selflearntech.user-import.file} at startup, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --selflearntech.user-import.file=users.ndjson}.
+ * <p>
+ * The checkpoint is kept next to the file ({@code users.ndjson.checkpoint}) and updated after every batch, so running
+ * the same command again after a crash continues where the import stopped. It is deleted once the import completes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "selflearntech.user-import", name = "file")
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserImportService userImportService;
+    private final UserImportProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = properties.getFile();
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        UserImportFormat format = properties.getFormat() != null ? properties.getFormat() : UserImportFormat.of(file);
+        long resumeAfter = Files.exists(checkpointFile) ? Long.parseLong(Files.readString(checkpointFile).trim()) : 0;
+
+        if (resumeAfter > 0) log.info("Resuming import of {} after line {}", file, resumeAfter);
+        else log.info("Importing users from {} as {}", file, format);
+
+        UserImportReportDTO report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = userImportService.importUsers(input, format, resumeAfter, new UserImportListener() {
+                @Override
+                public void onProgress(UserImportReportDTO report) {
+                    writeCheckpoint(checkpointFile, report.getCheckpoint());
+                    log.info("Imported {}, skipped {}, failed {} of {} rows (checkpoint line {})",
+                            report.getImported(), report.getSkipped(), report.getFailed(), report.getProcessed(), report.getCheckpoint());
+                }
+
+                @Override
+                public void onError(UserImportErrorDTO error) {
+                    log.warn("Line {} ({}): {}", error.getLine(), error.getEmail(), error.getMessage());
+                }
+            });
+        }
+
+        Files.deleteIfExists(checkpointFile);
+        log.info("Import of {} completed: imported {}, skipped {} already registered, failed {}",
+                file, report.getImported(), report.getSkipped(), report.getFailed());
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, long checkpoint) {
+        try {
+            Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(checkpoint), StandardCharsets.UTF_8);
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write import checkpoint " + checkpointFile, ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.draft-autosave")
+@Getter
+@Setter
+public class DraftAutosaveProperties {
+
+    /**
+     * How often buffered autosaves are written to MongoDB, and so how much editing a crash can lose.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * A draft is written right away once this many autosaves are buffered for it.
+     */
+    private int maxBufferedSaves = 20;
+}
@@ -0,0 +1,19 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "selflearntech.markdown")
+@Getter
+@Setter
+public class MarkdownProperties {
+
+    /**
+     * Memory budget for rendered Markdown blocks, reused by every story whose source has the same block. Sized to
+     * hold the blocks of the drafts being worked on, as each save renders the whole body again. Zero turns the cache
+     * off.
+     */
+    private DataSize blockCacheSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,28 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /**
+     * Number of threads running BCrypt. Zero or less sizes the pool to the available processors.
+     */
+    private int threads = 0;
+
+    /**
+     * Hashes allowed to wait for a free thread before new ones are rejected.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Value of the Retry-After header sent when a hash is rejected.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
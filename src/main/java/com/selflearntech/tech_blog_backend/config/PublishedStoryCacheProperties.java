@@ -0,0 +1,30 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "selflearntech.published-story-cache")
+@Getter
+@Setter
+public class PublishedStoryCacheProperties {
+
+    /**
+     * Memory budget for rendered stories, counting the bytes of every encoding kept for them. Least valuable stories
+     * are evicted past it and rendered again on their next read.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Brotli quality, 0 to 11. Stories are compressed once per version, but on the read that misses the cache, with
+     * concurrent readers of the story waiting on it: a 20KB story renders in a few milliseconds at quality 5 and in
+     * tens of milliseconds at 11, for a few percent fewer bytes.
+     */
+    private int brotliQuality = 5;
+
+    /**
+     * Deflate level of the gzip encoding, 1 to 9.
+     */
+    private int gzipLevel = 9;
+}
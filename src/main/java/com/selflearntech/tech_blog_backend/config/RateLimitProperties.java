@@ -0,0 +1,65 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "selflearntech.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Bucket slots across all stripes, rounded up to a power of two. Memory use is fixed at 8 bytes per slot; once the
+     * table is full the buckets closest to refilled are reused.
+     */
+    private int slots = 1 << 20;
+
+    /**
+     * Independent segments of the table, rounded up to a power of two.
+     */
+    private int stripes = 16;
+
+    /**
+     * Limited endpoints by name (the name tags the {@code rate.limit.rejected} counter).
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        /**
+         * Request path; only POST requests are limited.
+         */
+        private String path;
+
+        /**
+         * Limit per client address.
+         */
+        private Limit ip;
+
+        /**
+         * Limit per {@code email} in the JSON request body.
+         */
+        private Limit email;
+    }
+
+    /**
+     * Token bucket holding {@code capacity} requests, refilled evenly over {@code period}.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int capacity;
+
+        private Duration period;
+    }
+}
@@ -0,0 +1,115 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import com.selflearntech.tech_blog_backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with the {@link ReplicaRoutingDataSource} behind a
+ * {@link LazyConnectionDataSourceProxy}, so that read-only transactions go to the replicas. The primary pool keeps the
+ * {@code spring.datasource.hikari} settings and, like the replica pools, reports {@code hikaricp.*} pool metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "selflearntech.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Docker Compose's connection details when it runs the database, {@code spring.datasource.*} otherwise (Boot only
+     * registers those alongside its own DataSource).
+     */
+    @Bean
+    public PrimaryConnectionDetails primaryConnectionDetails(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                                             DataSourceProperties properties) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            return new PrimaryConnectionDetails(details.getJdbcUrl(), details.getUsername(), details.getPassword(), details.getDriverClassName());
+        }
+        return new PrimaryConnectionDetails(properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                properties.determineDriverClassName());
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(PrimaryConnectionDetails connectionDetails) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(connectionDetails.url())
+                .username(connectionDetails.username())
+                .password(connectionDetails.password())
+                .driverClassName(connectionDetails.driverClassName())
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(PrimaryConnectionDetails connectionDetails, ReadReplicaProperties properties,
+                                     MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> replicas = properties.getReplicas();
+
+        for (int i = 0; i < replicas.size(); i++) {
+            ReadReplicaProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : connectionDetails.username());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : connectionDetails.password());
+            pool.setDriverClassName(connectionDetails.driverClassName());
+            pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+            pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // start even if the replica is down, the health check keeps it out of rotation until it is reachable
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaPools(pools);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaPools replicaPools,
+                                                             ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, new LinkedHashMap<String, DataSource>(replicaPools.pools()), properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Where the primary is; replicas use its credentials and driver unless configured otherwise.
+     */
+    public record PrimaryConnectionDetails(String url, String username, String password, String driverClassName) {
+    }
+
+    /**
+     * The replica pools, which are not DataSource beans of their own so that nothing but the routing picks them up.
+     */
+    public record ReplicaPools(Map<String, HikariDataSource> pools) implements DisposableBean {
+
+        @Override
+        public void destroy() {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "selflearntech.read-replicas")
+@Getter
+@Setter
+public class ReadReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas; everything goes to the primary if not.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The replicas, read-only transactions are spread over the healthy ones round robin.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Connections per replica pool.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * How long a read waits for a replica connection before falling back to the primary.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How often the replicas are probed for availability and replication lag.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replicas lagging further behind than this are taken out of rotation until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * After writing, the user's reads go to the primary for this long so that they see their own writes.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Users tracked for read-your-writes at once; the least recent writers are forgotten first.
+     */
+    private long readYourWritesMaximumSize = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Defaults to the primary's username.
+         */
+        private String username;
+
+        /**
+         * Defaults to the primary's password.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,24 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.refresh-token-cache")
+@Getter
+@Setter
+public class RefreshTokenCacheProperties {
+
+    /**
+     * Upper bound on the number of refresh tokens whose validated state is kept in memory.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Longest time an entry is trusted before the next refresh goes back to the database, even if the token
+     * itself lives longer. Bounds how stale a node can be about revocations made on another node.
+     */
+    private Duration maximumTtl = Duration.ofMinutes(15);
+}
@@ -0,0 +1,26 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.refresh-token")
+@Getter
+@Setter
+public class RefreshTokenProperties {
+
+    /**
+     * Lifetime of each refresh token. Every refresh issues a new token, so a session stays alive as long as it is
+     * refreshed at least this often.
+     */
+    private Duration ttl = Duration.ofDays(7);
+
+    /**
+     * How long after its rotation a refresh token is still accepted, for an access token only, so that concurrent
+     * refreshes of the same client (several tabs, a retried request) don't count as reuse. Presenting it later
+     * revokes the whole session.
+     */
+    private Duration reuseGrace = Duration.ofSeconds(10);
+}
@@ -0,0 +1,28 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.revocation")
+@Getter
+@Setter
+public class RevocationProperties {
+
+    /**
+     * Revocations expected within one access token lifetime; sizes the Bloom filter.
+     */
+    private long expectedRevocations = 100_000;
+
+    /**
+     * Bloom filter false positive probability, i.e. the share of requests that fall through to the exact lookup.
+     */
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * How often revocations made on other nodes are loaded from the database.
+     */
+    private Duration reloadInterval = Duration.ofSeconds(5);
+}
@@ -1,5 +1,6 @@
 package com.selflearntech.tech_blog_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,18 +16,23 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.proc.SecurityContext;
-import com.selflearntech.tech_blog_backend.utils.RSAKeyProperties;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.selflearntech.tech_blog_backend.datasource.ReadYourWritesFilter;
+import com.selflearntech.tech_blog_backend.security.BoundedPasswordEncoder;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimitFilter;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.RoleAuthoritiesConverter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyJwtEncoder;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.SigningKeyVerifierFactory;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.cors.CorsConfiguration;
@@ -39,20 +45,32 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final RSAKeyProperties keys;
+    private final SigningKeyManager signingKeyManager;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager,
+                                           RateLimiter rateLimiter, ObjectMapper objectMapper,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
+            .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper), BearerTokenAuthenticationFilter.class)
+            .addFilterAfter(new ReadYourWritesFilter(), BearerTokenAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> {
-                 auth.requestMatchers("/auth/**", "/oauth2/**").permitAll();
+                auth.requestMatchers("/auth/logout").authenticated();
+                 auth.requestMatchers("/auth/**", "/oauth2/**", "/.well-known/jwks.json").permitAll();
+                // scraped without a token, but only on the management port, which serves nothing but the actuator
+                // and stays off the public network; on the public port /actuator needs authentication
+                auth.requestMatchers(request -> request.getLocalPort() == managementPort).permitAll();
+                auth.requestMatchers("/admin/**").hasRole("ADMIN");
                 auth.requestMatchers("/profile/**").hasRole("USER");
+                auth.requestMatchers("/read/**").permitAll();
+                // readers search published stories; the rest of /stories/** is the writer's own
+                auth.requestMatchers("/stories/search").permitAll();
                 auth.requestMatchers("/stories/**").hasAnyRole("WRITER", "ADMIN");
                 auth.requestMatchers("/write/**").hasAnyRole("WRITER", "ADMIN");
                 auth.anyRequest().authenticated();
             })
-            .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+            .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.authenticationManager(verifiedJwtAuthenticationManager)))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         return http.build();
@@ -63,7 +81,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowCredentials(true);
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("Content-Type", "Authorization"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -71,14 +89,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingEngine passwordHashingEngine) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingEngine);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
-        daoProvider.setPasswordEncoder(passwordEncoder());
+        daoProvider.setPasswordEncoder(passwordEncoder);
         daoProvider.setUserDetailsService(userDetailsService);
 
         return new ProviderManager(daoProvider);
@@ -86,23 +104,24 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(keys.getPublicKey()).build();
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        // keys are matched on kid and on the algorithm they were generated for, never on the header's say-so alone
+        jwtProcessor.setJWSKeySelector((header, context) -> signingKeyManager.selectVerificationKeys(header));
+        jwtProcessor.setJWSVerifierFactory(new SigningKeyVerifierFactory());
+        // claims are validated by NimbusJwtDecoder's OAuth2TokenValidator
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(jwtProcessor);
     }
 
     @Bean
     public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(keys.getPublicKey()).privateKey(keys.getPrivateKey()).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+        return new SigningKeyJwtEncoder(signingKeyManager);
     }
 
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
-        jwtGrantedAuthoritiesConverter.setAuthoritiesClaimName("roles");
-        jwtGrantedAuthoritiesConverter.setAuthorityPrefix("ROLE_");
         JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
-        jwtConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        jwtConverter.setJwtGrantedAuthoritiesConverter(new RoleAuthoritiesConverter());
         return jwtConverter;
     }
 
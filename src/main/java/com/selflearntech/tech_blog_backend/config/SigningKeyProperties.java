@@ -0,0 +1,64 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import com.selflearntech.tech_blog_backend.security.JwtAlgorithm;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Where JWT signing keys live and how they are rotated. Every node behind the load balancer must point
+ * {@code directory} at the same (shared, read-only for most nodes) location; exactly one node turns on
+ * {@code rotation-enabled}, so that a single node writes new keys.
+ */
+@ConfigurationProperties(prefix = "selflearntech.jwt.signing-keys")
+@Getter
+@Setter
+public class SigningKeyProperties {
+
+    /**
+     * Directory holding one {@code <kid>.key} (PKCS#8) and {@code <kid>.pub} (X.509) PEM pair per key.
+     */
+    private Path directory = Path.of("keys");
+
+    /**
+     * Algorithm new keys are generated for: {@code rs256}, {@code es256} or {@code ed25519}. Takes effect through a
+     * regular rotation, so tokens signed with the previous algorithm stay valid until its keys are retired.
+     */
+    private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
+
+    /**
+     * Whether this node generates new keys (the first one included) and deletes retired ones. Off by default: nodes
+     * sharing the directory would each generate keys on schedule.
+     */
+    private boolean rotationEnabled = false;
+
+    /**
+     * Age after which the newest key is replaced by a freshly generated one.
+     */
+    private Duration rotationInterval = Duration.ofDays(30);
+
+    /**
+     * Time a new key is published before it is used for signing, so every node has loaded it by then.
+     * Must be longer than {@code reload-interval}.
+     */
+    private Duration activationDelay = Duration.ofMinutes(5);
+
+    /**
+     * Time a superseded key is still accepted for verification. Must outlive the longest token lifetime (7 days for
+     * refresh tokens).
+     */
+    private Duration retention = Duration.ofDays(8);
+
+    /**
+     * How often the key directory is re-read and rotation is checked.
+     */
+    private Duration reloadInterval = Duration.ofMinutes(1);
+
+    /**
+     * Cache lifetime advertised on {@code /.well-known/jwks.json}.
+     */
+    private Duration jwksMaxAge = Duration.ofMinutes(5);
+}
@@ -0,0 +1,44 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The in-process search index over published stories. Every node keeps its own index and catches up with stories
+ * published, unpublished or edited elsewhere by polling MongoDB for changes.
+ */
+@ConfigurationProperties(prefix = "selflearntech.search")
+@Getter
+@Setter
+public class StorySearchProperties {
+
+    /**
+     * Local file the index is saved to and restored from on startup, so that a restart only replays recent changes.
+     */
+    private Path snapshotFile = Path.of("search", "stories.idx");
+
+    /**
+     * How often the index is saved, if it changed.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(10);
+
+    /**
+     * How often MongoDB is polled for stories changed since the last poll.
+     */
+    private Duration syncInterval = Duration.ofSeconds(10);
+
+    /**
+     * How far back each poll starts before the last change it saw, to pick up writes that committed late or were
+     * stamped by a node whose clock lags.
+     */
+    private Duration syncOverlap = Duration.ofMinutes(1);
+
+    /**
+     * Stories read per query while polling.
+     */
+    private int syncBatchSize = 500;
+}
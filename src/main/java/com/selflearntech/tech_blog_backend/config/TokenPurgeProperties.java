@@ -0,0 +1,35 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.token-purge")
+@Getter
+@Setter
+public class TokenPurgeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Delay between the end of one purge run and the start of the next.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Rows deleted per transaction; each batch only holds its own row locks.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between batches, leaving room for the request traffic.
+     */
+    private Duration batchDelay = Duration.ofMillis(200);
+
+    /**
+     * A run stops after this long and the next one picks up the remaining rows.
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+}
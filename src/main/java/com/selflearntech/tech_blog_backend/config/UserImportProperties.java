@@ -0,0 +1,45 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "selflearntech.user-import")
+@Getter
+@Setter
+public class UserImportProperties {
+
+    /**
+     * Users hashed and inserted together; each batch is one transaction and one checkpoint.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Threads hashing plain-text passwords during an import. Zero or less uses the available processors.
+     */
+    private int hashingThreads = 0;
+
+    /**
+     * Row errors kept in the import report; further errors are only counted.
+     */
+    private int maxReportedErrors = 1000;
+
+    /**
+     * Imports over HTTP running at the same time; a further one is refused with 409.
+     */
+    private int concurrentImports = 1;
+
+    /**
+     * File to import at startup (CLI mode). Run with {@code --spring.main.web-application-type=none} to exit once
+     * the import is done.
+     */
+    private Path file;
+
+    /**
+     * Format of {@code file}; derived from its extension ({@code .csv}, otherwise NDJSON) when not set.
+     */
+    private UserImportFormat format;
+}
@@ -0,0 +1,24 @@
+package com.selflearntech.tech_blog_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "selflearntech.verified-jwt-cache")
+@Getter
+@Setter
+public class VerifiedJwtCacheProperties {
+
+    /**
+     * Upper bound on the number of verified access tokens kept in memory.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Longest time a verified token is trusted without re-verification. Only matters for tokens whose
+     * {@code exp} is further away; entries otherwise expire with the token.
+     */
+    private Duration maximumTtl = Duration.ofMinutes(5);
+}
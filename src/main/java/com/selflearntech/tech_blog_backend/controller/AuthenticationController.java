@@ -1,14 +1,18 @@
 package com.selflearntech.tech_blog_backend.controller;
 
+import com.selflearntech.tech_blog_backend.config.RefreshTokenProperties;
 import com.selflearntech.tech_blog_backend.dto.*;
 import com.selflearntech.tech_blog_backend.mapper.UserMapper;
 import com.selflearntech.tech_blog_backend.service.impl.AuthenticationService;
+import com.selflearntech.tech_blog_backend.service.impl.SessionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
@@ -19,7 +23,9 @@ import java.time.Duration;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final SessionService sessionService;
     private final UserMapper userMapper;
+    private final RefreshTokenProperties refreshTokenProperties;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,29 +35,52 @@ public class AuthenticationController {
 
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<UserDTO> authenticateUser(@Valid @RequestBody AuthenticationDTO authenticationDTO) {
+    public ResponseEntity<UserDTO> authenticateUser(@Valid @RequestBody AuthenticationDTO authenticationDTO,
+                                                    @RequestHeader(name = HttpHeaders.USER_AGENT, required = false) String userAgent) {
         UserWithRefreshAndAccessTokenDTO userWithRefreshAndAccessTokenDTO = authenticationService
-                .authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword());
-        UserDTO userDTO = userMapper.toUserDTO(userWithRefreshAndAccessTokenDTO);
+                .authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), userAgent);
 
-        ResponseCookie refreshToken = ResponseCookie.from("refresh-token", userWithRefreshAndAccessTokenDTO.getRefreshToken())
+        return withRefreshTokenCookie(userWithRefreshAndAccessTokenDTO);
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<UserDTO> refreshAccessToken(@CookieValue(name = "refresh-token") String refreshToken) {
+        return withRefreshTokenCookie(authenticationService.refreshAccessToken(refreshToken));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal Jwt accessToken) {
+        sessionService.logout(accessToken);
+
+        ResponseCookie refreshToken = ResponseCookie.from("refresh-token", "")
                 .domain("localhost")
                 .path("/auth/refresh")
                 .httpOnly(true)
-                .maxAge(Duration.ofDays(7))
+                .maxAge(Duration.ZERO)
                 .build();
 
-       return  ResponseEntity
-               .ok()
-               .header(HttpHeaders.SET_COOKIE, refreshToken.toString())
-               .body(userDTO);
+        return ResponseEntity
+                .noContent()
+                .header(HttpHeaders.SET_COOKIE, refreshToken.toString())
+                .build();
     }
 
-    @PostMapping("/refresh")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDTO refreshAccessToken(@CookieValue(name = "refresh-token") String refreshToken) {
-        return authenticationService.refreshAccessToken(refreshToken);
+    // a refresh within the reuse grace of a concurrent one gets no new refresh token, the client keeps the other one
+    private ResponseEntity<UserDTO> withRefreshTokenCookie(UserWithRefreshAndAccessTokenDTO userWithRefreshAndAccessTokenDTO) {
+        UserDTO userDTO = userMapper.toUserDTO(userWithRefreshAndAccessTokenDTO);
+        if (userWithRefreshAndAccessTokenDTO.getRefreshToken() == null) return ResponseEntity.ok(userDTO);
 
-    }
+        ResponseCookie refreshToken = ResponseCookie.from("refresh-token", userWithRefreshAndAccessTokenDTO.getRefreshToken())
+                .domain("localhost")
+                .path("/auth/refresh")
+                .httpOnly(true)
+                .maxAge(refreshTokenProperties.getTtl())
+                .build();
 
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.SET_COOKIE, refreshToken.toString())
+                .body(userDTO);
+    }
 }
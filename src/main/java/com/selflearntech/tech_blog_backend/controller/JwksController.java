@@ -0,0 +1,35 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyManager signingKeyManager;
+    private final SigningKeyProperties signingKeyProperties;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks(WebRequest request) {
+        SigningKeyManager.Jwks jwks = signingKeyManager.publishedJwks();
+        CacheControl cacheControl = CacheControl.maxAge(signingKeyProperties.getJwksMaxAge()).cachePublic();
+
+        if (request.checkNotModified(jwks.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(jwks.etag()).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(cacheControl)
+                .body(jwks.json());
+    }
+}
@@ -0,0 +1,43 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.rendering.ContentCoding;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStory;
+import com.selflearntech.tech_blog_backend.service.impl.PublishedStoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/read")
+@RequiredArgsConstructor
+public class ReadController {
+
+    private final PublishedStoryService publishedStoryService;
+
+    // public; answers with the pre-rendered body in the best coding the client accepts, or 304 if it has it already
+    @GetMapping("/stories/{storyId}")
+    public ResponseEntity<byte[]> getPublishedStory(@PathVariable String storyId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        RenderedStory story = publishedStoryService.getPublishedStory(storyId);
+        ContentCoding coding = story.negotiate(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(story.eTag(coding));
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.setCacheControl(CacheControl.noCache());
+        if (story.matches(ifNoneMatch)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+
+        if (coding != ContentCoding.IDENTITY) headers.set(HttpHeaders.CONTENT_ENCODING, coding.token());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(story.body(coding));
+    }
+}
@@ -0,0 +1,47 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import com.selflearntech.tech_blog_backend.service.impl.SessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    @GetMapping("/sessions")
+    public List<SessionDTO> listSessions(@AuthenticationPrincipal Jwt accessToken) {
+        return sessionService.listSessions(accessToken);
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeSession(@AuthenticationPrincipal Jwt accessToken, @PathVariable UUID sessionId) {
+        sessionService.revokeSession(accessToken, sessionId);
+    }
+
+    @GetMapping("/admin/users/{userId}/sessions")
+    public List<SessionDTO> listUserSessions(@PathVariable Integer userId) {
+        return sessionService.listSessions(userId);
+    }
+
+    @DeleteMapping("/admin/users/{userId}/sessions/{sessionId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeUserSession(@PathVariable Integer userId, @PathVariable UUID sessionId) {
+        sessionService.revokeSession(userId, sessionId);
+    }
+
+    @DeleteMapping("/admin/users/{userId}/sessions")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeAllSessions(@PathVariable Integer userId) {
+        sessionService.revokeAllSessions(userId);
+    }
+}
@@ -1,10 +1,20 @@
 package com.selflearntech.tech_blog_backend.controller;
 
+import com.selflearntech.tech_blog_backend.dto.StoryPageDTO;
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.service.impl.StorySearchService;
+import com.selflearntech.tech_blog_backend.service.impl.StoryService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -12,18 +22,31 @@ import java.util.List;
 @RestController
 @RequestMapping("/stories")
 @RequiredArgsConstructor
-@Slf4j
 public class StoriesController {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final StoryService storyService;
+    private final StorySearchService storySearchService;
+
+    // pass the previous page's nextCursor to get the page after it
     @GetMapping("/drafts")
-    public List<String> getUserDraftStories(Authentication authentication) {
-        log.info("getUserDraftStories");
-        return List.of("draft one", "draft two", "draft three");
+    public StoryPageDTO getUserDraftStories(@AuthenticationPrincipal Jwt accessToken, @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        return storyService.listStories(accessToken, StoryStatus.DRAFT, cursor, size);
     }
 
     @GetMapping("/published")
-    public void getUserPublishedStories(Authentication authentication) {
-
+    public StoryPageDTO getUserPublishedStories(@AuthenticationPrincipal Jwt accessToken, @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        return storyService.listStories(accessToken, StoryStatus.PUBLISHED, cursor, size);
     }
 
+    @GetMapping("/search")
+    public List<StorySummaryDTO> searchStories(@RequestParam @NotBlank @Size(max = MAX_QUERY_LENGTH) String q,
+                                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        return storySearchService.search(q, size);
+    }
 }
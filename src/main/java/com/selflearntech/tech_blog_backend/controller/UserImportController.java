@@ -0,0 +1,101 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.service.UserImportListener;
+import com.selflearntech.tech_blog_backend.service.impl.UserImportService;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import com.selflearntech.tech_blog_backend.utils.UserImportReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportController {
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Imports the body as it is uploaded, off the request thread, and answers with an NDJSON stream of reports: one
+     * after every committed batch and a last one with {@code completed} set. Each carries the running counts, the
+     * checkpoint, and the row errors found since the previous report. A stream ending without a completed report
+     * means the import was interrupted; send the body again with the last checkpoint as {@code resumeAfter}.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> importUsers(InputStream body,
+                                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           @RequestParam(defaultValue = "0") long resumeAfter) {
+        UserImportFormat format = UserImportFormat.of(MediaType.parseMediaType(contentType));
+        UserImportReader reader = userImportService.open(body, format);
+
+        // the import lasts as long as the upload does
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        ProgressStream progress = new ProgressStream(emitter);
+        userImportService.startImport(reader, resumeAfter, progress).whenComplete((report, ex) -> {
+            if (ex != null) {
+                log.warn("User import stopped after line {}", progress.checkpoint, ex);
+                emitter.completeWithError(ex);
+                return;
+            }
+            try {
+                progress.onProgress(report);
+                emitter.complete();
+            } catch (UncheckedIOException sendFailure) {
+                emitter.completeWithError(sendFailure);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    private class ProgressStream implements UserImportListener {
+
+        private final ResponseBodyEmitter emitter;
+        private int sentErrors;
+        private long checkpoint;
+
+        private ProgressStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // the report is the live one, so what is sent is a copy holding only the errors not sent before
+        @Override
+        public void onProgress(UserImportReportDTO report) {
+            UserImportReportDTO progress = UserImportReportDTO.builder()
+                    .processed(report.getProcessed())
+                    .imported(report.getImported())
+                    .skipped(report.getSkipped())
+                    .failed(report.getFailed())
+                    .checkpoint(report.getCheckpoint())
+                    .completed(report.isCompleted())
+                    .errors(new ArrayList<>(report.getErrors().subList(sentErrors, report.getErrors().size())))
+                    .build();
+            sentErrors = report.getErrors().size();
+            checkpoint = report.getCheckpoint();
+
+            try {
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                objectMapper.writeValue(line, progress);
+                line.write('\n');
+                emitter.send(line.toByteArray(), MediaType.APPLICATION_NDJSON);
+            } catch (IOException ex) {
+                // the client is gone, and with it the rest of the body: stop the import
+                throw new UncheckedIOException("Failed to send user import progress", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.dto.DraftDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftPatchDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.dto.NewDraftDTO;
+import com.selflearntech.tech_blog_backend.service.impl.DraftService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/write")
+@RequiredArgsConstructor
+public class WriteController {
+
+    private final DraftService draftService;
+
+    @PostMapping("/drafts")
+    @ResponseStatus(HttpStatus.CREATED)
+    public DraftDTO createDraft(@AuthenticationPrincipal Jwt accessToken, @Valid @RequestBody NewDraftDTO newDraft) {
+        return draftService.createDraft(accessToken, newDraft);
+    }
+
+    @GetMapping("/drafts/{storyId}")
+    public DraftDTO getDraft(@AuthenticationPrincipal Jwt accessToken, @PathVariable String storyId) {
+        return draftService.getDraft(accessToken, storyId);
+    }
+
+    // autosave; 409 if the draft moved past the patch's baseVersion
+    @PatchMapping("/drafts/{storyId}")
+    public DraftVersionDTO saveDraft(@AuthenticationPrincipal Jwt accessToken, @PathVariable String storyId,
+                                     @Valid @RequestBody DraftPatchDTO patch) {
+        return draftService.saveDraft(accessToken, storyId, patch);
+    }
+
+    @PostMapping("/drafts/{storyId}/publish")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void publishDraft(@AuthenticationPrincipal Jwt accessToken, @PathVariable String storyId) {
+        draftService.publishDraft(accessToken, storyId);
+    }
+
+    @PostMapping("/stories/{storyId}/unpublish")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void unpublishStory(@AuthenticationPrincipal Jwt accessToken, @PathVariable String storyId) {
+        draftService.unpublishStory(accessToken, storyId);
+    }
+}
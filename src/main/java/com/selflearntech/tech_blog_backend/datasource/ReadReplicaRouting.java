@@ -0,0 +1,51 @@
+package com.selflearntech.tech_blog_backend.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing hints for the {@link ReplicaRoutingDataSource}: the user whose writes should be visible to
+ * the reads that follow them, and blocks of reads that must see the primary regardless. Both are no-ops unless read
+ * replicas are enabled.
+ */
+public final class ReadReplicaRouting {
+
+    private static final ThreadLocal<String> CONSISTENCY_KEY = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private ReadReplicaRouting() {
+    }
+
+    /**
+     * Runs the reads in {@code work} on the primary, for reads that must not miss a write made moments ago by anyone,
+     * such as re-checking a row a conditional update did not find.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            int depth = PRIMARY_DEPTH.get() - 1;
+            if (depth == 0) PRIMARY_DEPTH.remove();
+            else PRIMARY_DEPTH.set(depth);
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_DEPTH.get() > 0;
+    }
+
+    /**
+     * Binds the user the current thread works for, usually the authenticated subject of the request.
+     */
+    public static void bindConsistencyKey(String key) {
+        CONSISTENCY_KEY.set(key);
+    }
+
+    public static void clearConsistencyKey() {
+        CONSISTENCY_KEY.remove();
+    }
+
+    static String consistencyKey() {
+        return CONSISTENCY_KEY.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.selflearntech.tech_blog_backend.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the authenticated subject as the request's {@link ReadReplicaRouting} consistency key, so that once the user
+ * has written, their reads stay on the primary for the read-your-writes window.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReadReplicaRouting.bindConsistencyKey(authentication.getName());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaRouting.clearConsistencyKey();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.selflearntech.tech_blog_backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selflearntech.tech_blog_backend.config.ReadReplicaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections by the transaction asking for them: read-only transactions go to the healthy replicas round
+ * robin, everything else to the primary. Reads go to the primary too when no replica is healthy, a replica refuses
+ * the connection, the read must see the primary ({@link ReadReplicaRouting#onPrimary}) or the user bound to the
+ * thread wrote within the read-your-writes window. Meant to sit behind a {@link LazyConnectionDataSourceProxy}, which
+ * defers the choice to the first statement, by when the transaction has been marked read-only.
+ * <p>
+ * Replicas start out of rotation and join once a health check finds them reachable and within the maximum
+ * replication lag. Every connection handed out is counted in {@code datasource.routing}, tagged with its target and
+ * the reason for it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    // zero when the replica has replayed everything it received, so an idle primary doesn't read as lag
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END
+            """;
+    private static final String PRIMARY = "primary";
+
+    enum Reason {
+        READ_WRITE, READ_ONLY, READ_YOUR_WRITES, PRIMARY_REQUIRED, NO_HEALTHY_REPLICA, REPLICA_FAILURE
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routed;
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource, Counter routed) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = routed;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadReplicaProperties properties;
+    private final Cache<String, Boolean> recentWriters;
+    private final Map<Reason, Counter> routedToPrimary = new EnumMap<>(Reason.class);
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadReplicaProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .maximumSize(properties.getReadYourWritesMaximumSize())
+                .build();
+
+        for (Reason reason : Reason.values()) {
+            if (reason != Reason.READ_ONLY) routedToPrimary.put(reason, routingCounter(meterRegistry, PRIMARY, reason));
+        }
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, routingCounter(meterRegistry, name, Reason.READ_ONLY));
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is in rotation for read-only transactions")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag measured by the last health check")
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // routed like getConnection(), with the caller's credentials passed on to whichever data source is chosen
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        String key = ReadReplicaRouting.consistencyKey();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (key != null) recentWriters.put(key, Boolean.TRUE);
+            return primaryConnection(Reason.READ_WRITE, opener);
+        }
+        if (ReadReplicaRouting.isPrimaryRequired()) return primaryConnection(Reason.PRIMARY_REQUIRED, opener);
+        if (key != null && recentWriters.getIfPresent(key) != null) return primaryConnection(Reason.READ_YOUR_WRITES, opener);
+
+        Reason fallback = Reason.NO_HEALTHY_REPLICA;
+        for (Replica replica = nextHealthyReplica(); replica != null; replica = nextHealthyReplica()) {
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException ex) {
+                // out of rotation until the next health check finds it back
+                markDown(replica, ex);
+                fallback = Reason.REPLICA_FAILURE;
+            }
+        }
+        return primaryConnection(fallback, opener);
+    }
+
+    /**
+     * Probes every replica, taking the unreachable and lagging ones out of rotation and putting recovered ones back.
+     */
+    @Scheduled(fixedDelayString = "${selflearntech.read-replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1, properties.getConnectionTimeout().toSeconds()));
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    replica.lagSeconds = resultSet.getDouble(1);
+                }
+            } catch (SQLException ex) {
+                markDown(replica, ex);
+                continue;
+            }
+
+            boolean healthy = replica.lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+            if (healthy && !replica.healthy) log.info("Replica {} is in rotation", replica.name);
+            if (!healthy && replica.healthy) log.warn("Replica {} is {}s behind, taking it out of rotation", replica.name, replica.lagSeconds);
+            replica.healthy = healthy;
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) return replica;
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException ex) {
+        if (replica.healthy) log.warn("Replica {} is unavailable, taking it out of rotation", replica.name, ex);
+        replica.healthy = false;
+    }
+
+    private Connection primaryConnection(Reason reason, ConnectionOpener opener) throws SQLException {
+        routedToPrimary.get(reason).increment();
+        return opener.open(primary);
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, Reason reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out, by target and routing reason")
+                .tag("target", target)
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DraftDTO {
+
+    private String id;
+
+    private String title;
+
+    private String body;
+
+    // preview of the body as it will be published
+    private String bodyHtml;
+
+    private List<String> tags;
+
+    // base version of the next patch
+    private Long version;
+
+    private Instant updatedAt;
+}
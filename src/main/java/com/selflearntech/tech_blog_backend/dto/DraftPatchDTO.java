@@ -0,0 +1,34 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a draft since {@code baseVersion}. Fields left out are unchanged; the body is changed by text edits
+ * rather than sent whole.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DraftPatchDTO {
+
+    @NotNull
+    private Long baseVersion;
+
+    @Size(max = 200)
+    private String title;
+
+    private List<String> tags;
+
+    // applied in order, each against the body as the previous ones left it
+    @Valid
+    private List<TextEditDTO> edits;
+}
@@ -0,0 +1,21 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DraftVersionDTO {
+
+    private String id;
+
+    private Long version;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NewDraftDTO {
+
+    @Size(max = 200)
+    private String title;
+
+    private String body;
+
+    private List<String> tags;
+}
@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublishedStoryDTO {
+
+    private String id;
+
+    private Integer authorId;
+
+    private String title;
+
+    private String body;
+
+    private String bodyHtml;
+
+    private List<String> tags;
+
+    private Instant publishedAt;
+
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionDTO {
+
+    private UUID sessionId;
+
+    private String device;
+
+    private Instant startedAt;
+
+    private Instant lastUsedAt;
+
+    private Instant expiresAt;
+
+    // the session the request was made from
+    private boolean current;
+}
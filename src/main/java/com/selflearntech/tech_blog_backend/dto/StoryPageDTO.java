@@ -0,0 +1,20 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoryPageDTO {
+
+    private List<StorySummaryDTO> stories;
+
+    // pass back as the cursor parameter for the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorySummaryDTO {
+
+    private String id;
+
+    private StoryStatus status;
+
+    private String title;
+
+    private List<String> tags;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant publishedAt;
+
+    private Long version;
+}
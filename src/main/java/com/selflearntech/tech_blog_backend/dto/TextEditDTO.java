@@ -0,0 +1,26 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Replaces {@code deleteCount} characters at {@code position} of the body with {@code text}. Positions count UTF-16
+ * code units, as JavaScript strings do.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TextEditDTO {
+
+    @Min(0)
+    private int position;
+
+    @Min(0)
+    private int deleteCount;
+
+    private String text;
+}
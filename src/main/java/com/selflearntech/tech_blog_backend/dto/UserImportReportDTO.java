@@ -0,0 +1,31 @@
+package com.selflearntech.tech_blog_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportReportDTO {
+
+    private long processed;
+
+    private long imported;
+
+    // email already registered
+    private long skipped;
+
+    private long failed;
+
+    // last line whose batch has been committed; pass it as resumeAfter to continue an interrupted import
+    private long checkpoint;
+
+    private boolean completed;
+
+    private List<UserImportErrorDTO> errors;
+}
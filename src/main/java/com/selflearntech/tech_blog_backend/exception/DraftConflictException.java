@@ -0,0 +1,7 @@
+package com.selflearntech.tech_blog_backend.exception;
+
+public class DraftConflictException extends RuntimeException {
+    public DraftConflictException(String message) {
+        super(message);
+    }
+}
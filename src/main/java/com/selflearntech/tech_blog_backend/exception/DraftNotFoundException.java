@@ -0,0 +1,7 @@
+package com.selflearntech.tech_blog_backend.exception;
+
+public class DraftNotFoundException extends RuntimeException {
+    public DraftNotFoundException(String message) {
+        super(message);
+    }
+}
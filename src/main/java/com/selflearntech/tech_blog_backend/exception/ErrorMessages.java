@@ -12,5 +12,17 @@ public class ErrorMessages {
     public static final String INVALIDATED_REFRESH_TOKEN = "Invalidated refresh token";
     public static final String COOKIE_REFRESH_TOKEN_AND_DB_TOKEN_UNMATCH = "Cookie and db refresh tokens do not match";
     public static final String EXPIRED_REFRESH_TOKEN = "Refresh token expired";
+    public static final String REUSED_REFRESH_TOKEN = "Refresh token reused, session revoked";
     public static final String FAIL_TOKEN_DECODE  = "Failed to decode token";
+    public static final String REVOKED_ACCESS_TOKEN = "Access token has been revoked";
+    public static final String USER_NOT_FOUND = "User not found";
+    public static final String SESSION_NOT_FOUND = "Session not found";
+    public static final String INVALID_STORY_CURSOR = "Invalid story cursor";
+    public static final String DRAFT_NOT_FOUND = "Draft not found";
+    public static final String STORY_NOT_FOUND = "Story not found";
+    public static final String DRAFT_VERSION_CONFLICT = "Draft has changed since the version the patch was made against";
+    public static final String INVALID_DRAFT_EDIT = "Draft edit is out of range";
+    public static final String TOO_MANY_REQUESTS = "Too many requests, try again later";
+    public static final String REQUEST_BODY_TOO_LARGE = "Request body is too large";
+    public static final String USER_IMPORT_IN_PROGRESS = "A user import is already running, retry once it completes";
 }
@@ -0,0 +1,7 @@
+package com.selflearntech.tech_blog_backend.exception;
+
+public class SessionNotFoundException extends RuntimeException {
+    public SessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.selflearntech.tech_blog_backend.exception;
+
+public class StoryNotFoundException extends RuntimeException {
+    public StoryNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.selflearntech.tech_blog_backend.exception;
+
+public class UserImportInProgressException extends RuntimeException {
+    public UserImportInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.selflearntech.tech_blog_backend.mapper;
+
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import com.selflearntech.tech_blog_backend.model.Token;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface SessionMapper {
+
+    @Mapping(target = "sessionId", source = "token.familyId")
+    @Mapping(target = "startedAt", source = "token.sessionStartedAt")
+    @Mapping(target = "lastUsedAt", source = "token.issuedAt")
+    @Mapping(target = "expiresAt", source = "token.expireTime")
+    SessionDTO toSessionDTO(Token token, boolean current);
+}
@@ -0,0 +1,21 @@
+package com.selflearntech.tech_blog_backend.mapper;
+
+import com.selflearntech.tech_blog_backend.dto.DraftDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.dto.PublishedStoryDTO;
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.repository.StorySummary;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface StoryMapper {
+
+    StorySummaryDTO toStorySummaryDTO(StorySummary story);
+
+    DraftDTO toDraftDTO(Story story);
+
+    DraftVersionDTO toDraftVersionDTO(Story story);
+
+    PublishedStoryDTO toPublishedStoryDTO(Story story);
+}
@@ -4,6 +4,7 @@ import com.selflearntech.tech_blog_backend.dto.UserDTO;
 import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
 import com.selflearntech.tech_blog_backend.model.Role;
 import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenState;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -14,8 +15,7 @@ import java.util.stream.Collectors;
 public interface UserMapper {
 
     @Mapping(target = "roles", expression = "java(getRoles(user))")
-    @Mapping(target = "refreshToken", expression = "java(user.getToken().getRefreshToken())")
-    UserWithRefreshAndAccessTokenDTO toUserWithAccessAndRefreshTokenDTO(User user, String accessToken);
+    UserWithRefreshAndAccessTokenDTO toUserWithAccessAndRefreshTokenDTO(User user, String accessToken, String refreshToken);
 
     default Set<String> getRoles(User user) {
         return user.getAuthorities().stream().map(Role::getAuthority).collect(Collectors.toSet());
@@ -26,6 +26,7 @@ public interface UserMapper {
     @Mapping(target = "roles", expression = "java(getRoles(user))")
     UserDTO toUserDTOFromUserAndAccessToken(User user, String accessToken);
 
+    UserWithRefreshAndAccessTokenDTO toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(RefreshTokenState refreshTokenState, String accessToken, String refreshToken);
 
 
 }
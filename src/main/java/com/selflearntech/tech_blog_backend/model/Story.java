@@ -0,0 +1,58 @@
+package com.selflearntech.tech_blog_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A story, stored in MongoDB. {@code authorId} is the {@code user_id} of its author in Postgres.
+ * <p>
+ * Lists of a user's drafts or published stories walk {@code author_status_updated} newest first; {@code _id} breaks
+ * ties between stories updated in the same millisecond, so that the index alone defines the keyset order.
+ * {@code updated} serves the search index, which follows every story changed since it last looked.
+ * <p>
+ * {@code version} goes up with every saved change; autosave patches name the version they were made against.
+ */
+@Document(collection = "stories")
+@CompoundIndex(name = "author_status_updated", def = "{'authorId': 1, 'status': 1, 'updatedAt': -1, '_id': -1}")
+@CompoundIndex(name = "updated", def = "{'updatedAt': 1, '_id': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class Story {
+
+    @Id
+    private String id;
+
+    private Integer authorId;
+
+    private StoryStatus status;
+
+    private String title;
+
+    // Markdown source; left out of every list query
+    private String body;
+
+    // body rendered to sanitized HTML on every save that changes it
+    private String bodyHtml;
+
+    private List<String> tags;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant publishedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,5 @@
+package com.selflearntech.tech_blog_backend.model;
+
+public enum StoryStatus {
+    DRAFT, PUBLISHED
+}
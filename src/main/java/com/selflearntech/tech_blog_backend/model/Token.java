@@ -7,8 +7,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.UUID;
 
+/**
+ * A refresh token of one of the user's sessions. Each login starts a family, identified by {@code familyId}; each
+ * refresh invalidates the presented token, stamps {@code rotatedAt} and issues its successor in the same family.
+ */
 @Entity(name = "tokens")
+@Table(indexes = {
+        @Index(name = "idx_tokens_expire_time", columnList = "expire_time, token_id"),
+        @Index(name = "idx_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_tokens_user_id", columnList = "user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,8 +30,22 @@ public class Token {
     @Column(name = "token_id")
     private Integer tokenId;
 
-    @Column(name = "refresh_token", length = 500, nullable = false)
-    private String refreshToken;
+    // SHA-256 of the refresh token, the token itself is never stored
+    @Column(name = "refresh_token_hash", length = 32, nullable = false, unique = true)
+    private byte[] refreshTokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    // User-Agent of the login that started the family
+    @Column(name = "device")
+    private String device;
+
+    @Column(name = "session_started_at", nullable = false)
+    private Instant sessionStartedAt;
+
+    @Column(name = "issued_at", nullable = false)
+    private Instant issuedAt;
 
     @Column(name = "expire_time", nullable = false)
     private Instant expireTime;
@@ -29,7 +53,11 @@ public class Token {
     @Column(name = "is_valid", nullable = false)
     private boolean isValid;
 
-    @OneToOne()
+    // set once the token has been exchanged for its successor
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
+    @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 }
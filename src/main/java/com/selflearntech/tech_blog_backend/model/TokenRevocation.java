@@ -0,0 +1,43 @@
+package com.selflearntech.tech_blog_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token ({@code jti} set) or all of a user's access tokens issued up to {@code revokedAt}
+ * ({@code jti} null). Rows are only needed until {@code expiresAt}, when every token they cover has expired anyway.
+ */
+@Entity(name = "token_revocations")
+@Table(indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "revocation_id")
+    private Long revocationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    // the access token subject (the user's email)
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
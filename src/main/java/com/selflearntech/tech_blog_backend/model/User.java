@@ -11,13 +11,15 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 @AllArgsConstructor
 @Getter
 @Setter
 @Builder
 public class User implements UserDetails{
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_unique";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "user_id")
@@ -29,7 +31,7 @@ public class User implements UserDetails{
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -38,9 +40,6 @@ public class User implements UserDetails{
     @Column(name = "profile_img")
     private String profileImg;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Token token;
-
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_role",
@@ -0,0 +1,150 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lexical syntax highlighting for fenced code blocks: keywords, strings, comments and numbers are wrapped in
+ * {@code <span class="hl-...">} for the stylesheet to color. A single pass over the code, without parsing; code in a
+ * language it doesn't know comes out escaped but unhighlighted.
+ */
+final class CodeHighlighter {
+
+    private record Language(Set<String> keywords, boolean ignoreCase, String lineComment, String blockCommentStart,
+                            String blockCommentEnd, String quotes) {
+    }
+
+    private static final Language C_LIKE_COMMENTS = new Language(Set.of(), false, "//", "/*", "*/", "\"'");
+
+    private static final Language JAVA = c(Set.of("abstract", "assert", "boolean", "break", "byte", "case", "catch",
+            "char", "class", "const", "continue", "default", "do", "double", "else", "enum", "extends", "false", "final",
+            "finally", "float", "for", "if", "implements", "import", "instanceof", "int", "interface", "long", "new",
+            "null", "package", "private", "protected", "public", "record", "return", "short", "static", "super",
+            "switch", "synchronized", "this", "throw", "throws", "true", "try", "var", "void", "volatile", "while",
+            "yield"), "\"'");
+    private static final Language KOTLIN = c(Set.of("as", "break", "class", "continue", "data", "do", "else", "false",
+            "for", "fun", "if", "import", "in", "interface", "is", "null", "object", "override", "package", "private",
+            "return", "super", "this", "throw", "true", "try", "typealias", "val", "var", "when", "while"), "\"'");
+    private static final Language JAVASCRIPT = c(Set.of("async", "await", "break", "case", "catch", "class", "const",
+            "continue", "default", "delete", "do", "else", "export", "extends", "false", "finally", "for", "from",
+            "function", "if", "import", "in", "instanceof", "interface", "let", "new", "null", "of", "return", "static",
+            "super", "switch", "this", "throw", "true", "try", "type", "typeof", "undefined", "var", "void", "while",
+            "yield"), "\"'`");
+    private static final Language GO = c(Set.of("break", "case", "chan", "const", "continue", "default", "defer",
+            "else", "false", "for", "func", "go", "if", "import", "interface", "map", "nil", "package", "range",
+            "return", "select", "struct", "switch", "true", "type", "var"), "\"'`");
+    private static final Language PYTHON = new Language(Set.of("and", "as", "assert", "async", "await", "break",
+            "class", "continue", "def", "del", "elif", "else", "except", "False", "finally", "for", "from", "if",
+            "import", "in", "is", "lambda", "None", "not", "or", "pass", "raise", "return", "True", "try", "while",
+            "with", "yield"), false, "#", null, null, "\"'");
+    private static final Language SHELL = new Language(Set.of("case", "do", "done", "echo", "elif", "else", "esac",
+            "export", "fi", "for", "function", "if", "in", "local", "return", "then", "while"), false, "#", null, null, "\"'");
+    private static final Language SQL = new Language(Set.of("and", "as", "asc", "by", "create", "delete", "desc",
+            "distinct", "drop", "from", "group", "having", "in", "index", "insert", "into", "is", "join", "left", "limit",
+            "not", "null", "on", "or", "order", "select", "set", "table", "update", "values", "where", "with"), true,
+            "--", "/*", "*/", "'\"");
+    private static final Language YAML = new Language(Set.of("true", "false", "null"), false, "#", null, null, "\"'");
+    private static final Language JSON = new Language(Set.of("true", "false", "null"), false, null, null, null, "\"");
+
+    private static final Map<String, Language> LANGUAGES = Map.ofEntries(
+            Map.entry("java", JAVA), Map.entry("kotlin", KOTLIN), Map.entry("kt", KOTLIN),
+            Map.entry("javascript", JAVASCRIPT), Map.entry("js", JAVASCRIPT), Map.entry("typescript", JAVASCRIPT),
+            Map.entry("ts", JAVASCRIPT), Map.entry("go", GO), Map.entry("c", C_LIKE_COMMENTS), Map.entry("cpp", C_LIKE_COMMENTS),
+            Map.entry("python", PYTHON), Map.entry("py", PYTHON), Map.entry("bash", SHELL), Map.entry("sh", SHELL),
+            Map.entry("shell", SHELL), Map.entry("sql", SQL), Map.entry("yaml", YAML), Map.entry("yml", YAML),
+            Map.entry("json", JSON));
+
+    private CodeHighlighter() {
+    }
+
+    /**
+     * @param language the fence's info string language, may be null
+     * @return the code as HTML, escaped and highlighted
+     */
+    static String highlight(String code, String language) {
+        Language lang = language == null ? null : LANGUAGES.get(language.toLowerCase(Locale.ROOT));
+        StringBuilder html = new StringBuilder(code.length() + code.length() / 2);
+        if (lang == null) {
+            escape(code, 0, code.length(), html);
+            return html.toString();
+        }
+
+        int length = code.length();
+        int plain = 0;
+        int i = 0;
+        while (i < length) {
+            char c = code.charAt(i);
+            int end;
+            String type;
+            if (lang.blockCommentStart() != null && code.startsWith(lang.blockCommentStart(), i)) {
+                int close = code.indexOf(lang.blockCommentEnd(), i + lang.blockCommentStart().length());
+                end = close < 0 ? length : close + lang.blockCommentEnd().length();
+                type = "comment";
+            } else if (lang.lineComment() != null && code.startsWith(lang.lineComment(), i)) {
+                end = lineEnd(code, i);
+                type = "comment";
+            } else if (lang.quotes().indexOf(c) >= 0) {
+                end = stringEnd(code, i, c);
+                type = "string";
+            } else if (Character.isDigit(c)) {
+                end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(code.charAt(end)) || code.charAt(end) == '.' || code.charAt(end) == '_')) end++;
+                type = "number";
+            } else if (Character.isJavaIdentifierStart(c)) {
+                end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(code.charAt(end))) end++;
+                String word = code.substring(i, end);
+                if (!lang.keywords().contains(lang.ignoreCase() ? word.toLowerCase(Locale.ROOT) : word)) {
+                    i = end;
+                    continue;
+                }
+                type = "keyword";
+            } else {
+                i++;
+                continue;
+            }
+
+            escape(code, plain, i, html);
+            html.append("<span class=\"hl-").append(type).append("\">");
+            escape(code, i, end, html);
+            html.append("</span>");
+            plain = i = end;
+        }
+        escape(code, plain, length, html);
+        return html.toString();
+    }
+
+    private static Language c(Set<String> keywords, String quotes) {
+        return new Language(keywords, false, "//", "/*", "*/", quotes);
+    }
+
+    private static int lineEnd(String code, int from) {
+        int newline = code.indexOf('\n', from);
+        return newline < 0 ? code.length() : newline;
+    }
+
+    // backquoted strings may span lines, others end with theirs
+    private static int stringEnd(String code, int start, char quote) {
+        for (int i = start + 1; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '\\') i++;
+            else if (c == quote) return i + 1;
+            else if (c == '\n' && quote != '`') return i;
+        }
+        return code.length();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder html) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> html.append("&amp;");
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '"' -> html.append("&quot;");
+                default -> html.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+/**
+ * Content codings a rendered story is kept in, densest first, which is also the order of preference between codings
+ * a client accepts equally.
+ */
+public enum ContentCoding {
+
+    BROTLI("br"),
+    GZIP("gzip"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The coding's name in {@code Accept-Encoding} and {@code Content-Encoding}.
+     */
+    public String token() {
+        return token;
+    }
+
+    static ContentCoding fromToken(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token)) return coding;
+        }
+        return "x-gzip".equalsIgnoreCase(token) ? GZIP : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.Node;
+import org.commonmark.renderer.NodeRenderer;
+import org.commonmark.renderer.html.HtmlNodeRendererContext;
+import org.commonmark.renderer.html.HtmlWriter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Renders fenced code blocks like the core renderer does, {@code <pre><code class="language-...">}, with the code
+ * run through the {@link CodeHighlighter}.
+ */
+class HighlightedCodeBlockRenderer implements NodeRenderer {
+
+    private static final Pattern LANGUAGE = Pattern.compile("[A-Za-z0-9_+#.-]{1,32}");
+
+    private final HtmlNodeRendererContext context;
+    private final HtmlWriter html;
+
+    HighlightedCodeBlockRenderer(HtmlNodeRendererContext context) {
+        this.context = context;
+        this.html = context.getWriter();
+    }
+
+    @Override
+    public Set<Class<? extends Node>> getNodeTypes() {
+        return Set.of(FencedCodeBlock.class);
+    }
+
+    @Override
+    public void render(Node node) {
+        FencedCodeBlock codeBlock = (FencedCodeBlock) node;
+        String language = language(codeBlock.getInfo());
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (language != null) attributes.put("class", "language-" + language);
+
+        html.line();
+        html.tag("pre", context.extendAttributes(codeBlock, "pre", Map.of()));
+        html.tag("code", context.extendAttributes(codeBlock, "code", attributes));
+        html.raw(CodeHighlighter.highlight(codeBlock.getLiteral(), language));
+        html.tag("/code");
+        html.tag("/pre");
+        html.line();
+    }
+
+    // the info string's first word, if it looks like a language name
+    private static String language(String info) {
+        if (info == null || info.isBlank()) return null;
+        String first = info.trim().split("\\s+", 2)[0];
+        return LANGUAGE.matcher(first).matches() ? first : null;
+    }
+}
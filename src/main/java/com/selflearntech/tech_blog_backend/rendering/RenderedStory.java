@@ -0,0 +1,128 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The final response body of one version of a published story, in every content coding it is served in. Codings that
+ * came out no smaller than the identity body are left out.
+ * <p>
+ * Each coding gets its own strong entity tag, the content hash with the coding as suffix, as a strong validator must
+ * change with the bytes. {@code If-None-Match} accepts any of them though: they all stand for the same content.
+ */
+public final class RenderedStory {
+
+    // what an entry costs besides its bodies: the object, its map and the entity tag
+    private static final int OVERHEAD_BYTES = 256;
+    // identity is acceptable unless excluded, but only ever as a last resort
+    private static final float UNLISTED_IDENTITY_QUALITY = 0.001f;
+
+    private final String storyId;
+    private final long version;
+    private final String contentHash;
+    private final Map<ContentCoding, byte[]> bodies;
+
+    RenderedStory(String storyId, long version, String contentHash, Map<ContentCoding, byte[]> bodies) {
+        this.storyId = storyId;
+        this.version = version;
+        this.contentHash = contentHash;
+        this.bodies = bodies;
+    }
+
+    public String storyId() {
+        return storyId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public byte[] body(ContentCoding coding) {
+        return bodies.get(coding);
+    }
+
+    public boolean hasCoding(ContentCoding coding) {
+        return bodies.containsKey(coding);
+    }
+
+    /**
+     * The quoted entity tag of the body in the given coding.
+     */
+    public String eTag(ContentCoding coding) {
+        return coding == ContentCoding.IDENTITY ? '"' + contentHash + '"' : '"' + contentHash + '-' + coding.token() + '"';
+    }
+
+    /**
+     * Picks the coding to answer with from an {@code Accept-Encoding} header: the one with the highest quality value
+     * among those kept, the densest on a tie. Falls back to identity when nothing kept is acceptable.
+     */
+    public ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return ContentCoding.IDENTITY;
+
+        float[] qualities = new float[ContentCoding.values().length];
+        Arrays.fill(qualities, Float.NaN);
+        float wildcard = Float.NaN;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String token = parts[0].trim();
+            float quality = quality(parts);
+            if (token.equals("*")) {
+                wildcard = quality;
+                continue;
+            }
+            ContentCoding coding = ContentCoding.fromToken(token);
+            if (coding != null) qualities[coding.ordinal()] = quality;
+        }
+
+        ContentCoding best = ContentCoding.IDENTITY;
+        float bestQuality = 0;
+        for (ContentCoding coding : ContentCoding.values()) {
+            float quality = qualities[coding.ordinal()];
+            // unlisted codings take the wildcard's quality
+            if (Float.isNaN(quality)) quality = !Float.isNaN(wildcard) ? wildcard : coding == ContentCoding.IDENTITY ? UNLISTED_IDENTITY_QUALITY : 0;
+            if (quality > bestQuality && hasCoding(coding)) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names this story's content, under any coding.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) return false;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) return true;
+            // If-None-Match compares weakly
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            for (ContentCoding coding : ContentCoding.values()) {
+                if (tag.equals(eTag(coding))) return true;
+            }
+        }
+        return false;
+    }
+
+    int weight() {
+        long weight = OVERHEAD_BYTES;
+        for (byte[] body : bodies.values()) weight += body.length;
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static float quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (!parameter.startsWith("q=") && !parameter.startsWith("Q=")) continue;
+            try {
+                float quality = Float.parseFloat(parameter.substring(2));
+                return quality >= 0 && quality <= 1 ? quality : 0;
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selflearntech.tech_blog_backend.config.PublishedStoryCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Rendered published stories keyed by story id and version, bounded by the bytes they hold rather than their count:
+ * a long story in three codings weighs as much as it costs. A new version is a new key, so nothing needs
+ * invalidating; renderings of versions no longer published are simply never asked for again and go first.
+ * <p>
+ * Hit/miss statistics are published as the {@code cache.*} meters tagged {@code cache=renderedStories}, the bytes
+ * held as {@code stories.rendered.size}.
+ */
+@Component
+public class RenderedStoryCache {
+
+    public static final String CACHE_NAME = "renderedStories";
+
+    private record Key(String storyId, long version) {
+    }
+
+    private final Cache<Key, RenderedStory> cache;
+
+    public RenderedStoryCache(PublishedStoryCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Key key, RenderedStory story) -> story.weight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("stories.rendered.size", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Bytes held by rendered published stories, over every coding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param render renders the story when that version isn't cached; runs at most once per key at a time
+     */
+    public RenderedStory get(String storyId, long version, Supplier<RenderedStory> render) {
+        return cache.get(new Key(storyId, version), key -> render.get());
+    }
+
+    public void put(RenderedStory story) {
+        cache.put(new Key(story.storyId(), story.version()), story);
+    }
+}
@@ -0,0 +1,94 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.config.PublishedStoryCacheProperties;
+import com.selflearntech.tech_blog_backend.dto.PublishedStoryDTO;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders a published story to the JSON body it is served as, with the same {@link ObjectMapper} the controllers
+ * use, and compresses it once with gzip and brotli. The body's HTML is the one saved with it; stories saved before
+ * bodies were rendered get theirs from the {@link MarkdownRenderer} here. Brotli relies on a native library; where it can't be loaded,
+ * stories are kept in gzip and identity only.
+ */
+@Component
+@Slf4j
+public class StoryRenderer {
+
+    // 96 bits of SHA-256, plenty to tell versions of a story apart
+    private static final int CONTENT_HASH_BYTES = 12;
+
+    private final ObjectMapper objectMapper;
+    private final StoryMapper storyMapper;
+    private final MarkdownRenderer markdownRenderer;
+    private final int gzipLevel;
+    private final Encoder.Parameters brotliParameters;
+
+    public StoryRenderer(ObjectMapper objectMapper, StoryMapper storyMapper, MarkdownRenderer markdownRenderer,
+                         PublishedStoryCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.storyMapper = storyMapper;
+        this.markdownRenderer = markdownRenderer;
+        this.gzipLevel = properties.getGzipLevel();
+        if (Brotli4jLoader.isAvailable()) {
+            this.brotliParameters = new Encoder.Parameters().setQuality(properties.getBrotliQuality()).setMode(Encoder.Mode.TEXT);
+        } else {
+            log.warn("Brotli is unavailable, published stories are served gzip-compressed at best", Brotli4jLoader.getUnavailabilityCause());
+            this.brotliParameters = null;
+        }
+    }
+
+    public RenderedStory render(Story story) {
+        try {
+            PublishedStoryDTO publishedStory = storyMapper.toPublishedStoryDTO(story);
+            if (publishedStory.getBodyHtml() == null) publishedStory.setBodyHtml(markdownRenderer.render(story.getBody()));
+            byte[] identity = objectMapper.writeValueAsBytes(publishedStory);
+            Map<ContentCoding, byte[]> bodies = new EnumMap<>(ContentCoding.class);
+            bodies.put(ContentCoding.IDENTITY, identity);
+            putIfSmaller(bodies, ContentCoding.GZIP, gzip(identity), identity);
+            if (brotliParameters != null) putIfSmaller(bodies, ContentCoding.BROTLI, Encoder.compress(identity, brotliParameters), identity);
+
+            return new RenderedStory(story.getId(), Objects.requireNonNullElse(story.getVersion(), 0L), contentHash(identity), bodies);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private byte[] gzip(byte[] identity) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(identity.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(gzipLevel); }}) {
+            gzip.write(identity);
+        }
+        return out.toByteArray();
+    }
+
+    private static void putIfSmaller(Map<ContentCoding, byte[]> bodies, ContentCoding coding, byte[] encoded, byte[] identity) {
+        if (encoded.length < identity.length) bodies.put(coding, encoded);
+    }
+
+    private static String contentHash(byte[] identity) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, CONTENT_HASH_BYTES));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.selflearntech.tech_blog_backend.config.DraftAutosaveProperties;
+import com.selflearntech.tech_blog_backend.exception.DraftConflictException;
+import com.selflearntech.tech_blog_backend.exception.DraftNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Write-behind buffer for draft autosaves. Rather than rewriting the draft in MongoDB on every autosave, saves are
+ * applied to an in-memory copy of it, which later saves and reads of the draft see, and the copy is written as one
+ * update: every {@code flush-interval}, as soon as {@code max-buffered-saves} have piled up for the draft, before it
+ * is published and when the application shuts down.
+ * <p>
+ * A save names the version it was made against and is refused if the draft has moved past it. Writes are conditional
+ * on the version last written, so a draft changed behind the buffer's back (by another node, or published) is never
+ * overwritten: the buffered saves are dropped instead and the editor learns of the conflict on its next save.
+ * <p>
+ * {@code drafts.autosave.saves} counts saves by whether they reached MongoDB as the latest save of a write
+ * ({@code written}) or were absorbed into it ({@code absorbed}), {@code drafts.autosave.flushes} counts writes by
+ * trigger and {@code drafts.autosave.conflicts} the writes that found the draft changed.
+ */
+@Slf4j
+@Repository
+public class DraftWriteBuffer {
+
+    enum Trigger {
+        INTERVAL, SIZE, PUBLISH, SHUTDOWN
+    }
+
+    private static final class PendingDraft {
+        // not synchronized: a virtual thread blocked on MongoDB inside a monitor would pin its carrier thread
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long writtenVersion;
+        private Story draft;
+        private int saves;
+        // written or dropped; a caller still holding it starts over from MongoDB
+        private boolean retired;
+
+        private PendingDraft(Story draft) {
+            this.draft = draft;
+            this.writtenVersion = draft.getVersion();
+        }
+    }
+
+    private final StoryRepository storyRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DraftAutosaveProperties properties;
+    private final Clock clock;
+    private final ConcurrentMap<String, PendingDraft> pending = new ConcurrentHashMap<>();
+    // entries retired so far; tells a copy loaded from MongoDB whether a write may have overtaken it
+    private final AtomicLong retirements = new AtomicLong();
+    private final Counter written;
+    private final Counter absorbed;
+    private final Counter conflicts;
+    private final Map<Trigger, Counter> flushes = new EnumMap<>(Trigger.class);
+
+    public DraftWriteBuffer(StoryRepository storyRepository, MongoTemplate mongoTemplate, DraftAutosaveProperties properties,
+                            Clock clock, MeterRegistry meterRegistry) {
+        this.storyRepository = storyRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.written = savesCounter(meterRegistry, "written");
+        this.absorbed = savesCounter(meterRegistry, "absorbed");
+        this.conflicts = Counter.builder("drafts.autosave.conflicts")
+                .description("Buffered draft writes dropped because the draft changed in MongoDB")
+                .register(meterRegistry);
+        for (Trigger trigger : Trigger.values()) {
+            flushes.put(trigger, Counter.builder("drafts.autosave.flushes")
+                    .description("Buffered drafts written to MongoDB, by what triggered the write")
+                    .tag("trigger", trigger.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("drafts.autosave.pending", pending, Map::size)
+                .description("Drafts with autosaves waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The draft as its author sees it, buffered saves included.
+     *
+     * @throws DraftNotFoundException if the author has no such draft
+     */
+    public Story get(String id, Integer authorId) {
+        PendingDraft entry = pending.get(id);
+        if (entry != null) {
+            entry.lock.lock();
+            try {
+                if (!entry.retired) return owned(entry.draft, authorId).toBuilder().build();
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+        return owned(load(id), authorId);
+    }
+
+    /**
+     * Applies a save made against {@code baseVersion} to the buffered draft, which moves to the next version.
+     *
+     * @param patch changes the given copy of the draft; nothing is saved if it throws
+     * @return the draft after the save
+     * @throws DraftNotFoundException if the author has no such draft
+     * @throws DraftConflictException if the draft is past {@code baseVersion}
+     */
+    public Story save(String id, Integer authorId, long baseVersion, Consumer<Story> patch) {
+        while (true) {
+            PendingDraft entry = pending.get(id);
+            if (entry == null && (entry = buffer(id)) == null) continue;
+
+            entry.lock.lock();
+            try {
+                if (entry.retired) continue;
+
+                owned(entry.draft, authorId);
+                if (entry.draft.getVersion() != baseVersion) throw new DraftConflictException(ErrorMessages.DRAFT_VERSION_CONFLICT);
+
+                Story draft = entry.draft.toBuilder().build();
+                patch.accept(draft);
+                draft.setVersion(baseVersion + 1);
+                draft.setUpdatedAt(clock.instant());
+                entry.draft = draft;
+                entry.saves++;
+
+                if (entry.saves >= properties.getMaxBufferedSaves()) {
+                    try {
+                        flush(id, entry, Trigger.SIZE);
+                    } catch (DataAccessException ex) {
+                        log.warn("Writing draft {} failed, its {} buffered saves wait for the next flush", id, entry.saves, ex);
+                    }
+                }
+                return draft.toBuilder().build();
+            } finally {
+                entry.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered saves of the draft, if any, so that a publish goes out with them.
+     */
+    public void flush(String id) {
+        PendingDraft entry = pending.get(id);
+        if (entry == null) return;
+
+        entry.lock.lock();
+        try {
+            if (!entry.retired) flush(id, entry, Trigger.PUBLISH);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.draft-autosave.flush-interval:PT5S}",
+            initialDelayString = "${selflearntech.draft-autosave.flush-interval:PT5S}")
+    public void flushAll() {
+        flushAll(Trigger.INTERVAL);
+    }
+
+    // runs after a graceful shutdown has let the requests in flight finish
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll(Trigger.SHUTDOWN);
+    }
+
+    private void flushAll(Trigger trigger) {
+        pending.forEach((id, entry) -> {
+            entry.lock.lock();
+            try {
+                if (entry.retired) return;
+                flush(id, entry, trigger);
+            } catch (DataAccessException ex) {
+                log.error("Writing draft {} failed, keeping its {} buffered saves", id, entry.saves, ex);
+            } finally {
+                entry.lock.unlock();
+            }
+        });
+    }
+
+    // with the entry's lock held
+    private void flush(String id, PendingDraft entry, Trigger trigger) {
+        if (entry.saves > 0) {
+            Story draft = entry.draft;
+            Update update = new Update()
+                    .set("title", draft.getTitle())
+                    .set("body", draft.getBody())
+                    .set("bodyHtml", draft.getBodyHtml())
+                    .set("tags", draft.getTags())
+                    .set("updatedAt", draft.getUpdatedAt())
+                    .set("version", draft.getVersion());
+            UpdateResult result = mongoTemplate.updateFirst(
+                    query(where("id").is(id).and("status").is(StoryStatus.DRAFT).and("version").is(entry.writtenVersion)),
+                    update, Story.class);
+
+            if (result.getMatchedCount() == 0) {
+                conflicts.increment();
+                log.warn("Draft {} changed past version {}, dropping its {} buffered saves", id, entry.writtenVersion, entry.saves);
+            } else {
+                flushes.get(trigger).increment();
+                written.increment();
+                absorbed.increment(entry.saves - 1);
+            }
+        }
+        entry.retired = true;
+        // counted before the entry leaves the map, so that a copy loaded before the write cannot take its place unseen
+        retirements.incrementAndGet();
+        pending.remove(id, entry);
+    }
+
+    /**
+     * Buffers the draft as MongoDB has it, or returns the entry another save buffered first. Loaded outside the map,
+     * so that no MongoDB call runs inside a map operation; a copy that a retired entry's write may have overtaken is
+     * dropped ({@code null}) and the caller starts over.
+     */
+    private PendingDraft buffer(String id) {
+        long retiredBefore = retirements.get();
+        PendingDraft loaded = new PendingDraft(load(id));
+        // held until checked, so that no save can go into a copy about to be dropped
+        loaded.lock.lock();
+        try {
+            PendingDraft current = pending.putIfAbsent(id, loaded);
+            if (current != null) return current;
+            if (retirements.get() == retiredBefore) return loaded;
+
+            loaded.retired = true;
+            pending.remove(id, loaded);
+            return null;
+        } finally {
+            loaded.lock.unlock();
+        }
+    }
+
+    private Story load(String id) {
+        return storyRepository.findById(id)
+                .filter(story -> story.getStatus() == StoryStatus.DRAFT)
+                .orElseThrow(() -> new DraftNotFoundException(ErrorMessages.DRAFT_NOT_FOUND));
+    }
+
+    private static Story owned(Story draft, Integer authorId) {
+        if (!draft.getAuthorId().equals(authorId)) throw new DraftNotFoundException(ErrorMessages.DRAFT_NOT_FOUND);
+        return draft;
+    }
+
+    private static Counter savesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("drafts.autosave.saves")
+                .description("Draft autosaves, by whether they were written or absorbed into a later save's write")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
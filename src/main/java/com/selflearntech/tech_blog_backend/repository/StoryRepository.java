@@ -0,0 +1,66 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pages through an author's stories of one status in {@code (updatedAt, _id)} descending order with a keyset cursor:
+ * each page starts right after the last story of the previous one, so deep pages cost as much as the first. The
+ * search index follows changes to stories in {@code (updatedAt, _id)} ascending order the same way.
+ */
+@Repository
+public interface StoryRepository extends MongoRepository<Story, String> {
+
+    // the StorySummary fields; string queries don't derive their projection from the return type
+    String SUMMARY_FIELDS = "{ 'status': 1, 'title': 1, 'tags': 1, 'createdAt': 1, 'updatedAt': 1, 'publishedAt': 1, 'version': 1 }";
+    String NEWEST_FIRST = "{ 'updatedAt': -1, '_id': -1 }";
+    String OLDEST_FIRST = "{ 'updatedAt': 1, '_id': 1 }";
+
+    @Query(value = "{ 'authorId': ?0, 'status': ?1 }", fields = SUMMARY_FIELDS, sort = NEWEST_FIRST)
+    List<StorySummary> findFirstPage(Integer authorId, StoryStatus status, Limit limit);
+
+    @Query(value = """
+            { 'authorId': ?0, 'status': ?1, '$or': [
+                { 'updatedAt': { '$lt': ?2 } },
+                { 'updatedAt': ?2, '_id': { '$lt': ?3 } } ] }
+            """, fields = SUMMARY_FIELDS, sort = NEWEST_FIRST)
+    List<StorySummary> findPageAfter(Integer authorId, StoryStatus status, Instant updatedAt, ObjectId id, Limit limit);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = SUMMARY_FIELDS)
+    List<StorySummary> findSummariesByIdIn(Collection<ObjectId> ids);
+
+    @Query(value = """
+            { '$or': [
+                { 'updatedAt': { '$gt': ?0 } },
+                { 'updatedAt': ?0, '_id': { '$gt': ?1 } } ] }
+            """, fields = SUMMARY_FIELDS, sort = OLDEST_FIRST)
+    List<StorySummary> findChangedAfter(Instant updatedAt, ObjectId id, Limit limit);
+
+    @Query(value = "{ '_id': ?0, 'status': 'PUBLISHED' }", fields = "{ 'version': 1 }")
+    Optional<StoryVersion> findPublishedVersionById(String id);
+
+    /**
+     * @return 1 if the author's draft was published, 0 if the author has no such draft
+     */
+    @Query("{ '_id': ?0, 'authorId': ?1, 'status': 'DRAFT' }")
+    @Update("{ '$set': { 'status': 'PUBLISHED', 'publishedAt': ?2, 'updatedAt': ?2 }, '$inc': { 'version': 1 } }")
+    long publishDraft(String id, Integer authorId, Instant publishedAt);
+
+    /**
+     * @return 1 if the author's story was unpublished, 0 if the author has no such published story
+     */
+    @Query("{ '_id': ?0, 'authorId': ?1, 'status': 'PUBLISHED' }")
+    @Update("{ '$set': { 'status': 'DRAFT', 'updatedAt': ?2 }, '$inc': { 'version': 1 } }")
+    long unpublishStory(String id, Integer authorId, Instant unpublishedAt);
+}
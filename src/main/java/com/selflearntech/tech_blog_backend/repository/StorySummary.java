@@ -0,0 +1,28 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Closed projection of a story for lists: only these fields are read from MongoDB, never the body.
+ */
+public interface StorySummary {
+
+    String getId();
+
+    StoryStatus getStatus();
+
+    String getTitle();
+
+    List<String> getTags();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    Instant getPublishedAt();
+
+    Long getVersion();
+}
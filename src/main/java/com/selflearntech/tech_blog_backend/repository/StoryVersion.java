@@ -0,0 +1,11 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+/**
+ * Closed projection of a story down to its version, to tell whether a rendering of it is still current.
+ */
+public interface StoryVersion {
+
+    String getId();
+
+    Long getVersion();
+}
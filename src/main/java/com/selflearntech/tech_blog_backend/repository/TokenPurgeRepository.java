@@ -0,0 +1,96 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Deletes expired and invalidated refresh tokens in batches, walking {@code idx_tokens_expire_time} with a keyset
+ * cursor so that no batch rescans what an earlier one already went through.
+ * <p>
+ * Each batch is its own short transaction and first takes a transaction-level advisory lock, so concurrent purges
+ * on several nodes don't delete side by side; the lock goes away with the commit, leaving no session state behind
+ * in the pool. Rows locked by a refresh in progress are skipped rather than waited for.
+ */
+@Repository
+public class TokenPurgeRepository {
+
+    // arbitrary, only has to be unique among the application's advisory locks
+    static final long ADVISORY_LOCK_KEY = 0x746f6b656e73L;
+
+    /**
+     * Position in {@code (expire_time, token_id)} order. The expire time is kept as the column's raw value so that it
+     * binds back exactly as it was read. Hibernate writes instants to the TIMESTAMP columns as UTC wall-clock time, so
+     * that is what the raw value is, whatever the JVM's default zone.
+     */
+    public record Cursor(LocalDateTime expireTime, int tokenId) {
+
+        public static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+    }
+
+    /**
+     * Outcome of one batch; {@code locked} is false if another node held the purge lock and nothing was deleted.
+     */
+    public record Batch(boolean locked, int expired, int invalidated, Cursor last) {
+
+        public int purged() {
+            return expired + invalidated;
+        }
+    }
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String DELETE_BATCH = """
+            DELETE FROM tokens
+            WHERE token_id IN (
+                SELECT token_id FROM tokens
+                WHERE (expire_time, token_id) > (?, ?)
+                  AND (expire_time < ? OR (NOT is_valid AND rotated_at IS NULL))
+                ORDER BY expire_time, token_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING token_id, expire_time, expire_time < ? AS expired
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TokenPurgeRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Deletes up to {@code batchSize} tokens past the cursor that expired before {@code now} or were invalidated.
+     * Rotated tokens are kept until they expire, as presenting one again is how refresh token reuse is detected.
+     */
+    public Batch deleteBatch(Cursor after, Instant now, int batchSize) {
+        return transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, ADVISORY_LOCK_KEY))) {
+                return new Batch(false, 0, 0, after);
+            }
+
+            // as Hibernate stores instants; a java.sql.Timestamp would bind in the JVM's default zone instead
+            LocalDateTime cutoff = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+            int[] counts = new int[2];
+            Cursor[] last = {after};
+            jdbcTemplate.query(DELETE_BATCH, rs -> {
+                Cursor deleted = new Cursor(rs.getObject("expire_time", LocalDateTime.class), rs.getInt("token_id"));
+                // RETURNING has no order, the cursor is the largest deleted key
+                if (compare(deleted, last[0]) > 0) last[0] = deleted;
+                counts[rs.getBoolean("expired") ? 0 : 1]++;
+            }, after.expireTime(), after.tokenId(), cutoff, batchSize, cutoff);
+
+            return new Batch(true, counts[0], counts[1], last[0]);
+        });
+    }
+
+    private static int compare(Cursor a, Cursor b) {
+        int byTime = a.expireTime().compareTo(b.expireTime());
+        return byTime != 0 ? byTime : Integer.compare(a.tokenId(), b.tokenId());
+    }
+}
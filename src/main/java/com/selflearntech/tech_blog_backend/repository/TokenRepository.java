@@ -1,15 +1,82 @@
 package com.selflearntech.tech_blog_backend.repository;
 
 import com.selflearntech.tech_blog_backend.model.Token;
-import com.selflearntech.tech_blog_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface TokenRepository extends JpaRepository<Token, Long> {
 
-    Optional<Token> findByRefreshToken(String token);
-    Optional<Token> findByUser(User user);
+    Optional<Token> findByRefreshTokenHash(byte[] refreshTokenHash);
+
+    /**
+     * The valid, unexpired token of each of the user's sessions, most recently used first.
+     */
+    @Query("""
+            SELECT t FROM tokens t
+            WHERE t.user.userId = :userId AND t.isValid AND t.expireTime > :now
+            ORDER BY t.issuedAt DESC
+            """)
+    List<Token> findActiveSessions(@Param("userId") Integer userId, @Param("now") Instant now);
+
+    /**
+     * Whether the session still has a valid token, i.e. was neither ended nor revoked since its last rotation.
+     */
+    @Query("SELECT COUNT(t) > 0 FROM tokens t WHERE t.user.userId = :userId AND t.familyId = :familyId AND t.isValid")
+    boolean existsValidToken(@Param("userId") Integer userId, @Param("familyId") UUID familyId);
+
+    /**
+     * Stores the first refresh token of a new session in a single statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO tokens (user_id, family_id, device, refresh_token_hash, session_started_at, issued_at, expire_time, is_valid)
+            VALUES (:userId, :familyId, :device, :refreshTokenHash, :issuedAt, :issuedAt, :expireTime, TRUE)
+            """, nativeQuery = true)
+    int insertRefreshToken(@Param("userId") Integer userId, @Param("familyId") UUID familyId, @Param("device") String device,
+                           @Param("refreshTokenHash") byte[] refreshTokenHash, @Param("issuedAt") Instant issuedAt,
+                           @Param("expireTime") Instant expireTime);
+
+    /**
+     * Exchanges a valid token for its successor in the same family in a single statement. Returns the successor's id,
+     * or nothing if the token was no longer valid, i.e. it was rotated or revoked in the meantime.
+     */
+    @Transactional
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE tokens SET is_valid = FALSE, rotated_at = :issuedAt
+                WHERE token_id = :tokenId AND is_valid
+                RETURNING user_id, family_id, device, session_started_at)
+            INSERT INTO tokens (user_id, family_id, device, refresh_token_hash, session_started_at, issued_at, expire_time, is_valid)
+            SELECT user_id, family_id, device, :refreshTokenHash, session_started_at, :issuedAt, :expireTime, TRUE FROM rotated
+            RETURNING token_id
+            """, nativeQuery = true)
+    Optional<Integer> rotateRefreshToken(@Param("tokenId") Integer tokenId, @Param("refreshTokenHash") byte[] refreshTokenHash,
+                                         @Param("issuedAt") Instant issuedAt, @Param("expireTime") Instant expireTime);
+
+    /**
+     * Invalidates the valid token of one of the user's sessions, which the refresh token purge deletes later on.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE tokens SET is_valid = FALSE WHERE family_id = :familyId AND user_id = :userId AND is_valid", nativeQuery = true)
+    int invalidateFamily(@Param("userId") Integer userId, @Param("familyId") UUID familyId);
+
+    /**
+     * Invalidates the valid tokens of all the user's sessions, which the refresh token purge deletes later on.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE tokens SET is_valid = FALSE WHERE user_id = :userId AND is_valid", nativeQuery = true)
+    int invalidateUserTokens(@Param("userId") Integer userId);
 }
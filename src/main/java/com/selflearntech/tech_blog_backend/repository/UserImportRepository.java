@@ -0,0 +1,104 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain JDBC batch inserts for bulk imports. Going through JPA would mean one persist, one identity round trip and
+ * one join-table insert per user; here a whole batch costs two batched statements.
+ * <p>
+ * Timed under the same {@code spring.data.repository.invocations} meter Spring Boot records for the Spring Data
+ * repositories, including the commit.
+ */
+@Repository
+public class UserImportRepository {
+
+    public record ImportedUser(String firstName, String lastName, String email, String passwordHash, String profileImg) {
+    }
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (first_name, last_name, email, password, profile_img)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO NOTHING
+            """;
+    private static final String INSERT_USER_ROLE = """
+            INSERT INTO user_role (user_id, role_id)
+            SELECT user_id, ? FROM users WHERE email = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer insertBatchTimer;
+
+    public UserImportRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.insertBatchTimer = invocationTimer("SUCCESS", "None");
+    }
+
+    /**
+     * Inserts the users and grants each new one the role, all in one transaction. Users whose email is already
+     * registered are left untouched.
+     *
+     * @return for each user, whether it was inserted
+     */
+    public boolean[] insertBatch(List<ImportedUser> users, Integer roleId) {
+        long start = System.nanoTime();
+        try {
+            boolean[] inserted = transactionTemplate.execute(status -> insert(users, roleId));
+            insertBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return inserted;
+        } catch (RuntimeException ex) {
+            invocationTimer("ERROR", ex.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private boolean[] insert(List<ImportedUser> users, Integer roleId) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            statement.setString(1, user.firstName());
+            statement.setString(2, user.lastName());
+            statement.setString(3, user.email());
+            statement.setString(4, user.passwordHash());
+            statement.setString(5, user.profileImg());
+        });
+
+        boolean[] inserted = new boolean[users.size()];
+        List<String> insertedEmails = new ArrayList<>(users.size());
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                inserted[index] = count != 0;
+                if (inserted[index]) insertedEmails.add(users.get(index).email());
+                index++;
+            }
+        }
+
+        if (!insertedEmails.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, insertedEmails, insertedEmails.size(), (statement, email) -> {
+                statement.setInt(1, roleId);
+                statement.setString(2, email);
+            });
+        }
+        return inserted;
+    }
+
+    private Timer invocationTimer(String state, String exception) {
+        return Timer.builder("spring.data.repository.invocations")
+                .tag("repository", UserImportRepository.class.getSimpleName())
+                .tag("method", "insertBatch")
+                .tag("state", state)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -2,13 +2,21 @@ package com.selflearntech.tech_blog_backend.repository;
 
 import com.selflearntech.tech_blog_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer>{
 
+    // a transaction of its own when called outside one, so that a retry on the primary gets a connection of its own
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
     boolean existsUserByEmail(String email);
+
+    // just the id, without loading the user and its roles
+    @Query("select u.userId from User u where u.email = :email")
+    Optional<Integer> findUserIdByEmail(String email);
 }
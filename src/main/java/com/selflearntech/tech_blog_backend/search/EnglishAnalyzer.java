@@ -0,0 +1,50 @@
+package com.selflearntech.tech_blog_backend.search;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Turns English text into index terms: splits it into runs of letters and digits, lower-cases them, drops
+ * apostrophes ("don't" is one word), stop words and over-long tokens (hashes, encoded blobs), and reduces the rest to
+ * their {@link PorterStemmer Porter} stems. Queries go through the same analysis as stories, so they match every
+ * form of a word.
+ */
+public final class EnglishAnalyzer {
+
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    // Lucene's English stop words
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it", "no", "not",
+            "of", "on", "or", "such", "that", "the", "their", "then", "there", "these", "they", "this", "to", "was",
+            "will", "with");
+
+    /**
+     * Passes the terms of {@code text} to {@code terms} in order, repeats included.
+     */
+    public void analyze(String text, Consumer<String> terms) {
+        if (text == null) return;
+
+        PorterStemmer stemmer = new PorterStemmer();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char ch = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                token.append(Character.toLowerCase(ch));
+            } else if ((ch == '\'' || ch == '’') && !token.isEmpty()) {
+                // inside a word, left out of it
+            } else if (!token.isEmpty()) {
+                emit(token, stemmer, terms);
+                token.setLength(0);
+            }
+        }
+    }
+
+    private static void emit(StringBuilder token, PorterStemmer stemmer, Consumer<String> terms) {
+        if (token.length() > MAX_TOKEN_LENGTH) return;
+
+        String word = token.toString();
+        if (STOP_WORDS.contains(word)) return;
+        terms.accept(stemmer.stem(word));
+    }
+}
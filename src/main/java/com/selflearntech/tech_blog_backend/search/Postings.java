@@ -0,0 +1,129 @@
+package com.selflearntech.tech_blog_backend.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The documents a term occurs in, in ascending document order, each with the term's weighted frequency in it. Entries
+ * are stored as variable-length integers, the document as the gap to the previous one, so most take two bytes.
+ * Documents only ever get higher ids, so new entries are appended; removed documents stay until the index compacts.
+ */
+final class Postings {
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int docId, int termFrequency);
+    }
+
+    private byte[] bytes;
+    private int length;
+    private int lastDocId;
+    // entries, removed documents included until the next compaction
+    private int docFrequency;
+
+    Postings() {
+        this(new byte[8], 0, 0, 0);
+    }
+
+    private Postings(byte[] bytes, int length, int lastDocId, int docFrequency) {
+        this.bytes = bytes;
+        this.length = length;
+        this.lastDocId = lastDocId;
+        this.docFrequency = docFrequency;
+    }
+
+    void add(int docId, int termFrequency) {
+        if (length + 10 > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(16, bytes.length + (bytes.length >> 1)));
+        writeVarInt(docId - lastDocId);
+        writeVarInt(termFrequency);
+        lastDocId = docId;
+        docFrequency++;
+    }
+
+    void forEach(Visitor visitor) {
+        byte[] bytes = this.bytes;
+        int position = 0;
+        int docId = 0;
+        while (position < length) {
+            int gap = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                gap |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            int termFrequency = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            docId += gap;
+            visitor.visit(docId, termFrequency);
+        }
+    }
+
+    /**
+     * Adds {@code weight * tf / (tf + norm)} to the score of every document listed and not removed, the saturating term
+     * frequency part of BM25 with {@code norm} the document's length normalization. Decodes inline rather than through
+     * {@link #forEach}, this is the loop every search spends its time in.
+     */
+    void accumulate(float weight, float[] norms, BitSet removed, float[] scores) {
+        byte[] bytes = this.bytes;
+        boolean anyRemoved = !removed.isEmpty();
+        int position = 0;
+        int docId = 0;
+        while (position < length) {
+            int gap = bytes[position++];
+            if (gap < 0) {
+                gap &= 0x7F;
+                for (int shift = 7; ; shift += 7) {
+                    byte b = bytes[position++];
+                    gap |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+            }
+            int termFrequency = bytes[position++];
+            if (termFrequency < 0) {
+                termFrequency &= 0x7F;
+                for (int shift = 7; ; shift += 7) {
+                    byte b = bytes[position++];
+                    termFrequency |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+            }
+            docId += gap;
+            if (anyRemoved && removed.get(docId)) continue;
+            scores[docId] += weight * termFrequency / (termFrequency + norms[docId]);
+        }
+    }
+
+    int docFrequency() {
+        return docFrequency;
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(docFrequency);
+        output.writeInt(lastDocId);
+        output.writeInt(length);
+        output.write(bytes, 0, length);
+    }
+
+    static Postings readFrom(DataInput input) throws IOException {
+        int docFrequency = input.readInt();
+        int lastDocId = input.readInt();
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new Postings(bytes, bytes.length, lastDocId, docFrequency);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+}
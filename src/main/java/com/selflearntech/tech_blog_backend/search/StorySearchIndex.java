@@ -0,0 +1,358 @@
+package com.selflearntech.tech_blog_backend.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of published stories, ranked with BM25. Title, tags and body are indexed as one weighted
+ * field, a term in the title counting {@value #TITLE_WEIGHT} times and in a tag {@value #TAG_WEIGHT} times (BM25F
+ * with a shared length normalization), so that a query word in the title outranks the same word deep in a body.
+ * Queries match any of their terms; stories matching more of them, and rarer ones, rank higher.
+ * <p>
+ * Stories are numbered in the order they were indexed and {@link Postings} list them in that order. Re-indexing an
+ * edited story or removing one only marks its old number removed; once removed numbers make up a quarter of the
+ * index it is compacted, renumbering the live stories and rewriting every postings list without the removed ones.
+ * <p>
+ * Safe for concurrent use: searches share a read lock, updates take the write lock for the time it takes to append
+ * the already analyzed story.
+ */
+public class StorySearchIndex {
+
+    public record Hit(String storyId, float score) {
+    }
+
+    // length normalization of every document as of a number of modifications
+    private record Norms(float[] values, long modifications) {
+    }
+
+    static final int TITLE_WEIGHT = 3;
+    static final int TAG_WEIGHT = 2;
+    static final int BODY_WEIGHT = 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_REMOVED_BEFORE_COMPACTION = 1024;
+    private static final int SNAPSHOT_MAGIC = 0x53534958;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private final EnglishAnalyzer analyzer = new EnglishAnalyzer();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> terms = new HashMap<>();
+    // live stories only
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private String[] storyIds = new String[256];
+    private long[] versions = new long[256];
+    private int[] lengths = new int[256];
+    private BitSet removed = new BitSet();
+    private int nextDocId;
+    private long totalLength;
+    private long modifications;
+    // rebuilt by the first search after a change; searches racing to do it build the same values
+    private volatile Norms norms = new Norms(new float[0], -1);
+
+    /**
+     * Indexes a published story, replacing the version indexed so far.
+     *
+     * @return false if the same or a later version of the story is already indexed
+     */
+    public boolean put(String storyId, long version, String title, List<String> tags, String body) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = analyze(title, TITLE_WEIGHT, frequencies);
+        if (tags != null) {
+            for (String tag : tags) length += analyze(tag, TAG_WEIGHT, frequencies);
+        }
+        length += analyze(body, BODY_WEIGHT, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            Integer indexed = docIds.get(storyId);
+            if (indexed != null) {
+                if (versions[indexed] >= version) return false;
+                removeDoc(indexed);
+            }
+
+            int docId = nextDocId++;
+            if (docId == storyIds.length) grow();
+            storyIds[docId] = storyId;
+            versions[docId] = version;
+            lengths[docId] = length;
+            totalLength += length;
+            docIds.put(storyId, docId);
+            frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, key -> new Postings()).add(docId, frequency[0]));
+            modifications++;
+
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the story wasn't indexed
+     */
+    public boolean remove(String storyId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.get(storyId);
+            if (docId == null) return false;
+
+            removeDoc(docId);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the indexed version of the story, or -1 if it isn't indexed
+     */
+    public long version(String storyId) {
+        lock.readLock().lock();
+        try {
+            Integer docId = docIds.get(storyId);
+            return docId == null ? -1 : versions[docId];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best matches of the query, best first; ties go to the most recently indexed story.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        analyzer.analyze(query, queryTerms::add);
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            int live = docIds.size();
+            if (live == 0) return List.of();
+
+            float[] norms = norms();
+            float[] scores = new float[nextDocId];
+            for (String term : queryTerms) {
+                Postings postings = terms.get(term);
+                if (postings == null) continue;
+
+                int docFrequency = Math.min(postings.docFrequency(), live);
+                float idf = (float) Math.log(1 + (live - docFrequency + 0.5) / (docFrequency + 0.5));
+                postings.accumulate(idf * (K1 + 1), norms, removed, scores);
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grows with every change, for telling whether the index changed since a point in time.
+     */
+    public long modifications() {
+        lock.readLock().lock();
+        try {
+            return modifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        lock.readLock().lock();
+        try {
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_FORMAT);
+            output.writeInt(nextDocId);
+            for (int docId = 0; docId < nextDocId; docId++) {
+                boolean live = !removed.get(docId);
+                output.writeBoolean(live);
+                if (!live) continue;
+                output.writeUTF(storyIds[docId]);
+                output.writeLong(versions[docId]);
+                output.writeInt(lengths[docId]);
+            }
+            output.writeInt(terms.size());
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                output.writeUTF(entry.getKey());
+                entry.getValue().writeTo(output);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @throws IOException if the input is not a snapshot {@link #writeTo} wrote
+     */
+    public static StorySearchIndex readFrom(DataInput input) throws IOException {
+        if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_FORMAT) {
+            throw new IOException("Not a story search index snapshot");
+        }
+
+        StorySearchIndex index = new StorySearchIndex();
+        int docCount = input.readInt();
+        index.storyIds = new String[Math.max(256, docCount)];
+        index.versions = new long[index.storyIds.length];
+        index.lengths = new int[index.storyIds.length];
+        for (int docId = 0; docId < docCount; docId++) {
+            if (!input.readBoolean()) {
+                index.removed.set(docId);
+                continue;
+            }
+            index.storyIds[docId] = input.readUTF();
+            index.versions[docId] = input.readLong();
+            index.lengths[docId] = input.readInt();
+            index.totalLength += index.lengths[docId];
+            index.docIds.put(index.storyIds[docId], docId);
+        }
+        index.nextDocId = docCount;
+
+        int termCount = input.readInt();
+        for (int i = 0; i < termCount; i++) index.terms.put(input.readUTF(), Postings.readFrom(input));
+        return index;
+    }
+
+    // K1 * (1 - B + B * length / average length); with the read lock held
+    private float[] norms() {
+        Norms current = norms;
+        if (current.modifications() == modifications) return current.values();
+
+        float averageLength = Math.max(1, (float) totalLength / docIds.size());
+        float[] values = new float[nextDocId];
+        for (int docId = 0; docId < nextDocId; docId++) values[docId] = K1 * (1 - B + B * lengths[docId] / averageLength);
+        norms = new Norms(values, modifications);
+        return values;
+    }
+
+    private int analyze(String text, int weight, Map<String, int[]> frequencies) {
+        int[] length = {0};
+        analyzer.analyze(text, term -> {
+            frequencies.computeIfAbsent(term, key -> new int[1])[0] += weight;
+            length[0] += weight;
+        });
+        return length[0];
+    }
+
+    private void removeDoc(int docId) {
+        removed.set(docId);
+        docIds.remove(storyIds[docId]);
+        totalLength -= lengths[docId];
+        modifications++;
+    }
+
+    private void compactIfNeeded() {
+        int removedCount = nextDocId - docIds.size();
+        if (removedCount < MIN_REMOVED_BEFORE_COMPACTION || removedCount * 4 < docIds.size()) return;
+
+        int[] renumbered = new int[nextDocId];
+        int next = 0;
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (removed.get(docId)) {
+                renumbered[docId] = -1;
+                continue;
+            }
+            // never past docId, so moving entries down in place doesn't overwrite one still to be moved
+            String storyId = storyIds[docId];
+            storyIds[next] = storyId;
+            versions[next] = versions[docId];
+            lengths[next] = lengths[docId];
+            docIds.put(storyId, next);
+            renumbered[docId] = next++;
+        }
+        Arrays.fill(storyIds, next, nextDocId, null);
+
+        Iterator<Map.Entry<String, Postings>> entries = terms.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Postings> entry = entries.next();
+            Postings compacted = new Postings();
+            entry.getValue().forEach((docId, termFrequency) -> {
+                if (renumbered[docId] >= 0) compacted.add(renumbered[docId], termFrequency);
+            });
+            if (compacted.docFrequency() == 0) entries.remove();
+            else entry.setValue(compacted);
+        }
+
+        removed = new BitSet();
+        nextDocId = next;
+    }
+
+    private void grow() {
+        int capacity = storyIds.length + (storyIds.length >> 1);
+        storyIds = Arrays.copyOf(storyIds, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    private List<Hit> topHits(float[] scores, int limit) {
+        // min-heap of the best documents so far, the weakest on top
+        int[] heap = new int[Math.min(limit, scores.length)];
+        int size = 0;
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (scores[docId] <= 0) continue;
+            if (size < heap.length) {
+                heap[size] = docId;
+                siftUp(heap, size++, scores);
+            } else if (ranksAbove(docId, heap[0], scores)) {
+                heap[0] = docId;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        // popping the weakest each time fills the hits from the back
+        Hit[] hits = new Hit[size];
+        while (size > 0) {
+            int docId = heap[0];
+            hits[size - 1] = new Hit(storyIds[docId], scores[docId]);
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return List.of(hits);
+    }
+
+    private static boolean ranksAbove(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || scores[a] == scores[b] && a > b;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], heap[index], scores)) return;
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksAbove(heap[weakest], heap[left], scores)) weakest = left;
+            if (right < size && ranksAbove(heap[weakest], heap[right], scores)) weakest = right;
+            if (weakest == index) return;
+            swap(heap, index, weakest);
+            index = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,164 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mints access tokens without going through {@code JwtEncoder}: our access tokens always carry the same claims, so the
+ * encoded JOSE header is built once per signing key, the {@code roles} claim once per role combination, and
+ * initialised {@link Signature} instances are pooled per key instead of being created for every token.
+ * <p>
+ * Roles are passed as a bit mask of {@link RoleType} ordinals (see {@link #roleMask}). The signature pool is shared
+ * rather than thread-local so that it stays bounded when requests run on virtual threads. Every token gets a random
+ * {@code jti} so that it can be revoked on its own, and the {@code sid} of the session (refresh token family) it was
+ * issued for.
+ */
+@Component
+public class AccessTokenMinter {
+
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofSeconds(10);
+
+    private static final String ISSUER = "self";
+    private static final int SIGNATURE_POOL_SIZE = 64;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final RoleType[] ROLE_TYPES = RoleType.values();
+    private static final String[] ROLES_CLAIMS = rolesClaims();
+
+    private record MintingKey(String kid, JwtAlgorithm algorithm, PrivateKey privateKey, byte[] encodedHeader,
+                              BlockingQueue<Signature> signatures) {
+    }
+
+    private final SigningKeyManager signingKeyManager;
+    private volatile MintingKey mintingKey;
+
+    public AccessTokenMinter(SigningKeyManager signingKeyManager) {
+        this.signingKeyManager = signingKeyManager;
+    }
+
+    public static int roleBit(String role) {
+        return 1 << RoleType.valueOf(role).ordinal();
+    }
+
+    public static int roleMask(Collection<String> roles) {
+        int mask = 0;
+        for (String role : roles) mask |= roleBit(role);
+        return mask;
+    }
+
+    public String mint(String subject, int roleMask, UUID sessionId, Instant issuedAt, Instant expiresAt) {
+        MintingKey key = mintingKey();
+
+        StringBuilder payload = new StringBuilder(192 + subject.length())
+                .append("{\"iss\":\"").append(ISSUER)
+                .append("\",\"sub\":\"");
+        appendJsonEscaped(payload, subject);
+        payload.append("\",\"jti\":\"").append(jti());
+        if (sessionId != null) payload.append("\",\"sid\":\"").append(sessionId);
+        payload.append('"')
+                .append(",\"iat\":").append(issuedAt.getEpochSecond())
+                .append(",\"exp\":").append(expiresAt.getEpochSecond())
+                .append(ROLES_CLAIMS[roleMask])
+                .append('}');
+
+        byte[] encodedPayload = BASE64_URL.encode(payload.toString().getBytes(StandardCharsets.UTF_8));
+        int signingInputLength = key.encodedHeader().length + 1 + encodedPayload.length;
+        byte[] signingInput = new byte[signingInputLength];
+        System.arraycopy(key.encodedHeader(), 0, signingInput, 0, key.encodedHeader().length);
+        signingInput[key.encodedHeader().length] = '.';
+        System.arraycopy(encodedPayload, 0, signingInput, key.encodedHeader().length + 1, encodedPayload.length);
+
+        byte[] encodedSignature = BASE64_URL.encode(sign(key, signingInput));
+        byte[] token = Arrays.copyOf(signingInput, signingInputLength + 1 + encodedSignature.length);
+        token[signingInputLength] = '.';
+        System.arraycopy(encodedSignature, 0, token, signingInputLength + 1, encodedSignature.length);
+
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    // 128 random bits; they only have to be unique, so no SecureRandom on the hot path
+    private static String jti() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] id = new byte[16];
+        long high = random.nextLong();
+        long low = random.nextLong();
+        for (int i = 0; i < 8; i++) {
+            id[i] = (byte) (high >>> (56 - 8 * i));
+            id[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        return BASE64_URL.encodeToString(id);
+    }
+
+    private byte[] sign(MintingKey key, byte[] signingInput) {
+        Signature signature = key.signatures().poll();
+
+        try {
+            if (signature == null) {
+                signature = Signature.getInstance(key.algorithm().signatureAlgorithm());
+                signature.initSign(key.privateKey());
+            }
+            signature.update(signingInput);
+            // sign() resets the instance to its initialised state, ready for the next token
+            byte[] signed = key.algorithm().toJwsSignature(signature.sign());
+            key.signatures().offer(signature);
+            return signed;
+        } catch (GeneralSecurityException | JOSEException ex) {
+            throw new JwtEncodingException("Failed to sign the access token: " + ex.getMessage(), ex);
+        }
+    }
+
+    private MintingKey mintingKey() {
+        SigningKey active = signingKeyManager.activeSigningKey();
+        MintingKey current = mintingKey;
+
+        if (current == null || !current.kid().equals(active.kid())) {
+            String header = "{\"kid\":\"" + active.kid() + "\",\"alg\":\"" + active.algorithm().getName() + "\"}";
+            current = new MintingKey(active.kid(), active.algorithm(), active.keyPair().getPrivate(),
+                    BASE64_URL.encode(header.getBytes(StandardCharsets.UTF_8)), new ArrayBlockingQueue<>(SIGNATURE_POOL_SIZE));
+            mintingKey = current;
+        }
+        return current;
+    }
+
+    private static String[] rolesClaims() {
+        String[] claims = new String[1 << ROLE_TYPES.length];
+
+        for (int mask = 0; mask < claims.length; mask++) {
+            StringJoiner roles = new StringJoiner(",", ",\"roles\":\"", "\"");
+            for (RoleType roleType : ROLE_TYPES) {
+                if ((mask & (1 << roleType.ordinal())) != 0) roles.add(roleType.name());
+            }
+            claims[mask] = roles.toString();
+        }
+        return claims;
+    }
+
+    private static void appendJsonEscaped(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code auth.login} and {@code auth.refresh} timers, tagged with a fixed set of outcomes so that failures can be told
+ * apart without putting messages or user data into tags. The timers are registered up front, so every outcome shows
+ * up (at zero) from the first scrape.
+ */
+@Component
+public class AuthenticationMetrics {
+
+    public enum LoginOutcome {
+        SUCCESS, BAD_CREDENTIALS, REJECTED, ERROR
+    }
+
+    public enum RefreshOutcome {
+        SUCCESS, EXPIRED, INVALIDATED, REUSED, MISMATCH, DECODE_FAILURE, INVALID;
+
+        // the reason is the ErrorMessages constant the RefreshTokenException message ends with
+        public static RefreshOutcome of(String message) {
+            if (message == null) return INVALID;
+            if (message.endsWith(ErrorMessages.EXPIRED_REFRESH_TOKEN)) return EXPIRED;
+            if (message.endsWith(ErrorMessages.INVALIDATED_REFRESH_TOKEN)) return INVALIDATED;
+            if (message.endsWith(ErrorMessages.REUSED_REFRESH_TOKEN)) return REUSED;
+            if (message.endsWith(ErrorMessages.COOKIE_REFRESH_TOKEN_AND_DB_TOKEN_UNMATCH)) return MISMATCH;
+            if (message.endsWith(ErrorMessages.FAIL_TOKEN_DECODE)) return DECODE_FAILURE;
+            return INVALID;
+        }
+    }
+
+    private final Map<LoginOutcome, Timer> login = new EnumMap<>(LoginOutcome.class);
+    private final Map<RefreshOutcome, Timer> refresh = new EnumMap<>(RefreshOutcome.class);
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            login.put(outcome, Timer.builder("auth.login")
+                    .description("Logins by outcome, including password verification and token issuing")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (RefreshOutcome outcome : RefreshOutcome.values()) {
+            refresh.put(outcome, Timer.builder("auth.refresh")
+                    .description("Access token refreshes by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordLogin(LoginOutcome outcome, long startNanos) {
+        login.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRefresh(RefreshOutcome outcome, long startNanos) {
+        refresh.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that hands the expensive calls of its delegate to the {@link PasswordHashingEngine}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingEngine engine;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingEngine engine) {
+        this.delegate = delegate;
+        this.engine = engine;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return engine.execute(PasswordHashingEngine.Operation.ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return engine.execute(PasswordHashingEngine.Operation.MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
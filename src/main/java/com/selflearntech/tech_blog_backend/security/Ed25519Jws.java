@@ -0,0 +1,75 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.impl.BaseJWSProvider;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Set;
+
+/**
+ * EdDSA (Ed25519) JWS signer and verifier backed by the JDK's {@code Ed25519} signature provider.
+ */
+final class Ed25519Jws {
+
+    private static final String SIGNATURE_ALGORITHM = "Ed25519";
+
+    private Ed25519Jws() {
+    }
+
+    static final class Signer extends BaseJWSProvider implements JWSSigner {
+
+        private final PrivateKey privateKey;
+
+        Signer(PrivateKey privateKey) {
+            super(Set.of(JWSAlgorithm.EdDSA));
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+            try {
+                Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+                signature.initSign(privateKey);
+                signature.update(signingInput);
+                return Base64URL.encode(signature.sign());
+            } catch (GeneralSecurityException ex) {
+                throw new JOSEException("Ed25519 signing failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    static final class Verifier extends BaseJWSProvider implements JWSVerifier {
+
+        private final PublicKey publicKey;
+
+        Verifier(PublicKey publicKey) {
+            super(Set.of(JWSAlgorithm.EdDSA));
+            this.publicKey = publicKey;
+        }
+
+        @Override
+        public boolean verify(JWSHeader header, byte[] signingInput, Base64URL signature) throws JOSEException {
+            if (!JWSAlgorithm.EdDSA.equals(header.getAlgorithm())) return false;
+
+            try {
+                Signature verifier = Signature.getInstance(SIGNATURE_ALGORITHM);
+                verifier.initVerify(publicKey);
+                verifier.update(signingInput);
+                return verifier.verify(signature.decode());
+            } catch (SignatureException ex) {
+                return false;
+            } catch (GeneralSecurityException ex) {
+                throw new JOSEException("Ed25519 verification failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
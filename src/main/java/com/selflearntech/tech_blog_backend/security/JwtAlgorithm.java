@@ -0,0 +1,163 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.util.Base64URL;
+import com.selflearntech.tech_blog_backend.utils.KeyGeneratorUtility;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The algorithms tokens can be signed with ({@code selflearntech.jwt.signing-keys.algorithm}). Each one knows how to
+ * generate its key pairs, publish them as a JWK and sign or verify with them.
+ * <p>
+ * Ed25519 is signed and verified with the JDK provider, as the Nimbus EdDSA implementation needs Tink on the
+ * classpath.
+ */
+public enum JwtAlgorithm implements JwsAlgorithm {
+
+    RS256(JWSAlgorithm.RS256, "RSA", "SHA256withRSA") {
+        @Override
+        public KeyPair generateKeyPair() {
+            return KeyGeneratorUtility.generateRsaKey();
+        }
+
+        @Override
+        JWK publicJwk(String kid, PublicKey publicKey) {
+            return new RSAKey.Builder((RSAPublicKey) publicKey).keyID(kid).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm()).build();
+        }
+
+        @Override
+        public JWSSigner signer(PrivateKey privateKey) {
+            return new RSASSASigner(privateKey);
+        }
+
+        @Override
+        public JWSVerifier verifier(PublicKey publicKey) {
+            return new RSASSAVerifier((RSAPublicKey) publicKey);
+        }
+    },
+
+    ES256(JWSAlgorithm.ES256, "EC", "SHA256withECDSA") {
+        @Override
+        public KeyPair generateKeyPair() {
+            return KeyGeneratorUtility.generateEcKey();
+        }
+
+        @Override
+        JWK publicJwk(String kid, PublicKey publicKey) {
+            return new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey).keyID(kid).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm()).build();
+        }
+
+        @Override
+        public JWSSigner signer(PrivateKey privateKey) throws JOSEException {
+            return new ECDSASigner((ECPrivateKey) privateKey);
+        }
+
+        @Override
+        public JWSVerifier verifier(PublicKey publicKey) throws JOSEException {
+            return new ECDSAVerifier((ECPublicKey) publicKey);
+        }
+
+        // JCA produces ASN.1 DER, JWS wants R and S concatenated
+        @Override
+        public byte[] toJwsSignature(byte[] signature) throws JOSEException {
+            return ECDSA.transcodeSignatureToConcat(signature, ECDSA.getSignatureByteArrayLength(jwsAlgorithm()));
+        }
+    },
+
+    ED25519(JWSAlgorithm.EdDSA, "Ed25519", "Ed25519") {
+        // X.509 encoding of an Ed25519 public key: fixed 12 byte prefix followed by the 32 byte key
+        private static final int RAW_KEY_LENGTH = 32;
+
+        @Override
+        public KeyPair generateKeyPair() {
+            return KeyGeneratorUtility.generateEd25519Key();
+        }
+
+        @Override
+        JWK publicJwk(String kid, PublicKey publicKey) {
+            byte[] encoded = publicKey.getEncoded();
+            byte[] x = Arrays.copyOfRange(encoded, encoded.length - RAW_KEY_LENGTH, encoded.length);
+            return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x)).keyID(kid).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm()).build();
+        }
+
+        @Override
+        public JWSSigner signer(PrivateKey privateKey) {
+            return new Ed25519Jws.Signer(privateKey);
+        }
+
+        @Override
+        public JWSVerifier verifier(PublicKey publicKey) {
+            return new Ed25519Jws.Verifier(publicKey);
+        }
+    };
+
+    private final JWSAlgorithm jwsAlgorithm;
+    private final String keyAlgorithm;
+    private final String signatureAlgorithm;
+
+    JwtAlgorithm(JWSAlgorithm jwsAlgorithm, String keyAlgorithm, String signatureAlgorithm) {
+        this.jwsAlgorithm = jwsAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public static Optional<JwtAlgorithm> from(JWSAlgorithm jwsAlgorithm) {
+        return Arrays.stream(values()).filter(algorithm -> algorithm.jwsAlgorithm.equals(jwsAlgorithm)).findFirst();
+    }
+
+    @Override
+    public String getName() {
+        return jwsAlgorithm.getName();
+    }
+
+    public JWSAlgorithm jwsAlgorithm() {
+        return jwsAlgorithm;
+    }
+
+    /**
+     * JCA name of the key type, as used for {@code KeyFactory} and {@code KeyPairGenerator}.
+     */
+    public String keyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * JCA name of the {@code Signature} algorithm producing this JWS algorithm's signatures.
+     */
+    public String signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Converts the output of a {@link #signatureAlgorithm()} {@code Signature} into the JWS signature bytes.
+     */
+    public byte[] toJwsSignature(byte[] signature) throws JOSEException {
+        return signature;
+    }
+
+    public abstract KeyPair generateKeyPair();
+
+    abstract JWK publicJwk(String kid, PublicKey publicKey);
+
+    public abstract JWSSigner signer(PrivateKey privateKey) throws JOSEException;
+
+    public abstract JWSVerifier verifier(PublicKey publicKey) throws JOSEException;
+}
@@ -0,0 +1,115 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.PasswordHashingProperties;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on its own bounded pool so that a burst of logins or registrations cannot tie up every
+ * request thread on BCrypt. Once all workers are busy and the queue is full, work is rejected immediately with a
+ * {@link PasswordHashingRejectedException}, which is answered with 429 and a Retry-After header.
+ * <p>
+ * The workers stay platform threads when requests run on virtual threads: hashing is CPU-bound, and the size of
+ * this pool is what keeps it from taking every core.
+ */
+@Component
+public class PasswordHashingEngine {
+
+    public enum Operation {
+        ENCODE("encode"), MATCHES("matches");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingEngine(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = properties.getRetryAfter();
+
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers currently hashing")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time a password hash spent queued before a worker picked it up")
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, Operation.ENCODE);
+        this.matchesTimer = hashTimer(meterRegistry, Operation.MATCHES);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password hashes rejected because the pool and queue were full")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Operation operation, Supplier<T> task) {
+        Timer hashTimer = operation == Operation.ENCODE ? encodeTimer : matchesTimer;
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException(ErrorMessages.TOO_MANY_REQUESTS, retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, Operation operation) {
+        return Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation.tag)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,171 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Applies the {@link RateLimiter} limits to POST requests, before authentication so that throttled requests cost no
+ * password hash or token verification. The client address is always limited; the {@code email} of a JSON body is
+ * limited too if the endpoint has an email limit (the bytes read are served again to the controller). Those endpoints
+ * refuse bodies too large to peek at with 413, so padding the body can't get past the email limit. Throttled requests
+ * get 429 with a Retry-After header.
+ * <p>
+ * The client address is {@link HttpServletRequest#getRemoteAddr()}. Behind a load balancer it is only the client's
+ * with {@code server.forward-headers-strategy: native}, which takes it from X-Forwarded-For sent by a trusted proxy.
+ * <p>
+ * Not a bean on purpose: Spring Boot would also register it as a servlet filter. {@code SecurityConfig} adds it to the
+ * security filter chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_PEEKED_BODY = 4096;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Endpoint endpoint = rateLimiter.endpointFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterMs = rateLimiter.tryAcquire(endpoint, RateLimiter.Dimension.IP, request.getRemoteAddr());
+        if (retryAfterMs == 0 && endpoint.limits(RateLimiter.Dimension.EMAIL)) {
+            PeekedRequest peeked = new PeekedRequest(request);
+            request = peeked;
+            if (!peeked.complete) {
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE, ErrorMessages.REQUEST_BODY_TOO_LARGE);
+                return;
+            }
+
+            String email = peeked.email(objectMapper);
+            if (email != null) retryAfterMs = rateLimiter.tryAcquire(endpoint, RateLimiter.Dimension.EMAIL, email);
+        }
+
+        if (retryAfterMs > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMs + 999) / 1000)));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, ErrorMessages.TOO_MANY_REQUESTS);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    /**
+     * Reads up to {@link #MAX_PEEKED_BODY} bytes ahead and serves them, followed by the rest of the body, to whoever
+     * reads the request next.
+     */
+    private static class PeekedRequest extends HttpServletRequestWrapper {
+
+        private final byte[] peeked;
+        private final boolean complete;
+        private final ServletInputStream inputStream;
+
+        PeekedRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            this.peeked = original.readNBytes(MAX_PEEKED_BODY + 1);
+            this.complete = peeked.length <= MAX_PEEKED_BODY;
+            this.inputStream = new PeekedInputStream(new SequenceInputStream(new ByteArrayInputStream(peeked), original), original);
+        }
+
+        // null for bodies that are not a JSON object with a textual email
+        String email(ObjectMapper objectMapper) {
+            if (peeked.length == 0) return null;
+            try {
+                JsonNode email = objectMapper.readTree(peeked).get("email");
+                return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(inputStream, encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+
+    private static class PeekedInputStream extends ServletInputStream {
+
+        private final InputStream delegate;
+        private final ServletInputStream original;
+        private boolean finished;
+
+        PeekedInputStream(InputStream delegate, ServletInputStream original) {
+            this.delegate = delegate;
+            this.original = original;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = delegate.read();
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            original.setReadListener(readListener);
+        }
+    }
+}
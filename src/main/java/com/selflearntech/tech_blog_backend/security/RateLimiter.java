@@ -0,0 +1,119 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.RateLimitProperties;
+import com.selflearntech.tech_blog_backend.utils.KeyHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-client and per-account request limits for the configured endpoints, kept in one {@link TokenBucketTable} for the
+ * whole node. Rejections are counted in {@code rate.limit.rejected}, tagged with the endpoint and the limit that
+ * triggered.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Dimension {
+        IP, EMAIL;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Rate(long intervalMs, long burstMs) {
+
+        static Rate of(RateLimitProperties.Limit limit) {
+            if (limit == null) return null;
+            long intervalMs = Math.max(1, limit.getPeriod().toMillis() / Math.max(1, limit.getCapacity()));
+            return new Rate(intervalMs, (Math.max(1, limit.getCapacity()) - 1) * intervalMs);
+        }
+    }
+
+    public static final class Endpoint {
+
+        private final String name;
+        private final String path;
+        private final Rate ip;
+        private final Rate email;
+        private final Counter ipRejections;
+        private final Counter emailRejections;
+
+        private Endpoint(String name, RateLimitProperties.Endpoint properties, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.path = properties.getPath();
+            this.ip = Rate.of(properties.getIp());
+            this.email = Rate.of(properties.getEmail());
+            this.ipRejections = rejections(meterRegistry, name, Dimension.IP);
+            this.emailRejections = rejections(meterRegistry, name, Dimension.EMAIL);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean limits(Dimension dimension) {
+            return rate(dimension) != null;
+        }
+
+        private Rate rate(Dimension dimension) {
+            return dimension == Dimension.IP ? ip : email;
+        }
+
+        private Counter rejections(Dimension dimension) {
+            return dimension == Dimension.IP ? ipRejections : emailRejections;
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String endpoint, Dimension dimension) {
+            return Counter.builder("rate.limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("endpoint", endpoint)
+                    .tag("key", dimension.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    private final Map<String, Endpoint> endpointsByPath = new HashMap<>();
+    private final TokenBucketTable table;
+    private final Clock clock;
+    private final long epochMillis;
+
+    public RateLimiter(RateLimitProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        if (properties.isEnabled()) {
+            properties.getEndpoints().forEach((name, endpoint) ->
+                    endpointsByPath.put(endpoint.getPath(), new Endpoint(name, endpoint, meterRegistry)));
+        }
+        this.table = new TokenBucketTable(properties.getSlots(), properties.getStripes());
+        this.clock = clock;
+        // bucket times are stored relative to startup, in the 44 bits the table has for them
+        this.epochMillis = clock.millis() - 1;
+    }
+
+    /**
+     * The limits for a request path, or null if it isn't limited.
+     */
+    public Endpoint endpointFor(String path) {
+        return endpointsByPath.get(path);
+    }
+
+    /**
+     * Takes a request from the key's bucket.
+     *
+     * @return 0 if the request may go ahead, otherwise the milliseconds until it would be allowed
+     */
+    public long tryAcquire(Endpoint endpoint, Dimension dimension, String key) {
+        Rate rate = endpoint.rate(dimension);
+        if (rate == null) return 0;
+
+        long keyHash = KeyHash.hash(endpoint.name + '|' + dimension.tag(), key);
+        long retryAfterMs = table.tryAcquire(keyHash, rate.intervalMs(), rate.burstMs(), clock.millis() - epochMillis);
+        if (retryAfterMs > 0) endpoint.rejections(dimension).increment();
+        return retryAfterMs;
+    }
+}
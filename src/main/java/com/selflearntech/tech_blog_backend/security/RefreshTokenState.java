@@ -0,0 +1,46 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.Token;
+import com.selflearntech.tech_blog_backend.model.User;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot of everything {@code /auth/refresh} needs to rotate a refresh token and mint a new access token once the
+ * token has been matched against the database.
+ */
+public record RefreshTokenState(
+        Integer userId,
+        Integer tokenId,
+        UUID familyId,
+        String email,
+        String firstName,
+        String lastName,
+        String profileImg,
+        Set<String> roles,
+        Instant expireTime,
+        boolean valid,
+        Instant rotatedAt) {
+
+    public static RefreshTokenState of(User user, Token token) {
+        Set<String> roles = user.getAuthorities().stream()
+                .map(Role::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new RefreshTokenState(user.getUserId(), token.getTokenId(), token.getFamilyId(), user.getEmail(),
+                user.getFirstName(), user.getLastName(), user.getProfileImg(), roles, token.getExpireTime(),
+                token.isValid(), token.getRotatedAt());
+    }
+
+    /**
+     * State of the valid token issued in exchange for this one.
+     */
+    public RefreshTokenState successor(Integer tokenId, Instant expireTime) {
+        return new RefreshTokenState(userId, tokenId, familyId, email, firstName, lastName, profileImg, roles,
+                expireTime, true, null);
+    }
+}
@@ -0,0 +1,117 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.selflearntech.tech_blog_backend.config.RefreshTokenCacheProperties;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of refresh token state keyed by the token digest, so that a steady-state {@code /auth/refresh}
+ * neither re-verifies the JWT signature nor reads the database.
+ * <p>
+ * Entries expire with the refresh token itself (capped by {@code selflearntech.refresh-token-cache.maximum-ttl}) and
+ * are evicted when the token is rotated or revoked. A user has one entry per session, all of which go when the
+ * user's sessions are revoked. Hit/miss statistics are published as the
+ * {@code cache.*} meters tagged {@code cache=refreshTokenState}.
+ */
+@Component
+public class RefreshTokenStateCache {
+
+    public static final String CACHE_NAME = "refreshTokenState";
+
+    private final Cache<TokenDigest, RefreshTokenState> cache;
+    private final ConcurrentMap<Integer, Set<TokenDigest>> digestsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RefreshTokenStateCache(RefreshTokenCacheProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new RefreshTokenExpiry(clock, properties.getMaximumTtl()))
+                .removalListener((TokenDigest digest, RefreshTokenState state, RemovalCause cause) -> {
+                    if (digest != null && state != null && cause != RemovalCause.REPLACED) forgetDigest(state.userId(), digest);
+                })
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<RefreshTokenState> get(TokenDigest digest) {
+        return Optional.ofNullable(cache.getIfPresent(digest));
+    }
+
+    /**
+     * Marker to take before loading state from the database and to hand back to {@link #put}. Any eviction in
+     * between makes the loaded state potentially stale, in which case it is not cached.
+     */
+    public long epoch() {
+        return evictions.get();
+    }
+
+    public void put(TokenDigest digest, RefreshTokenState state, long epoch) {
+        if (evictions.get() != epoch) return;
+
+        // added inside compute, so that it can't land in a set forgetDigest is just dropping
+        digestsByUser.compute(state.userId(), (userId, digests) -> {
+            Set<TokenDigest> updated = digests != null ? digests : ConcurrentHashMap.newKeySet();
+            updated.add(digest);
+            return updated;
+        });
+        cache.put(digest, state);
+
+        // an eviction raced with the put above, drop what may be a stale entry
+        if (evictions.get() != epoch) cache.invalidate(digest);
+    }
+
+    public void evict(TokenDigest digest) {
+        evictions.incrementAndGet();
+        cache.invalidate(digest);
+    }
+
+    public void evictUser(Integer userId) {
+        evictions.incrementAndGet();
+        Set<TokenDigest> digests = digestsByUser.remove(userId);
+        if (digests != null) cache.invalidateAll(digests);
+    }
+
+    private void forgetDigest(Integer userId, TokenDigest digest) {
+        digestsByUser.computeIfPresent(userId, (id, digests) -> {
+            digests.remove(digest);
+            return digests.isEmpty() ? null : digests;
+        });
+    }
+
+    private record RefreshTokenExpiry(Clock clock, Duration maximumTtl) implements Expiry<TokenDigest, RefreshTokenState> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest digest, RefreshTokenState state, long currentTime) {
+            Duration untilExpiry = Duration.between(clock.instant(), state.expireTime());
+            if (untilExpiry.isNegative()) return 0;
+            return (untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry : maximumTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, RefreshTokenState state, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, state, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, RefreshTokenState state, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
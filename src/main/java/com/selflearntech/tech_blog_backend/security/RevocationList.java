@@ -0,0 +1,206 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.RevocationProperties;
+import com.selflearntech.tech_blog_backend.model.TokenRevocation;
+import com.selflearntech.tech_blog_backend.repository.TokenRevocationRepository;
+import com.selflearntech.tech_blog_backend.utils.BloomFilter;
+import com.selflearntech.tech_blog_backend.utils.KeyHash;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist of revoked access tokens, checked on every authenticated request without touching the database.
+ * <p>
+ * A revocation names either one token ({@code jti}) or every token of a subject issued up to a point in time. Both
+ * kinds go into a Bloom filter in front of exact maps, so the usual case, a token nobody revoked, costs a few bit
+ * probes; only Bloom hits (revoked tokens and false positives) look at the maps. Revocations only matter until the
+ * tokens they cover expire, so the filter is kept in two generations, each spanning an access token lifetime plus the
+ * allowed clock skew: every key is in the current or the previous generation for as long as it is needed, and a
+ * rotation drops the previous one as a whole.
+ * <p>
+ * Revocations are written to {@code token_revocations} and every node reloads the unexpired rows every
+ * {@code reload-interval}, which is how long a revocation takes to reach the other nodes and what survives restarts.
+ * A reloaded revocation also evicts the user's cached refresh token state. {@code jwt.revocation.checks} counts
+ * lookups by result ({@code negative}, {@code false_positive}, {@code revoked}).
+ */
+@Component
+@Slf4j
+public class RevocationList {
+
+    // JwtTimestampValidator's default, tokens are accepted this long past their exp
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+    private static final Duration RETENTION = AccessTokenMinter.ACCESS_TOKEN_TTL.plus(CLOCK_SKEW);
+    private static final String JTI = "jti";
+    private static final String SUBJECT = "sub";
+
+    private record Generation(BloomFilter filter, Instant startedAt) {
+    }
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final RefreshTokenStateCache refreshTokenStateCache;
+    private final RevocationProperties properties;
+    private final Clock clock;
+    // token id -> until when it has to be kept
+    private final ConcurrentMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // subject -> latest revocation of all its tokens
+    private final ConcurrentMap<String, TokenRevocation> revokedSubjects = new ConcurrentHashMap<>();
+    private final LongAdder negative = new LongAdder();
+    private final LongAdder falsePositive = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    private volatile Generation current;
+    private volatile Generation previous;
+    private volatile Instant lastReload = Instant.MIN;
+
+    public RevocationList(TokenRevocationRepository tokenRevocationRepository, RefreshTokenStateCache refreshTokenStateCache,
+                          RevocationProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.refreshTokenStateCache = refreshTokenStateCache;
+        this.properties = properties;
+        this.clock = clock;
+        this.current = newGeneration(clock.instant());
+        this.previous = newGeneration(clock.instant());
+
+        checksCounter(meterRegistry, "negative", negative);
+        checksCounter(meterRegistry, "false_positive", falsePositive);
+        checksCounter(meterRegistry, "revoked", revoked);
+        Gauge.builder("jwt.revocation.entries", this, list -> list.revokedTokens.size() + list.revokedSubjects.size())
+                .description("Revocations currently held in memory")
+                .register(meterRegistry);
+
+        reload();
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        boolean candidate = false;
+
+        String jti = jwt.getId();
+        if (jti != null && mightContain(KeyHash.hash(JTI, jti))) {
+            candidate = true;
+            if (revokedTokens.containsKey(jti)) return revoked();
+        }
+
+        String subject = jwt.getSubject();
+        if (subject != null && mightContain(KeyHash.hash(SUBJECT, subject))) {
+            candidate = true;
+            TokenRevocation revocation = revokedSubjects.get(subject);
+            // iat has second precision, so a token from the second of the revocation counts as revoked too
+            Instant issuedAt = jwt.getIssuedAt();
+            if (revocation != null && (issuedAt == null || issuedAt.getEpochSecond() <= revocation.getRevokedAt().getEpochSecond())) {
+                return revoked();
+            }
+        }
+
+        (candidate ? falsePositive : negative).increment();
+        return false;
+    }
+
+    /**
+     * Revokes a single access token until it expires.
+     */
+    public void revokeToken(Integer userId, Jwt jwt) {
+        Instant now = clock.instant();
+        Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt().plus(CLOCK_SKEW) : now.plus(RETENTION);
+
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .subject(jwt.getSubject())
+                .jti(jwt.getId())
+                .revokedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        add(revocation);
+    }
+
+    /**
+     * Revokes every access token of the subject issued so far.
+     */
+    public void revokeSubject(Integer userId, String subject) {
+        Instant now = clock.instant();
+
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .subject(subject)
+                .revokedAt(now)
+                .expiresAt(now.plus(RETENTION))
+                .build());
+        add(revocation);
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.revocation.reload-interval:PT5S}",
+            initialDelayString = "${selflearntech.revocation.reload-interval:PT5S}")
+    public void reload() {
+        Instant now = clock.instant();
+
+        if (!current.startedAt().plus(RETENTION).isAfter(now)) {
+            previous = current;
+            current = newGeneration(now);
+            revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            revokedSubjects.values().removeIf(revocation -> revocation.getExpiresAt().isBefore(now));
+            deleteExpired(now);
+        }
+
+        try {
+            // revocations made since the last reload (with a margin for slow commits) are news to this node
+            Instant seenUpTo = lastReload.equals(Instant.MIN) ? Instant.MIN : lastReload.minus(properties.getReloadInterval());
+            for (TokenRevocation revocation : tokenRevocationRepository.findByExpiresAtAfter(now)) {
+                add(revocation);
+                if (revocation.getRevokedAt().isAfter(seenUpTo)) refreshTokenStateCache.evictUser(revocation.getUserId());
+            }
+            lastReload = now;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to reload token revocations, keeping the ones already loaded", ex);
+        }
+    }
+
+    private void add(TokenRevocation revocation) {
+        if (revocation.getJti() != null) {
+            revokedTokens.merge(revocation.getJti(), revocation.getExpiresAt(), (a, b) -> a.isAfter(b) ? a : b);
+            current.filter().put(KeyHash.hash(JTI, revocation.getJti()));
+        } else {
+            revokedSubjects.merge(revocation.getSubject(), revocation,
+                    (a, b) -> a.getRevokedAt().isAfter(b.getRevokedAt()) ? a : b);
+            current.filter().put(KeyHash.hash(SUBJECT, revocation.getSubject()));
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        return current.filter().mightContain(hash) || previous.filter().mightContain(hash);
+    }
+
+    private boolean revoked() {
+        revoked.increment();
+        return true;
+    }
+
+    private void deleteExpired(Instant now) {
+        try {
+            tokenRevocationRepository.deleteExpired(now);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to delete expired token revocations", ex);
+        }
+    }
+
+    private Generation newGeneration(Instant startedAt) {
+        return new Generation(new BloomFilter(properties.getExpectedRevocations(), properties.getFalsePositiveProbability()), startedAt);
+    }
+
+    private static void checksCounter(MeterRegistry meterRegistry, String result, LongAdder count) {
+        FunctionCounter.builder("jwt.revocation.checks", count, LongAdder::sum)
+                .description("Access token revocation lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Converts the {@code roles} claim, {@link RoleType} names joined by commas as {@link AccessTokenMinter} writes it, into
+ * {@code ROLE_} authorities. Rather than splitting the claim and allocating authorities and a collection for every
+ * token, it hands out one immutable list per distinct claim value: every role combination is interned up front, other
+ * values (another order, roles outside {@link RoleType}) as they are first seen, up to a bound past which they are
+ * converted afresh each time.
+ */
+public class RoleAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private static final String AUTHORITY_PREFIX = "ROLE_";
+    private static final String DELIMITER = ",";
+    private static final int MAX_INTERNED = 256;
+
+    private final Map<RoleType, GrantedAuthority> roleAuthorities = new EnumMap<>(RoleType.class);
+    private final ConcurrentMap<String, List<GrantedAuthority>> interned = new ConcurrentHashMap<>();
+
+    public RoleAuthoritiesConverter() {
+        RoleType[] roleTypes = RoleType.values();
+        for (RoleType roleType : roleTypes) roleAuthorities.put(roleType, new SimpleGrantedAuthority(AUTHORITY_PREFIX + roleType.name()));
+
+        for (int mask = 0; mask < 1 << roleTypes.length; mask++) {
+            StringJoiner claim = new StringJoiner(DELIMITER);
+            for (RoleType roleType : roleTypes) {
+                if ((mask & (1 << roleType.ordinal())) != 0) claim.add(roleType.name());
+            }
+            interned.put(claim.toString(), parse(claim.toString()));
+        }
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object claim = jwt.getClaims().get(ROLES_CLAIM);
+        if (claim instanceof String roles) return authorities(roles);
+        if (claim instanceof Collection<?> roles) return authorities(String.join(DELIMITER, roles.stream().map(String::valueOf).toList()));
+        return List.of();
+    }
+
+    private List<GrantedAuthority> authorities(String roles) {
+        List<GrantedAuthority> authorities = interned.get(roles);
+        if (authorities != null) return authorities;
+
+        authorities = parse(roles);
+        if (interned.size() < MAX_INTERNED) interned.putIfAbsent(roles, authorities);
+        return authorities;
+    }
+
+    private List<GrantedAuthority> parse(String roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : roles.split(DELIMITER)) {
+            role = role.trim();
+            if (role.isEmpty()) continue;
+
+            GrantedAuthority authority = roleAuthority(role);
+            if (!authorities.contains(authority)) authorities.add(authority);
+        }
+        return List.copyOf(authorities);
+    }
+
+    private GrantedAuthority roleAuthority(String role) {
+        for (Map.Entry<RoleType, GrantedAuthority> entry : roleAuthorities.entrySet()) {
+            if (entry.getKey().name().equals(role)) return entry.getValue();
+        }
+        return new SimpleGrantedAuthority(AUTHORITY_PREFIX + role);
+    }
+}
@@ -0,0 +1,69 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code roles} rows, loaded once at startup. Roles are reference data that never change at runtime, so
+ * registration assigns them without a query. The loaded {@link Role}s are detached and only used as references.
+ * <p>
+ * A role missing from the snapshot triggers a reload, so roles seeded after startup are still picked up, but at most
+ * one every {@link #RELOAD_INTERVAL}: until then a missing role is reported missing without a query, so requests that
+ * need it don't each hit the database.
+ */
+@Component
+@Slf4j
+public class RoleCache {
+
+    static final Duration RELOAD_INTERVAL = Duration.ofSeconds(30);
+
+    private final RoleRepository roleRepository;
+    private final Clock clock;
+    // not synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Map<RoleType, Role> roles;
+    private Instant lastReload;
+
+    public RoleCache(RoleRepository roleRepository, Clock clock) {
+        this.roleRepository = roleRepository;
+        this.clock = clock;
+        this.roles = load();
+    }
+
+    public Optional<Role> get(RoleType roleType) {
+        Role role = roles.get(roleType);
+        if (role != null) return Optional.of(role);
+
+        reloadLock.lock();
+        try {
+            Instant now = clock.instant();
+            if (!roles.containsKey(roleType) && (lastReload == null || !now.isBefore(lastReload.plus(RELOAD_INTERVAL)))) {
+                lastReload = now;
+                roles = load();
+            }
+            return Optional.ofNullable(roles.get(roleType));
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Map<RoleType, Role> load() {
+        Map<RoleType, Role> loaded = new EnumMap<>(RoleType.class);
+        for (Role role : roleRepository.findAll()) loaded.put(RoleType.valueOf(role.getAuthority()), role);
+
+        log.info("Loaded roles {}", loaded.keySet());
+        return Collections.unmodifiableMap(loaded);
+    }
+}
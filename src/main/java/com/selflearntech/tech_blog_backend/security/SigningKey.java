@@ -0,0 +1,13 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.jwk.JWK;
+
+import java.security.KeyPair;
+import java.time.Instant;
+
+/**
+ * A signing key pair with its public JWK (as published on the JWKS endpoint) and its creation time, from which its
+ * activation and retirement are derived.
+ */
+public record SigningKey(String kid, Instant createdAt, JwtAlgorithm algorithm, KeyPair keyPair, JWK jwk) {
+}
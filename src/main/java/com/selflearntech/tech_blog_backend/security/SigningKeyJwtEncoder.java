@@ -0,0 +1,76 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.*;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Signs tokens with {@link SigningKeyManager#activeSigningKey()}, using whichever algorithm that key was generated for
+ * and setting its kid header.
+ * <p>
+ * Replaces {@code NimbusJwtEncoder}, whose signer factory cannot be extended with the JDK based Ed25519 signer. Only
+ * the {@code alg} of a requested {@link JwsHeader} is honoured, and it has to match the active key.
+ */
+public class SigningKeyJwtEncoder implements JwtEncoder {
+
+    private record ActiveSigner(String kid, JWSSigner signer) {
+    }
+
+    private final SigningKeyManager signingKeyManager;
+    private volatile ActiveSigner activeSigner;
+
+    public SigningKeyJwtEncoder(SigningKeyManager signingKeyManager) {
+        this.signingKeyManager = signingKeyManager;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        SigningKey key = signingKeyManager.activeSigningKey();
+        JwsHeader requestedHeader = parameters.getJwsHeader();
+
+        if (requestedHeader != null && !key.algorithm().getName().equals(requestedHeader.getAlgorithm().getName())) {
+            throw new JwtEncodingException("Requested " + requestedHeader.getAlgorithm().getName() + " but the active signing key is " + key.algorithm().getName());
+        }
+
+        JWSHeader header = new JWSHeader.Builder(key.algorithm().jwsAlgorithm()).keyID(key.kid()).build();
+        JwtClaimsSet claims = parameters.getClaims();
+        SignedJWT jwt = new SignedJWT(header, convert(claims));
+
+        try {
+            jwt.sign(signer(key));
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("Failed to sign the JWT: " + ex.getMessage(), ex);
+        }
+
+        return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), header.toJSONObject(), claims.getClaims());
+    }
+
+    // Only the active key signs, so a single cached signer is enough
+    private JWSSigner signer(SigningKey key) throws JOSEException {
+        ActiveSigner current = activeSigner;
+        if (current == null || !current.kid().equals(key.kid())) {
+            current = new ActiveSigner(key.kid(), key.algorithm().signer(key.keyPair().getPrivate()));
+            activeSigner = current;
+        }
+        return current.signer();
+    }
+
+    private static JWTClaimsSet convert(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : claims.getClaims().entrySet()) {
+            Object value = claim.getValue();
+            if (value instanceof Instant instant) value = Date.from(instant);
+            else if (value instanceof URL url) value = url.toExternalForm();
+            builder.claim(claim.getKey(), value);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,254 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.utils.PemKeyFiles;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the JWT signing keys: loads them from {@code selflearntech.jwt.signing-keys.directory}, generates a new key
+ * every rotation interval and drops keys once nothing they signed can still be valid.
+ * <p>
+ * A key is published (JWKS and verification) as soon as it exists, becomes the signing key after the activation
+ * delay, and is retired once its successor has been signing for the retention period. The creation time is part of
+ * the kid, so every node derives the same schedule from the directory contents alone. Changing the configured
+ * algorithm starts a rotation right away; keys of the previous algorithm stay published until they are retired.
+ */
+@Component
+@Slf4j
+public class SigningKeyManager {
+
+    private static final String PRIVATE_KEY_SUFFIX = ".key";
+    private static final String PUBLIC_KEY_SUFFIX = ".pub";
+    private static final DateTimeFormatter KID_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int KID_TIMESTAMP_LENGTH = 16;
+    private static final Duration FORCED_RELOAD_INTERVAL = Duration.ofSeconds(10);
+
+    public record Jwks(String json, String etag) {
+    }
+
+    private record KeyRing(List<SigningKey> keys, Jwks jwks) {
+    }
+
+    private final SigningKeyProperties properties;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    // a lock rather than synchronized, so request threads waiting on a reload don't pin virtual-thread carriers
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile KeyRing keyRing;
+    private volatile Instant lastReload = Instant.MIN;
+
+    public SigningKeyManager(SigningKeyProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.jwt.signing-keys.reload-interval:PT1M}",
+            initialDelayString = "${selflearntech.jwt.signing-keys.reload-interval:PT1M}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            reloadKeys();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadKeys() {
+        Instant now = clock.instant();
+        lastReload = now;
+
+        try {
+            Files.createDirectories(properties.getDirectory());
+            List<SigningKey> keys = loadKeys();
+
+            if (properties.isRotationEnabled() && isRotationDue(keys, now)) {
+                SigningKey key = generateKey(now);
+                keys.add(0, key);
+                log.info("Generated {} signing key {}, signing with it from {}", key.algorithm().getName(), key.kid(), activatesAt(key));
+            }
+
+            List<SigningKey> published = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0 && isRetired(keys.get(i - 1), now)) {
+                    if (properties.isRotationEnabled()) delete(keys.get(i));
+                } else {
+                    published.add(keys.get(i));
+                }
+            }
+
+            if (published.isEmpty()) {
+                throw new IllegalStateException("No signing keys in " + properties.getDirectory() + (properties.isRotationEnabled()
+                        ? "" : "; turn on selflearntech.jwt.signing-keys.rotation-enabled on the node that generates them"));
+            }
+
+            keyRing = keyRing(published);
+        } catch (IOException ex) {
+            if (keyRing == null) throw new UncheckedIOException("Failed to load signing keys from " + properties.getDirectory(), ex);
+            log.error("Failed to reload signing keys, keeping the previously loaded ones", ex);
+        }
+    }
+
+    /**
+     * The key new tokens are signed with: the newest key past its activation delay, or the longest published one if
+     * none is (only the case right after the very first key was generated).
+     */
+    public SigningKey activeSigningKey() {
+        Instant now = clock.instant();
+        List<SigningKey> keys = keyRing.keys();
+
+        for (SigningKey key : keys) {
+            if (!activatesAt(key).isAfter(now)) return key;
+        }
+        return keys.get(keys.size() - 1);
+    }
+
+    /**
+     * Public keys for the header's kid, as long as the key was generated for the header's algorithm. An unknown kid
+     * usually means another node generated a key this node has not loaded yet, so the directory is re-read (at most
+     * every few seconds) before giving up.
+     */
+    public List<PublicKey> selectVerificationKeys(JWSHeader header) {
+        List<PublicKey> keys = selectVerificationKeys(keyRing.keys(), header);
+
+        if (keys.isEmpty() && clock.instant().isAfter(lastReload.plus(FORCED_RELOAD_INTERVAL))) {
+            reload();
+            keys = selectVerificationKeys(keyRing.keys(), header);
+        }
+        return keys;
+    }
+
+    public Jwks publishedJwks() {
+        return keyRing.jwks();
+    }
+
+    private static List<PublicKey> selectVerificationKeys(List<SigningKey> keys, JWSHeader header) {
+        List<PublicKey> selected = new ArrayList<>(1);
+        for (SigningKey key : keys) {
+            if (key.algorithm().jwsAlgorithm().equals(header.getAlgorithm()) && (header.getKeyID() == null || header.getKeyID().equals(key.kid()))) {
+                selected.add(key.keyPair().getPublic());
+            }
+        }
+        return selected;
+    }
+
+    private boolean isRotationDue(List<SigningKey> keys, Instant now) {
+        if (keys.isEmpty()) return true;
+
+        SigningKey newest = keys.get(0);
+        return newest.algorithm() != properties.getAlgorithm() || newest.createdAt().plus(properties.getRotationInterval()).isBefore(now);
+    }
+
+    private Instant activatesAt(SigningKey key) {
+        return key.createdAt().plus(properties.getActivationDelay());
+    }
+
+    private boolean isRetired(SigningKey successor, Instant now) {
+        return activatesAt(successor).plus(properties.getRetention()).isBefore(now);
+    }
+
+    // Newest first. Keys already parsed on a previous reload are reused rather than read again.
+    private List<SigningKey> loadKeys() throws IOException {
+        Map<String, SigningKey> loaded = new HashMap<>();
+        if (keyRing != null) keyRing.keys().forEach(key -> loaded.put(key.kid(), key));
+
+        List<SigningKey> keys = new ArrayList<>();
+        try (DirectoryStream<Path> publicKeys = Files.newDirectoryStream(properties.getDirectory(), "*" + PUBLIC_KEY_SUFFIX)) {
+            for (Path publicKey : publicKeys) {
+                String fileName = publicKey.getFileName().toString();
+                String kid = fileName.substring(0, fileName.length() - PUBLIC_KEY_SUFFIX.length());
+                SigningKey key = loaded.containsKey(kid) ? loaded.get(kid) : readKey(kid);
+                if (key != null) keys.add(key);
+            }
+        }
+
+        keys.sort(Comparator.comparing(SigningKey::createdAt).thenComparing(SigningKey::kid).reversed());
+        return keys;
+    }
+
+    private SigningKey readKey(String kid) throws IOException {
+        Path privateKey = properties.getDirectory().resolve(kid + PRIVATE_KEY_SUFFIX);
+        Path publicKey = properties.getDirectory().resolve(kid + PUBLIC_KEY_SUFFIX);
+
+        try {
+            Instant createdAt = KID_TIMESTAMP.parse(kid.substring(0, Math.min(kid.length(), KID_TIMESTAMP_LENGTH)), Instant::from);
+
+            // the PEM files don't name the algorithm, so find the key factory that accepts them
+            for (JwtAlgorithm algorithm : JwtAlgorithm.values()) {
+                PublicKey key;
+                try {
+                    key = PemKeyFiles.readPublicKey(publicKey, algorithm.keyAlgorithm());
+                } catch (InvalidKeySpecException ex) {
+                    continue;
+                }
+                KeyPair keyPair = new KeyPair(key, PemKeyFiles.readPrivateKey(privateKey, algorithm.keyAlgorithm()));
+                return new SigningKey(kid, createdAt, algorithm, keyPair, algorithm.publicJwk(kid, key));
+            }
+            log.warn("Skipping signing key {} of an unsupported algorithm", kid);
+        } catch (DateTimeParseException | GeneralSecurityException | IOException ex) {
+            log.warn("Skipping unreadable signing key {}", kid, ex);
+        }
+        return null;
+    }
+
+    private SigningKey generateKey(Instant now) throws IOException {
+        byte[] suffix = new byte[3];
+        random.nextBytes(suffix);
+        String kid = KID_TIMESTAMP.format(now) + "-" + HexFormat.of().formatHex(suffix);
+        JwtAlgorithm algorithm = properties.getAlgorithm();
+        KeyPair keyPair = algorithm.generateKeyPair();
+
+        // public key last: a key only counts as present once its .pub file exists
+        PemKeyFiles.writePrivateKey(properties.getDirectory().resolve(kid + PRIVATE_KEY_SUFFIX), keyPair.getPrivate());
+        PemKeyFiles.writePublicKey(properties.getDirectory().resolve(kid + PUBLIC_KEY_SUFFIX), keyPair.getPublic());
+
+        return new SigningKey(kid, now, algorithm, keyPair, algorithm.publicJwk(kid, keyPair.getPublic()));
+    }
+
+    private void delete(SigningKey key) throws IOException {
+        Files.deleteIfExists(properties.getDirectory().resolve(key.kid() + PUBLIC_KEY_SUFFIX));
+        Files.deleteIfExists(properties.getDirectory().resolve(key.kid() + PRIVATE_KEY_SUFFIX));
+        log.info("Retired signing key {}", key.kid());
+    }
+
+    private static KeyRing keyRing(List<SigningKey> keys) {
+        String json = new JWKSet(keys.stream().map(SigningKey::jwk).toList()).toString();
+
+        return new KeyRing(List.copyOf(keys), new Jwks(json, etag(json)));
+    }
+
+    private static String etag(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates verifiers for every {@link JwtAlgorithm}, including Ed25519 which the default Nimbus factory cannot verify
+ * without Tink.
+ */
+public class SigningKeyVerifierFactory implements JWSVerifierFactory {
+
+    private static final Set<JWSAlgorithm> SUPPORTED_ALGORITHMS = Arrays.stream(JwtAlgorithm.values())
+            .map(JwtAlgorithm::jwsAlgorithm)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final JCAContext jcaContext = new JCAContext();
+
+    @Override
+    public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+        JwtAlgorithm algorithm = JwtAlgorithm.from(header.getAlgorithm())
+                .orElseThrow(() -> new JOSEException("Unsupported JWS algorithm " + header.getAlgorithm()));
+
+        try {
+            return algorithm.verifier((PublicKey) key);
+        } catch (ClassCastException ex) {
+            throw new JOSEException("Key does not match JWS algorithm " + header.getAlgorithm(), ex);
+        }
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        return SUPPORTED_ALGORITHMS;
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return jcaContext;
+    }
+}
@@ -0,0 +1,93 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.utils.KeyHash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free table of token buckets, so that memory stays bounded however many distinct keys show up.
+ * <p>
+ * A bucket is a single {@code long}: a 20-bit key fingerprint and the time (in milliseconds since the table was
+ * created) at which the bucket will be full again. Taking a token moves that time forward by one refill interval,
+ * and is allowed while it stays within {@code capacity - 1} intervals of now; every update is one CAS. A key hashes
+ * to a stripe and a short probe sequence within it. A bucket that has refilled is indistinguishable from a new one,
+ * so its slot is free for any key, which is all the eviction there is; when every probed slot holds a draining
+ * bucket, the one closest to refilled is taken over.
+ */
+public class TokenBucketTable {
+
+    private static final int PROBES = 4;
+    private static final int TIME_BITS = 44;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final int slotMask;
+
+    public TokenBucketTable(int slots, int stripes) {
+        int stripeCount = powerOfTwo(stripes);
+        int slotsPerStripe = powerOfTwo(Math.max(PROBES, slots / stripeCount));
+
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) this.stripes[i] = new AtomicLongArray(slotsPerStripe);
+        this.stripeMask = stripeCount - 1;
+        this.slotMask = slotsPerStripe - 1;
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @param keyHash    64-bit hash of the key, see {@link KeyHash}
+     * @param intervalMs time to refill one token
+     * @param burstMs    {@code (capacity - 1) * intervalMs}
+     * @param nowMs      current time in milliseconds, positive and below 2^44
+     * @return 0 if a token was taken, otherwise the milliseconds until one will be available
+     */
+    public long tryAcquire(long keyHash, long intervalMs, long burstMs, long nowMs) {
+        AtomicLongArray stripe = stripes[(int) (keyHash >>> 32) & stripeMask];
+        long fingerprint = Math.max(1, keyHash >>> TIME_BITS);
+        int start = (int) keyHash;
+
+        while (true) {
+            int slot = -1;
+            long current = 0;
+            long fullAt = 0;
+            int victim = -1;
+            long victimFullAt = Long.MAX_VALUE;
+
+            for (int probe = 0; probe < PROBES; probe++) {
+                int candidate = (start + probe) & slotMask;
+                long value = stripe.get(candidate);
+                long candidateFullAt = value & TIME_MASK;
+
+                if (value != 0 && value >>> TIME_BITS == fingerprint) {
+                    slot = candidate;
+                    current = value;
+                    fullAt = candidateFullAt;
+                    break;
+                }
+                if (candidateFullAt < victimFullAt) {
+                    victim = candidate;
+                    victimFullAt = candidateFullAt;
+                }
+            }
+
+            if (slot < 0) {
+                // the key has no bucket: start a full one in an empty, refilled or least drained slot
+                slot = victim;
+                current = stripe.get(slot);
+                fullAt = nowMs;
+            }
+
+            long wait = fullAt - nowMs - burstMs;
+            if (wait > 0) return wait;
+
+            long updated = fingerprint << TIME_BITS | (Math.max(fullAt, nowMs) + intervalMs) & TIME_MASK;
+            if (stripe.compareAndSet(slot, current, updated)) return 0;
+        }
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,136 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selflearntech.tech_blog_backend.config.VerifiedJwtCacheProperties;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Resource server authentication manager that verifies each bearer token once and then serves it from a cache of
+ * verified {@link Jwt}s and their converted authorities, keyed by the token digest.
+ * <p>
+ * Entries expire at the token's {@code exp} (capped by {@code selflearntech.verified-jwt-cache.maximum-ttl}); tokens
+ * that fail verification are never cached. A hit builds a fresh {@link JwtAuthenticationToken} since the filter sets
+ * request details on it. Besides the {@code cache.*} meters tagged {@code cache=verifiedJwt},
+ * {@code jwt.verification} (tagged {@code token=access}) times cache misses and {@code jwt.verification.saved} adds up
+ * the mean verification time skipped by each hit.
+ * <p>
+ * Revocation is checked against the {@link RevocationList} on hits as well as misses, since a cached token may have
+ * been revoked after it was first seen.
+ */
+@Component
+public class VerifiedJwtAuthenticationManager implements AuthenticationManager {
+
+    public static final String CACHE_NAME = "verifiedJwt";
+
+    private record VerifiedJwt(Jwt jwt, Collection<GrantedAuthority> authorities, String name) {
+    }
+
+    private final JwtAuthenticationProvider verifier;
+    private final RevocationList revocationList;
+    private final Cache<TokenDigest, VerifiedJwt> cache;
+    private final Timer verification;
+    private final DoubleAdder savedNanos = new DoubleAdder();
+
+    public VerifiedJwtAuthenticationManager(JwtDecoder jwtDecoder, JwtAuthenticationConverter jwtAuthenticationConverter,
+                                            RevocationList revocationList, VerifiedJwtCacheProperties properties,
+                                            Clock clock, MeterRegistry meterRegistry) {
+        this.verifier = new JwtAuthenticationProvider(jwtDecoder);
+        this.revocationList = revocationList;
+        this.verifier.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new JwtExpiry(clock, properties.getMaximumTtl()))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.verification = Timer.builder("jwt.verification")
+                .description("JWT signature and claims verification")
+                .tag("token", "access")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.verification.saved", savedNanos, saved -> saved.sum() / TimeUnit.SECONDS.toNanos(1))
+                .description("Estimated verification time skipped by verified-JWT cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        TokenDigest digest = TokenDigest.of(bearer.getToken());
+
+        VerifiedJwt verified = cache.getIfPresent(digest);
+        if (verified != null) {
+            if (revocationList.isRevoked(verified.jwt())) {
+                cache.invalidate(digest);
+                throw new InvalidBearerTokenException(ErrorMessages.REVOKED_ACCESS_TOKEN);
+            }
+            savedNanos.add(verification.mean(TimeUnit.NANOSECONDS));
+            JwtAuthenticationToken token = new JwtAuthenticationToken(verified.jwt(), verified.authorities(), verified.name());
+            token.setDetails(bearer.getDetails());
+            return token;
+        }
+
+        long start = System.nanoTime();
+        JwtAuthenticationToken token = (JwtAuthenticationToken) verifier.authenticate(bearer);
+        verification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (revocationList.isRevoked(token.getToken())) throw new InvalidBearerTokenException(ErrorMessages.REVOKED_ACCESS_TOKEN);
+        cache.put(digest, new VerifiedJwt(token.getToken(), token.getAuthorities(), token.getName()));
+        return token;
+    }
+
+    private record JwtExpiry(Clock clock, Duration maximumTtl) implements Expiry<TokenDigest, VerifiedJwt> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest digest, VerifiedJwt verified, long currentTime) {
+            Instant expiresAt = verified.jwt().getExpiresAt();
+            if (expiresAt == null) return maximumTtl.toNanos();
+
+            Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+            if (untilExpiry.isNegative()) return 0;
+            return (untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry : maximumTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, VerifiedJwt verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, VerifiedJwt verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
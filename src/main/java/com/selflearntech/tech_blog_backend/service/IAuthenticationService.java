@@ -1,13 +1,12 @@
 package com.selflearntech.tech_blog_backend.service;
 
 import com.selflearntech.tech_blog_backend.dto.RegistrationDTO;
-import com.selflearntech.tech_blog_backend.dto.UserDTO;
 import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
 
 public interface IAuthenticationService {
     void registerUser(RegistrationDTO registrationDTO);
 
-    UserWithRefreshAndAccessTokenDTO authenticateUser(String email, String password);
+    UserWithRefreshAndAccessTokenDTO authenticateUser(String email, String password, String device);
 
-    UserDTO refreshAccessToken(String token);
+    UserWithRefreshAndAccessTokenDTO refreshAccessToken(String token);
 }
@@ -0,0 +1,19 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.DraftDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftPatchDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.dto.NewDraftDTO;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public interface IDraftService {
+    DraftDTO createDraft(Jwt accessToken, NewDraftDTO newDraft);
+
+    DraftDTO getDraft(Jwt accessToken, String storyId);
+
+    DraftVersionDTO saveDraft(Jwt accessToken, String storyId, DraftPatchDTO patch);
+
+    void publishDraft(Jwt accessToken, String storyId);
+
+    void unpublishStory(Jwt accessToken, String storyId);
+}
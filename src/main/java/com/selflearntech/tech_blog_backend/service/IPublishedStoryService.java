@@ -0,0 +1,9 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.rendering.RenderedStory;
+
+public interface IPublishedStoryService {
+    RenderedStory getPublishedStory(String storyId);
+
+    void renderPublishedStory(String storyId);
+}
@@ -0,0 +1,21 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ISessionService {
+    List<SessionDTO> listSessions(Jwt accessToken);
+
+    List<SessionDTO> listSessions(Integer userId);
+
+    void revokeSession(Jwt accessToken, UUID sessionId);
+
+    void revokeSession(Integer userId, UUID sessionId);
+
+    void logout(Jwt accessToken);
+
+    void revokeAllSessions(Integer userId);
+}
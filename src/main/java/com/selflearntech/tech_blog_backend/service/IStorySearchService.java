@@ -0,0 +1,13 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+
+import java.util.List;
+
+public interface IStorySearchService {
+    List<StorySummaryDTO> search(String query, int size);
+
+    void indexStory(String storyId);
+
+    void removeStory(String storyId);
+}
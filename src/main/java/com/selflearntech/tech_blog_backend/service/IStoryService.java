@@ -0,0 +1,9 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.StoryPageDTO;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public interface IStoryService {
+    StoryPageDTO listStories(Jwt accessToken, StoryStatus status, String cursor, int size);
+}
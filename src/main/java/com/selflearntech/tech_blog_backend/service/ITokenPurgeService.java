@@ -0,0 +1,5 @@
+package com.selflearntech.tech_blog_backend.service;
+
+public interface ITokenPurgeService {
+    long purgeTokens();
+}
@@ -3,11 +3,17 @@ package com.selflearntech.tech_blog_backend.service;
 import com.selflearntech.tech_blog_backend.model.User;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
 public interface ITokenService {
 
-    String createAccessToken(User user);
+    String createAccessToken(User user, UUID sessionId);
+
+    String createAccessToken(String subject, Collection<String> roles, UUID sessionId);
 
-    String createRefreshToken(String subject);
+    String createRefreshToken(String subject, Instant issuedAt, Instant expiresAt);
 
     Jwt validateJWT(String token);
 }
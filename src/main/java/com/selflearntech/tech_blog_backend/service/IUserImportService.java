@@ -0,0 +1,18 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import com.selflearntech.tech_blog_backend.utils.UserImportReader;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+public interface IUserImportService {
+    UserImportReportDTO importUsers(InputStream input, UserImportFormat format, long resumeAfter, UserImportListener listener);
+
+    UserImportReportDTO importUsers(UserImportReader reader, long resumeAfter, UserImportListener listener);
+
+    UserImportReader open(InputStream input, UserImportFormat format);
+
+    CompletableFuture<UserImportReportDTO> startImport(UserImportReader reader, long resumeAfter, UserImportListener listener);
+}
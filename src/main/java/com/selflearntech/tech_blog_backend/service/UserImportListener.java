@@ -0,0 +1,21 @@
+package com.selflearntech.tech_blog_backend.service;
+
+import com.selflearntech.tech_blog_backend.dto.UserImportErrorDTO;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+
+/**
+ * Callbacks of a running import, invoked on the importing thread. The report passed to {@link #onProgress} is the
+ * live one and must not be kept.
+ */
+public interface UserImportListener {
+
+    UserImportListener NONE = new UserImportListener() {
+    };
+
+    // after every committed batch
+    default void onProgress(UserImportReportDTO report) {
+    }
+
+    default void onError(UserImportErrorDTO error) {
+    }
+}
@@ -1,7 +1,8 @@
 package com.selflearntech.tech_blog_backend.service.impl;
 
+import com.selflearntech.tech_blog_backend.config.RefreshTokenProperties;
+import com.selflearntech.tech_blog_backend.datasource.ReadReplicaRouting;
 import com.selflearntech.tech_blog_backend.dto.RegistrationDTO;
-import com.selflearntech.tech_blog_backend.dto.UserDTO;
 import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
 import com.selflearntech.tech_blog_backend.exception.*;
 import com.selflearntech.tech_blog_backend.mapper.UserMapper;
@@ -9,14 +10,24 @@ import com.selflearntech.tech_blog_backend.model.Role;
 import com.selflearntech.tech_blog_backend.model.RoleType;
 import com.selflearntech.tech_blog_backend.model.Token;
 import com.selflearntech.tech_blog_backend.model.User;
-import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import com.selflearntech.tech_blog_backend.repository.TokenRepository;
 import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.security.AuthenticationMetrics;
+import com.selflearntech.tech_blog_backend.security.AuthenticationMetrics.LoginOutcome;
+import com.selflearntech.tech_blog_backend.security.AuthenticationMetrics.RefreshOutcome;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenState;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenStateCache;
+import com.selflearntech.tech_blog_backend.security.RoleCache;
 import com.selflearntech.tech_blog_backend.service.IAuthenticationService;
 import com.selflearntech.tech_blog_backend.service.ITokenService;
+import com.selflearntech.tech_blog_backend.utils.ConstraintViolations;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtException;
@@ -24,18 +35,26 @@ import org.springframework.stereotype.Service;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService implements IAuthenticationService {
 
+    private static final int MAX_DEVICE_LENGTH = 255;
+
     private final ITokenService tokenService;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final TokenRepository tokenRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
+    private final RefreshTokenStateCache refreshTokenStateCache;
+    private final AuthenticationMetrics authenticationMetrics;
+    private final RefreshTokenProperties refreshTokenProperties;
     private final Clock clock;
 
     @Override
@@ -43,10 +62,7 @@ public class AuthenticationService implements IAuthenticationService {
         if (!registrationDTO.getPassword().equals(registrationDTO.getVerifyPassword()))
             throw new BadRequestException(ErrorMessages.PASSWORDS_MUST_MATCH);
 
-        if (userRepository.existsUserByEmail(registrationDTO.getEmail()))
-            throw new UserExistsException(ErrorMessages.USER_EXISTS);
-
-        Role userRole = roleRepository.findByAuthority(RoleType.USER).orElseThrow(() -> new RoleAssignmentException(ErrorMessages.ROLE_ASSIGNMENT_FAILURE, RoleType.USER.name()));
+        Role userRole = roleCache.get(RoleType.USER).orElseThrow(() -> new RoleAssignmentException(ErrorMessages.ROLE_ASSIGNMENT_FAILURE, RoleType.USER.name()));
         String encodedPassword = passwordEncoder.encode(registrationDTO.getPassword());
         User user = User.builder()
                 .firstName(registrationDTO.getFirstName())
@@ -56,49 +72,101 @@ public class AuthenticationService implements IAuthenticationService {
                 .authorities(Set.of(userRole))
                 .build();
 
-        userRepository.save(user);
+        // a taken email is detected by the unique constraint on insert rather than by a separate lookup
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, User.EMAIL_UNIQUE_CONSTRAINT)) throw new UserExistsException(ErrorMessages.USER_EXISTS);
+            throw ex;
+        }
+    }
+
+    @Override
+    public UserWithRefreshAndAccessTokenDTO authenticateUser(String email, String password, String device) {
+        long start = System.nanoTime();
+        try {
+            UserWithRefreshAndAccessTokenDTO authenticated = authenticate(email, password, device);
+            authenticationMetrics.recordLogin(LoginOutcome.SUCCESS, start);
+            return authenticated;
+        } catch (AuthenticationException ex) {
+            authenticationMetrics.recordLogin(LoginOutcome.BAD_CREDENTIALS, start);
+            throw ex;
+        } catch (PasswordHashingRejectedException ex) {
+            authenticationMetrics.recordLogin(LoginOutcome.REJECTED, start);
+            throw ex;
+        } catch (RuntimeException ex) {
+            authenticationMetrics.recordLogin(LoginOutcome.ERROR, start);
+            throw ex;
+        }
     }
 
+    /**
+     * Exchanges the refresh token for a new access token and the next refresh token of its session. The refresh
+     * token is left out of the result if the presented one had just been rotated by a concurrent refresh.
+     */
     @Override
-    public UserWithRefreshAndAccessTokenDTO authenticateUser(String email, String password) {
+    public UserWithRefreshAndAccessTokenDTO refreshAccessToken(String refreshToken) {
+        long start = System.nanoTime();
+        try {
+            UserWithRefreshAndAccessTokenDTO refreshed = refresh(refreshToken);
+            authenticationMetrics.recordRefresh(RefreshOutcome.SUCCESS, start);
+            return refreshed;
+        } catch (RefreshTokenException ex) {
+            authenticationMetrics.recordRefresh(RefreshOutcome.of(ex.getMessage()), start);
+            throw ex;
+        }
+    }
+
+    private UserWithRefreshAndAccessTokenDTO authenticate(String email, String password, String device) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
 
         User user = (User) authentication.getPrincipal();
-        String accessToken = tokenService.createAccessToken(user);
-        String refreshToken = tokenService.createRefreshToken(user.getEmail());
-        Jwt refreshJwt;
+        Instant now = clock.instant();
+        Instant expireTime = now.plus(refreshTokenProperties.getTtl());
+        UUID familyId = UUID.randomUUID();
+        String accessToken = tokenService.createAccessToken(user, familyId);
+        String refreshToken = tokenService.createRefreshToken(user.getEmail(), now, expireTime);
 
-        try {
-            refreshJwt = tokenService.validateJWT(refreshToken);
-        } catch (JwtException ex) {
-            throw new RuntimeException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.FAIL_TOKEN_DECODE);
-        }
+        // every login starts a session of its own, the user's other sessions are left alone
+        tokenRepository.insertRefreshToken(user.getUserId(), familyId, device(device), TokenDigest.of(refreshToken).bytes(), now, expireTime);
 
-        Token token;
-
-        if (user.getToken() == null) {
-            token = Token.builder()
-                    .user(user)
-                    .refreshToken(refreshToken)
-                    .expireTime(refreshJwt.getExpiresAt())
-                    .isValid(true)
-                    .build();
-        } else {
-            token = user.getToken();
-            token.setRefreshToken(refreshToken);
-            token.setExpireTime(refreshJwt.getExpiresAt());
+        return userMapper.toUserWithAccessAndRefreshTokenDTO(user, accessToken, refreshToken);
+    }
+
+    private UserWithRefreshAndAccessTokenDTO refresh(String refreshToken) {
+        TokenDigest digest = TokenDigest.of(refreshToken);
+        RefreshTokenState state = refreshTokenStateCache.get(digest).orElse(null);
+        if (state == null) state = loadRefreshTokenState(refreshToken, digest);
+
+        Instant now = clock.instant();
+        if (!verifyRefreshTokenState(state, now)) return accessTokenOnly(state);
+
+        // the presented token is used up either way, whatever the rotation below finds
+        refreshTokenStateCache.evict(digest);
+        long cacheEpoch = refreshTokenStateCache.epoch();
+
+        Instant expireTime = now.plus(refreshTokenProperties.getTtl());
+        String nextRefreshToken = tokenService.createRefreshToken(state.email(), now, expireTime);
+        TokenDigest nextDigest = TokenDigest.of(nextRefreshToken);
+        Optional<Integer> nextTokenId = tokenRepository.rotateRefreshToken(state.tokenId(), nextDigest.bytes(), now, expireTime);
+
+        if (nextTokenId.isEmpty()) {
+            // rotated or revoked since it was read: decide on what the primary has now
+            RefreshTokenState current = ReadReplicaRouting.onPrimary(() -> findRefreshTokenState(digest));
+            verifyRefreshTokenState(current, now);
+            return accessTokenOnly(current);
         }
 
-        user.setToken(token);
-        user = userRepository.save(user);
+        RefreshTokenState next = state.successor(nextTokenId.get(), expireTime);
+        refreshTokenStateCache.put(nextDigest, next, cacheEpoch);
 
-        return userMapper.toUserWithAccessAndRefreshTokenDTO(user, accessToken);
+        String accessToken = tokenService.createAccessToken(next.email(), next.roles(), next.familyId());
+        return userMapper.toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(next, accessToken, nextRefreshToken);
     }
 
-    @Override
-    public UserDTO refreshAccessToken(String refreshToken) {
+    private RefreshTokenState loadRefreshTokenState(String refreshToken, TokenDigest digest) {
         Jwt decodedJwt;
 
         try {
@@ -107,18 +175,52 @@ public class AuthenticationService implements IAuthenticationService {
             throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.FAIL_TOKEN_DECODE);
         }
 
-        String email = decodedJwt.getSubject();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN));
+        RefreshTokenState state = findRefreshTokenState(digest);
+        if (!state.email().equals(decodedJwt.getSubject())) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN);
+
+        return state;
+    }
+
+    private RefreshTokenState findRefreshTokenState(TokenDigest digest) {
+        // a token issued moments ago may not have reached the replica yet
+        Token storedToken = tokenRepository.findByRefreshTokenHash(digest.bytes())
+                .or(() -> ReadReplicaRouting.onPrimary(() -> tokenRepository.findByRefreshTokenHash(digest.bytes())))
+                .orElseThrow(() -> new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.COOKIE_REFRESH_TOKEN_AND_DB_TOKEN_UNMATCH));
+
+        return RefreshTokenState.of(storedToken.getUser(), storedToken);
+    }
 
-        Token storedToken = user.getToken();
-        Instant now = Instant.now(clock);
+    /**
+     * Returns true if the token can be rotated and false if it was rotated moments ago, within the reuse grace, and
+     * its session is still alive: a successor of a session ended or revoked since (logout, session revocation, reuse
+     * detection) is no longer valid, and the grace doesn't outlive it.
+     * Presenting a token rotated any earlier than that means it was copied, so its whole family is revoked: whichever
+     * of the two parties holds the current token has to log in again.
+     */
+    private boolean verifyRefreshTokenState(RefreshTokenState state, Instant now) {
+        if (state.expireTime().isBefore(now)) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.EXPIRED_REFRESH_TOKEN);
+        if (state.valid()) return true;
+        if (state.rotatedAt() == null) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.INVALIDATED_REFRESH_TOKEN);
+        if (!now.isAfter(state.rotatedAt().plus(refreshTokenProperties.getReuseGrace()))) {
+            // the successor was issued moments ago and may not have reached the replica yet
+            if (!ReadReplicaRouting.onPrimary(() -> tokenRepository.existsValidToken(state.userId(), state.familyId()))) {
+                throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.INVALIDATED_REFRESH_TOKEN);
+            }
+            return false;
+        }
+
+        tokenRepository.invalidateFamily(state.userId(), state.familyId());
+        refreshTokenStateCache.evictUser(state.userId());
+        throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.REUSED_REFRESH_TOKEN);
+    }
 
-        if (!storedToken.isValid()) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.INVALIDATED_REFRESH_TOKEN);
-        if (!storedToken.getRefreshToken().equals(refreshToken)) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.COOKIE_REFRESH_TOKEN_AND_DB_TOKEN_UNMATCH);
-        if (storedToken.getExpireTime().isBefore(now)) throw new RefreshTokenException(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.EXPIRED_REFRESH_TOKEN);
+    private UserWithRefreshAndAccessTokenDTO accessTokenOnly(RefreshTokenState state) {
+        String accessToken = tokenService.createAccessToken(state.email(), state.roles(), state.familyId());
+        return userMapper.toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(state, accessToken, null);
+    }
 
-        String accessToken =  tokenService.createAccessToken(user);
-        return userMapper.toUserDTOFromUserAndAccessToken(user, accessToken);
+    private static String device(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) return null;
+        return userAgent.length() > MAX_DEVICE_LENGTH ? userAgent.substring(0, MAX_DEVICE_LENGTH) : userAgent;
     }
 }
@@ -0,0 +1,123 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.dto.DraftDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftPatchDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.dto.NewDraftDTO;
+import com.selflearntech.tech_blog_backend.dto.TextEditDTO;
+import com.selflearntech.tech_blog_backend.exception.BadRequestException;
+import com.selflearntech.tech_blog_backend.exception.DraftNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.StoryNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.UserNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.rendering.MarkdownRenderer;
+import com.selflearntech.tech_blog_backend.repository.DraftWriteBuffer;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.service.IDraftService;
+import com.selflearntech.tech_blog_backend.service.IPublishedStoryService;
+import com.selflearntech.tech_blog_backend.service.IStorySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Drafts as the editor works on them: created with a direct write, then autosaved as patches through the
+ * {@link DraftWriteBuffer}, which coalesces them into occasional writes. Saves that change the body render it to HTML,
+ * kept next to the Markdown, so that it is ready for preview and publishing.
+ */
+@Service
+@RequiredArgsConstructor
+public class DraftService implements IDraftService {
+
+    private final StoryRepository storyRepository;
+    private final UserRepository userRepository;
+    private final DraftWriteBuffer draftWriteBuffer;
+    private final IStorySearchService storySearchService;
+    private final IPublishedStoryService publishedStoryService;
+    private final MarkdownRenderer markdownRenderer;
+    private final StoryMapper storyMapper;
+    private final Clock clock;
+
+    @Override
+    public DraftDTO createDraft(Jwt accessToken, NewDraftDTO newDraft) {
+        Instant now = clock.instant();
+        String body = Objects.requireNonNullElse(newDraft.getBody(), "");
+        Story draft = Story.builder()
+                .authorId(findUserId(accessToken))
+                .status(StoryStatus.DRAFT)
+                .title(Objects.requireNonNullElse(newDraft.getTitle(), ""))
+                .body(body)
+                .bodyHtml(markdownRenderer.render(body))
+                .tags(newDraft.getTags() == null ? List.of() : List.copyOf(newDraft.getTags()))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        return storyMapper.toDraftDTO(storyRepository.save(draft));
+    }
+
+    @Override
+    public DraftDTO getDraft(Jwt accessToken, String storyId) {
+        return storyMapper.toDraftDTO(draftWriteBuffer.get(storyId, findUserId(accessToken)));
+    }
+
+    /**
+     * Applies an autosave patch to the buffered draft; it reaches MongoDB with the next flush.
+     */
+    @Override
+    public DraftVersionDTO saveDraft(Jwt accessToken, String storyId, DraftPatchDTO patch) {
+        Story draft = draftWriteBuffer.save(storyId, findUserId(accessToken), patch.getBaseVersion(), story -> apply(story, patch));
+        return storyMapper.toDraftVersionDTO(draft);
+    }
+
+    @Override
+    public void publishDraft(Jwt accessToken, String storyId) {
+        Integer authorId = findUserId(accessToken);
+        draftWriteBuffer.flush(storyId);
+        if (storyRepository.publishDraft(storyId, authorId, clock.instant()) == 0) {
+            throw new DraftNotFoundException(ErrorMessages.DRAFT_NOT_FOUND);
+        }
+        storySearchService.indexStory(storyId);
+        publishedStoryService.renderPublishedStory(storyId);
+    }
+
+    /**
+     * Takes a published story back to the author's drafts, and out of search.
+     */
+    @Override
+    public void unpublishStory(Jwt accessToken, String storyId) {
+        if (storyRepository.unpublishStory(storyId, findUserId(accessToken), clock.instant()) == 0) {
+            throw new StoryNotFoundException(ErrorMessages.STORY_NOT_FOUND);
+        }
+        storySearchService.removeStory(storyId);
+    }
+
+    private Integer findUserId(Jwt accessToken) {
+        return userRepository.findUserIdByEmail(accessToken.getSubject())
+                .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+    }
+
+    private void apply(Story draft, DraftPatchDTO patch) {
+        if (patch.getTitle() != null) draft.setTitle(patch.getTitle());
+        if (patch.getTags() != null) draft.setTags(List.copyOf(patch.getTags()));
+        if (patch.getEdits() == null || patch.getEdits().isEmpty()) return;
+
+        StringBuilder body = new StringBuilder(Objects.requireNonNullElse(draft.getBody(), ""));
+        for (TextEditDTO edit : patch.getEdits()) {
+            long end = (long) edit.getPosition() + edit.getDeleteCount();
+            if (end > body.length()) throw new BadRequestException(ErrorMessages.INVALID_DRAFT_EDIT);
+            body.replace(edit.getPosition(), (int) end, Objects.requireNonNullElse(edit.getText(), ""));
+        }
+        draft.setBody(body.toString());
+        // only the blocks the edits touched are rendered again
+        draft.setBodyHtml(markdownRenderer.render(draft.getBody()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.StoryNotFoundException;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStory;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStoryCache;
+import com.selflearntech.tech_blog_backend.rendering.StoryRenderer;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.service.IPublishedStoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * Serves published stories from their renderings. A read costs a lookup of the story's current version, which
+ * projects nothing but the version, and a cache hit; the story is only loaded, serialized and compressed when that
+ * version hasn't been rendered yet on this instance, normally just once at publish time.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublishedStoryService implements IPublishedStoryService {
+
+    private final StoryRepository storyRepository;
+    private final StoryRenderer storyRenderer;
+    private final RenderedStoryCache renderedStoryCache;
+
+    @Override
+    public RenderedStory getPublishedStory(String storyId) {
+        long version = storyRepository.findPublishedVersionById(storyId)
+                .map(story -> versionOf(story.getVersion()))
+                .orElseThrow(() -> new StoryNotFoundException(ErrorMessages.STORY_NOT_FOUND));
+        return renderedStoryCache.get(storyId, version, () -> render(storyId, version));
+    }
+
+    /**
+     * Renders a story that was just published, so that its first readers hit the cache too.
+     */
+    @Override
+    public void renderPublishedStory(String storyId) {
+        storyRepository.findById(storyId)
+                .filter(story -> story.getStatus() == StoryStatus.PUBLISHED)
+                .ifPresent(story -> renderedStoryCache.put(storyRenderer.render(story)));
+    }
+
+    private RenderedStory render(String storyId, long version) {
+        // unpublished, or published again, since its version was looked up
+        Story story = storyRepository.findById(storyId)
+                .filter(found -> found.getStatus() == StoryStatus.PUBLISHED && versionOf(found.getVersion()) == version)
+                .orElseThrow(() -> new StoryNotFoundException(ErrorMessages.STORY_NOT_FOUND));
+        return storyRenderer.render(story);
+    }
+
+    private static long versionOf(Long version) {
+        return Objects.requireNonNullElse(version, 0L);
+    }
+}
@@ -0,0 +1,126 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.SessionNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.UserNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.SessionMapper;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.TokenRepository;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenStateCache;
+import com.selflearntech.tech_blog_backend.security.RevocationList;
+import com.selflearntech.tech_blog_backend.service.ISessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lists and ends sessions, a session being a refresh token family started by a login. Ending one invalidates its
+ * refresh token in the database; logging out and revoking all sessions also put the access tokens on the
+ * {@link RevocationList}, so that neither outlives the call by more than the revocation reload interval on other
+ * nodes. Access tokens of a single revoked session are left to expire on their own.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionService implements ISessionService {
+
+    // access token claim naming the session (refresh token family) it was issued for
+    private static final String SESSION_ID_CLAIM = "sid";
+
+    private final UserRepository userRepository;
+    private final TokenRepository tokenRepository;
+    private final RefreshTokenStateCache refreshTokenStateCache;
+    private final RevocationList revocationList;
+    private final SessionMapper sessionMapper;
+    private final Clock clock;
+
+    /**
+     * Active sessions of the user the access token was issued to, flagging the one it was issued for.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionDTO> listSessions(Jwt accessToken) {
+        return listSessions(findUser(accessToken), sessionId(accessToken));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionDTO> listSessions(Integer userId) {
+        return listSessions(findUser(userId), null);
+    }
+
+    @Override
+    public void revokeSession(Jwt accessToken, UUID sessionId) {
+        revokeSession(findUser(accessToken), sessionId);
+    }
+
+    @Override
+    public void revokeSession(Integer userId, UUID sessionId) {
+        revokeSession(findUser(userId), sessionId);
+    }
+
+    /**
+     * Revokes the access token the request was made with and the refresh token of its session, or of all the user's
+     * sessions for access tokens issued before sessions were tracked.
+     */
+    @Override
+    public void logout(Jwt accessToken) {
+        User user = findUser(accessToken);
+        UUID sessionId = sessionId(accessToken);
+
+        if (sessionId != null) tokenRepository.invalidateFamily(user.getUserId(), sessionId);
+        else tokenRepository.invalidateUserTokens(user.getUserId());
+        refreshTokenStateCache.evictUser(user.getUserId());
+        revocationList.revokeToken(user.getUserId(), accessToken);
+    }
+
+    /**
+     * Revokes every access and refresh token issued to the user so far.
+     */
+    @Override
+    public void revokeAllSessions(Integer userId) {
+        User user = findUser(userId);
+
+        tokenRepository.invalidateUserTokens(user.getUserId());
+        refreshTokenStateCache.evictUser(user.getUserId());
+        revocationList.revokeSubject(user.getUserId(), user.getEmail());
+    }
+
+    private List<SessionDTO> listSessions(User user, UUID currentSessionId) {
+        return tokenRepository.findActiveSessions(user.getUserId(), clock.instant()).stream()
+                .map(token -> sessionMapper.toSessionDTO(token, token.getFamilyId().equals(currentSessionId)))
+                .toList();
+    }
+
+    private void revokeSession(User user, UUID sessionId) {
+        if (tokenRepository.invalidateFamily(user.getUserId(), sessionId) == 0) throw new SessionNotFoundException(ErrorMessages.SESSION_NOT_FOUND);
+        refreshTokenStateCache.evictUser(user.getUserId());
+    }
+
+    private User findUser(Jwt accessToken) {
+        return userRepository.findByEmail(accessToken.getSubject())
+                .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+    }
+
+    private User findUser(Integer userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+    }
+
+    private static UUID sessionId(Jwt accessToken) {
+        String sessionId = accessToken.getClaimAsString(SESSION_ID_CLAIM);
+        if (sessionId == null) return null;
+
+        try {
+            return UUID.fromString(sessionId);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.config.StorySearchProperties;
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.StorySummary;
+import com.selflearntech.tech_blog_backend.search.StorySearchIndex;
+import com.selflearntech.tech_blog_backend.service.IStorySearchService;
+import com.selflearntech.tech_blog_backend.utils.StoryCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full-text search over published stories with an in-process {@link StorySearchIndex}.
+ * <p>
+ * The index follows MongoDB: every {@code sync-interval} a poll walks the stories changed since the previous one in
+ * {@code (updatedAt, _id)} order, indexes the published ones whose version it doesn't have yet and drops the others.
+ * Publishing and unpublishing through this node update the index right away, the poll brings in what other nodes
+ * changed. Every {@code snapshot-interval} and on shutdown the index is saved to {@code snapshot-file} along with how
+ * far the poll got, and it is restored from there on startup, so that a restart only replays what changed since.
+ * <p>
+ * {@code stories.search} times queries against the index, {@code stories.search.documents} is the number of stories
+ * in it.
+ */
+@Slf4j
+@Service
+public class StorySearchService implements IStorySearchService {
+
+    private static final StoryCursor START = new StoryCursor(Instant.EPOCH, new ObjectId(new byte[12]));
+
+    private final StoryRepository storyRepository;
+    private final StoryMapper storyMapper;
+    private final StorySearchProperties properties;
+    private final StorySearchIndex index;
+    private final Timer queries;
+    // guards the sync and snapshot state below; not synchronized: a virtual thread blocked on MongoDB or the snapshot
+    // file inside a monitor would pin its carrier thread
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private StoryCursor syncedUpTo = START;
+    private StoryCursor savedSyncedUpTo;
+    private long savedModifications = -1;
+
+    public StorySearchService(StoryRepository storyRepository, StoryMapper storyMapper, StorySearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.storyRepository = storyRepository;
+        this.storyMapper = storyMapper;
+        this.properties = properties;
+        this.index = loadSnapshot(properties.getSnapshotFile());
+        this.queries = Timer.builder("stories.search")
+                .description("Story searches against the index")
+                .register(meterRegistry);
+        Gauge.builder("stories.search.documents", index, StorySearchIndex::size)
+                .description("Published stories in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The {@code size} published stories best matching the query, best first.
+     */
+    @Override
+    public List<StorySummaryDTO> search(String query, int size) {
+        List<StorySearchIndex.Hit> hits = queries.record(() -> index.search(query, size));
+        if (hits.isEmpty()) return List.of();
+
+        List<ObjectId> ids = hits.stream().map(hit -> new ObjectId(hit.storyId())).toList();
+        Map<String, StorySummary> stories = storyRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(StorySummary::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> stories.get(hit.storyId()))
+                // unpublished or deleted elsewhere since the last poll
+                .filter(story -> story != null && story.getStatus() == StoryStatus.PUBLISHED)
+                .map(storyMapper::toStorySummaryDTO)
+                .toList();
+    }
+
+    /**
+     * Indexes the story as it now is in MongoDB. A failure is only logged, the next poll picks the story up.
+     */
+    @Override
+    public void indexStory(String storyId) {
+        try {
+            storyRepository.findById(storyId).ifPresent(this::apply);
+        } catch (DataAccessException ex) {
+            log.warn("Indexing story {} failed, leaving it to the next sync", storyId, ex);
+        }
+    }
+
+    @Override
+    public void removeStory(String storyId) {
+        index.remove(storyId);
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.search.sync-interval:PT10S}")
+    public void scheduledSync() {
+        try {
+            sync();
+        } catch (RuntimeException ex) {
+            log.error("Story search index sync failed", ex);
+        }
+    }
+
+    /**
+     * Brings the index up to date with the stories changed since the last sync.
+     *
+     * @return the number of stories indexed or removed
+     */
+    public int sync() {
+        syncLock.lock();
+        try {
+            StoryCursor after = new StoryCursor(syncedUpTo.updatedAt().minus(properties.getSyncOverlap()), START.id());
+            int applied = 0;
+            while (true) {
+                List<StorySummary> changes = storyRepository.findChangedAfter(after.updatedAt(), after.id(),
+                        Limit.of(properties.getSyncBatchSize()));
+                if (changes.isEmpty()) break;
+
+                List<String> outdated = new ArrayList<>();
+                for (StorySummary change : changes) {
+                    if (change.getStatus() != StoryStatus.PUBLISHED) {
+                        if (index.remove(change.getId())) applied++;
+                    } else if (index.version(change.getId()) < versionOf(change.getVersion())) {
+                        outdated.add(change.getId());
+                    }
+                }
+                for (Story story : storyRepository.findAllById(outdated)) {
+                    if (apply(story)) applied++;
+                }
+
+                StorySummary last = changes.get(changes.size() - 1);
+                after = StoryCursor.after(last.getId(), last.getUpdatedAt());
+                if (after.updatedAt().isAfter(syncedUpTo.updatedAt())) syncedUpTo = after;
+                if (changes.size() < properties.getSyncBatchSize()) break;
+            }
+            if (applied > 0) log.debug("Story search index sync applied {} changes", applied);
+            return applied;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.search.snapshot-interval:PT10M}",
+            initialDelayString = "${selflearntech.search.snapshot-interval:PT10M}")
+    public void scheduledSnapshot() {
+        try {
+            saveSnapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Saving the story search index snapshot failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void saveSnapshotOnShutdown() {
+        scheduledSnapshot();
+    }
+
+    /**
+     * Writes the index and the sync position to a temporary file followed by a CRC-32 of both, then moves it over the
+     * snapshot file, so that a crash mid-write leaves the previous snapshot in place. Does nothing if neither changed
+     * since the last snapshot.
+     */
+    public void saveSnapshot() throws IOException {
+        syncLock.lock();
+        try {
+            long modifications = index.modifications();
+            if (modifications == savedModifications && syncedUpTo.equals(savedSyncedUpTo)) return;
+
+            Path file = properties.getSnapshotFile().toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                    CRC32 crc = new CRC32();
+                    DataOutputStream output = new DataOutputStream(new CheckedOutputStream(raw, crc));
+                    output.writeUTF(syncedUpTo.encode());
+                    index.writeTo(output);
+                    output.flush();
+                    new DataOutputStream(raw).writeLong(crc.getValue());
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            savedModifications = modifications;
+            savedSyncedUpTo = syncedUpTo;
+            log.info("Saved story search index snapshot of {} stories to {}", index.size(), file);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private StorySearchIndex loadSnapshot(Path file) {
+        if (!Files.exists(file)) return new StorySearchIndex();
+
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            CRC32 crc = new CRC32();
+            DataInputStream input = new DataInputStream(new CheckedInputStream(raw, crc));
+            StoryCursor snapshotSyncedUpTo = StoryCursor.decode(input.readUTF());
+            StorySearchIndex restored = StorySearchIndex.readFrom(input);
+            if (new DataInputStream(raw).readLong() != crc.getValue()) throw new IOException("Checksum mismatch");
+
+            syncedUpTo = snapshotSyncedUpTo;
+            savedSyncedUpTo = snapshotSyncedUpTo;
+            savedModifications = restored.modifications();
+            log.info("Restored story search index snapshot of {} stories, synced up to {}", restored.size(), syncedUpTo.updatedAt());
+            return restored;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Discarding story search index snapshot {}, rebuilding the index from MongoDB", file, ex);
+            return new StorySearchIndex();
+        }
+    }
+
+    private boolean apply(Story story) {
+        if (story.getStatus() == StoryStatus.PUBLISHED) {
+            return index.put(story.getId(), versionOf(story.getVersion()), story.getTitle(), story.getTags(), story.getBody());
+        }
+        return index.remove(story.getId());
+    }
+
+    private static long versionOf(Long version) {
+        return Objects.requireNonNullElse(version, 0L);
+    }
+}
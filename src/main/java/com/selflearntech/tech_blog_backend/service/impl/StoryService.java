@@ -0,0 +1,69 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.dto.StoryPageDTO;
+import com.selflearntech.tech_blog_backend.exception.BadRequestException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.UserNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.StorySummary;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.service.IStoryService;
+import com.selflearntech.tech_blog_backend.utils.StoryCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StoryService implements IStoryService {
+
+    private final StoryRepository storyRepository;
+    private final UserRepository userRepository;
+    private final StoryMapper storyMapper;
+
+    /**
+     * One page of the user's stories of the given status, most recently updated first. One story more than asked for
+     * is read to tell whether there is a next page.
+     */
+    @Override
+    public StoryPageDTO listStories(Jwt accessToken, StoryStatus status, String cursor, int size) {
+        User author = findUser(accessToken);
+        Limit limit = Limit.of(size + 1);
+
+        List<StorySummary> stories;
+        if (cursor == null || cursor.isEmpty()) {
+            stories = storyRepository.findFirstPage(author.getUserId(), status, limit);
+        } else {
+            StoryCursor after = decodeCursor(cursor);
+            stories = storyRepository.findPageAfter(author.getUserId(), status, after.updatedAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (stories.size() > size) {
+            stories = stories.subList(0, size);
+            StorySummary last = stories.get(size - 1);
+            nextCursor = StoryCursor.after(last.getId(), last.getUpdatedAt()).encode();
+        }
+
+        return new StoryPageDTO(stories.stream().map(storyMapper::toStorySummaryDTO).toList(), nextCursor);
+    }
+
+    private User findUser(Jwt accessToken) {
+        return userRepository.findByEmail(accessToken.getSubject())
+                .orElseThrow(() -> new UserNotFoundException(ErrorMessages.USER_NOT_FOUND));
+    }
+
+    private static StoryCursor decodeCursor(String cursor) {
+        try {
+            return StoryCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ErrorMessages.INVALID_STORY_CURSOR);
+        }
+    }
+}
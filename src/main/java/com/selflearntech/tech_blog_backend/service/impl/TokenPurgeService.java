@@ -0,0 +1,136 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.config.TokenPurgeProperties;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Batch;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Cursor;
+import com.selflearntech.tech_blog_backend.service.ITokenPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes refresh tokens that can no longer be used: expired ones and ones that were invalidated. Rows
+ * go in small batches with a pause in between, and a run gives up after {@code max-duration}, so the purge never
+ * competes with logins and refreshes for long. If another node is purging, the run stops at its first batch.
+ * <p>
+ * {@code token.purge.rows} counts deleted rows by reason, {@code token.purge.run.rows} the rows per run and
+ * {@code token.purge.runs} times runs by outcome ({@code completed}, {@code partial}, {@code locked}).
+ */
+@Service
+@Slf4j
+public class TokenPurgeService implements ITokenPurgeService {
+
+    private final TokenPurgeRepository tokenPurgeRepository;
+    private final TokenPurgeProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Counter expiredRows;
+    private final Counter invalidatedRows;
+    private final DistributionSummary rowsPerRun;
+
+    public TokenPurgeService(TokenPurgeRepository tokenPurgeRepository, TokenPurgeProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.tokenPurgeRepository = tokenPurgeRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.expiredRows = purgedRows("expired");
+        this.invalidatedRows = purgedRows("invalidated");
+        this.rowsPerRun = DistributionSummary.builder("token.purge.run.rows")
+                .description("Refresh tokens deleted per purge run")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${selflearntech.token-purge.interval:PT1H}",
+            initialDelayString = "${selflearntech.token-purge.interval:PT1H}")
+    public void scheduledPurge() {
+        if (!properties.isEnabled()) return;
+
+        try {
+            purgeTokens();
+        } catch (RuntimeException ex) {
+            log.error("Refresh token purge failed", ex);
+        }
+    }
+
+    /**
+     * Runs one purge pass.
+     *
+     * @return the number of deleted tokens
+     */
+    @Override
+    public long purgeTokens() {
+        long start = System.nanoTime();
+        Instant now = clock.instant();
+        long deadline = start + properties.getMaxDuration().toNanos();
+
+        Cursor cursor = Cursor.START;
+        long purged = 0;
+        int batches = 0;
+        String outcome;
+
+        while (true) {
+            Batch batch = tokenPurgeRepository.deleteBatch(cursor, now, properties.getBatchSize());
+            if (!batch.locked()) {
+                outcome = "locked";
+                break;
+            }
+
+            batches++;
+            purged += batch.purged();
+            expiredRows.increment(batch.expired());
+            invalidatedRows.increment(batch.invalidated());
+            cursor = batch.last();
+
+            if (batch.purged() < properties.getBatchSize()) {
+                outcome = "completed";
+                break;
+            }
+            if (System.nanoTime() - deadline >= 0 || !pause()) {
+                outcome = "partial";
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("token.purge.runs")
+                .description("Refresh token purge runs")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (outcome.equals("locked")) {
+            log.debug("Refresh token purge skipped, another node holds the purge lock");
+            return 0;
+        }
+
+        rowsPerRun.record(purged);
+        log.info("Refresh token purge {}: deleted {} tokens in {} batches, {} ms", outcome, purged, batches, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return purged;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getBatchDelay());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter purgedRows(String reason) {
+        return Counter.builder("token.purge.rows")
+                .description("Refresh tokens deleted by the purge")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -3,52 +3,84 @@ package com.selflearntech.tech_blog_backend.service.impl;
 
 import com.selflearntech.tech_blog_backend.model.Role;
 import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.security.AccessTokenMinter;
 import com.selflearntech.tech_blog_backend.service.ITokenService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 
 import java.time.Clock;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class TokenService implements ITokenService {
 
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
+    private final AccessTokenMinter accessTokenMinter;
     private final Clock clock;
+    private final Timer accessTokenSigning;
+    private final Timer refreshTokenSigning;
+    private final Timer refreshTokenVerification;
+
+    public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, AccessTokenMinter accessTokenMinter, Clock clock, MeterRegistry meterRegistry) {
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.accessTokenMinter = accessTokenMinter;
+        this.clock = clock;
+        this.accessTokenSigning = signingTimer(meterRegistry, "access");
+        this.refreshTokenSigning = signingTimer(meterRegistry, "refresh");
+        this.refreshTokenVerification = Timer.builder("jwt.verification")
+                .description("JWT signature and claims verification")
+                .tag("token", "refresh")
+                .register(meterRegistry);
+    }
 
     @Override
-    public String createAccessToken(User user) {
-        String roles = user.getAuthorities().stream().map(Role::getAuthority).collect(Collectors.joining(","));
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .issuer("self")
-                .issuedAt(Instant.now(clock))
-                .expiresAt(Instant.now(clock).plus(10, ChronoUnit.SECONDS))
-                .subject(user.getEmail())
-                .claim("roles", roles)
-                .build();
+    public String createAccessToken(User user, UUID sessionId) {
+        int roleMask = 0;
+        for (Role role : user.getAuthorities()) roleMask |= AccessTokenMinter.roleBit(role.getAuthority());
+
+        return createAccessToken(user.getEmail(), roleMask, sessionId);
+    }
+
+    @Override
+    public String createAccessToken(String subject, Collection<String> roles, UUID sessionId) {
+        return createAccessToken(subject, AccessTokenMinter.roleMask(roles), sessionId);
+    }
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    private String createAccessToken(String subject, int roleMask, UUID sessionId) {
+        Instant now = Instant.now(clock);
+        return accessTokenSigning.record(() -> accessTokenMinter.mint(subject, roleMask, sessionId, now, now.plus(AccessTokenMinter.ACCESS_TOKEN_TTL)));
     }
 
+    // the caller decides the lifetime, as it also stores the expiry alongside the token's digest
     @Override
-    public String createRefreshToken(String subject) {
+    public String createRefreshToken(String subject, Instant issuedAt, Instant expiresAt) {
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
-                .issuedAt(Instant.now(clock))
-                .expiresAt(Instant.now(clock).plus(7, ChronoUnit.DAYS))
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
                 .subject(subject)
+                // jti keeps tokens of the same user issued within the same second apart
+                .id(UUID.randomUUID().toString())
                 .build();
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return refreshTokenSigning.record(() -> jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue());
     }
 
     @Override
     public Jwt validateJWT(String token) {
-        return jwtDecoder.decode(token);
+        return refreshTokenVerification.record(() -> jwtDecoder.decode(token));
+    }
+
+    private static Timer signingTimer(MeterRegistry meterRegistry, String token) {
+        return Timer.builder("jwt.signing")
+                .description("JWT serialisation and signing")
+                .tag("token", token)
+                .register(meterRegistry);
     }
 }
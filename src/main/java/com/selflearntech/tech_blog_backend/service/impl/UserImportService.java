@@ -0,0 +1,228 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.config.UserImportProperties;
+import com.selflearntech.tech_blog_backend.dto.UserImportErrorDTO;
+import com.selflearntech.tech_blog_backend.dto.UserImportRecordDTO;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.exception.BadRequestException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.RoleAssignmentException;
+import com.selflearntech.tech_blog_backend.exception.UserImportInProgressException;
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.repository.UserImportRepository;
+import com.selflearntech.tech_blog_backend.repository.UserImportRepository.ImportedUser;
+import com.selflearntech.tech_blog_backend.security.RoleCache;
+import com.selflearntech.tech_blog_backend.service.IUserImportService;
+import com.selflearntech.tech_blog_backend.service.UserImportListener;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import com.selflearntech.tech_blog_backend.utils.UserImportReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * Imports users from an NDJSON or CSV stream in batches. Plain-text passwords of a batch are hashed in parallel on a
+ * pool of its own (the request-facing hashing pool rejects work when busy, which would abort an import), and the
+ * next batch is hashed while the current one is being written. Passwords prefixed with {@code {bcrypt}} are stored as
+ * they are.
+ * <p>
+ * Invalid rows and already registered emails never fail the import; they are counted and reported. Each batch is
+ * committed on its own and then becomes the checkpoint, so an interrupted import can be resumed after it.
+ * <p>
+ * Imports over HTTP run through {@link #startImport} on a pool of their own, at most
+ * {@code selflearntech.user-import.concurrent-imports} at a time, reading the request body as it arrives.
+ */
+@Service
+@Slf4j
+public class UserImportService implements IUserImportService {
+
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private record PendingUser(long line, UserImportRecordDTO record, Future<String> passwordHash) {
+    }
+
+    private record Batch(List<PendingUser> users, long lastLine) {
+    }
+
+    private final UserImportRepository userImportRepository;
+    private final RoleCache roleCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final ExecutorService hashingExecutor;
+    private final ExecutorService importExecutor;
+
+    public UserImportService(UserImportRepository userImportRepository, RoleCache roleCache, Validator validator,
+                             ObjectMapper objectMapper, UserImportProperties properties) {
+        this.userImportRepository = userImportRepository;
+        this.roleCache = roleCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        int threads = properties.getHashingThreads() > 0 ? properties.getHashingThreads() : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-");
+        threadFactory.setDaemon(true);
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+
+        // no queue: an import waiting for a thread would hold its upload open with nothing to show for it
+        CustomizableThreadFactory importThreadFactory = new CustomizableThreadFactory("user-import-job-");
+        importThreadFactory.setDaemon(true);
+        this.importExecutor = new ThreadPoolExecutor(properties.getConcurrentImports(), properties.getConcurrentImports(),
+                0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), importThreadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        hashingExecutor.shutdownNow();
+    }
+
+    @Override
+    public UserImportReportDTO importUsers(InputStream input, UserImportFormat format, long resumeAfter, UserImportListener listener) {
+        return importUsers(open(input, format), resumeAfter, listener);
+    }
+
+    @Override
+    public UserImportReader open(InputStream input, UserImportFormat format) {
+        try {
+            return new UserImportReader(new InputStreamReader(input, StandardCharsets.UTF_8), format, objectMapper);
+        } catch (IllegalArgumentException ex) {
+            // e.g. a CSV header lacking a required column
+            throw new BadRequestException(ex.getMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read user import", ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserImportReportDTO> startImport(UserImportReader reader, long resumeAfter, UserImportListener listener) {
+        try {
+            return CompletableFuture.supplyAsync(() -> importUsers(reader, resumeAfter, listener), importExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new UserImportInProgressException(ErrorMessages.USER_IMPORT_IN_PROGRESS);
+        }
+    }
+
+    @Override
+    public UserImportReportDTO importUsers(UserImportReader reader, long resumeAfter, UserImportListener listener) {
+        Role userRole = roleCache.get(RoleType.USER).orElseThrow(() -> new RoleAssignmentException(ErrorMessages.ROLE_ASSIGNMENT_FAILURE, RoleType.USER.name()));
+        UserImportReportDTO report = UserImportReportDTO.builder()
+                .checkpoint(resumeAfter)
+                .errors(new ArrayList<>())
+                .build();
+
+        try (reader) {
+            reader.skipTo(resumeAfter);
+
+            Batch writing = null;
+            List<PendingUser> users = new ArrayList<>(properties.getBatchSize());
+            UserImportReader.Row row;
+            long lastLine = resumeAfter;
+
+            while ((row = reader.next()) != null) {
+                lastLine = row.line();
+                report.setProcessed(report.getProcessed() + 1);
+
+                String error = row.error() != null ? row.error() : validate(row.record());
+                if (error != null) {
+                    reportError(report, listener, row.line(), row.record() != null ? row.record().getEmail() : null, error);
+                } else {
+                    users.add(new PendingUser(row.line(), row.record(), hash(row.record().getPassword())));
+                }
+
+                if (users.size() == properties.getBatchSize()) {
+                    // the batch just read is hashed in the background while the previous one is written
+                    if (writing != null) write(writing, userRole, report, listener);
+                    writing = new Batch(users, lastLine);
+                    users = new ArrayList<>(properties.getBatchSize());
+                }
+            }
+
+            if (writing != null) write(writing, userRole, report, listener);
+            write(new Batch(users, lastLine), userRole, report, listener);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read user import", ex);
+        }
+
+        report.setCompleted(true);
+        return report;
+    }
+
+    private String validate(UserImportRecordDTO record) {
+        List<ConstraintViolation<UserImportRecordDTO>> violations = new ArrayList<>(validator.validate(record));
+        if (!violations.isEmpty()) {
+            violations.sort(Comparator.comparing(violation -> violation.getPropertyPath().toString()));
+            ConstraintViolation<UserImportRecordDTO> violation = violations.get(0);
+            return violation.getPropertyPath() + " " + violation.getMessage();
+        }
+
+        String password = record.getPassword();
+        if (password.startsWith(BCRYPT_PREFIX) && !BCRYPT_HASH.matcher(password.substring(BCRYPT_PREFIX.length())).matches()) {
+            return "password is not a valid BCrypt hash";
+        }
+        return null;
+    }
+
+    private Future<String> hash(String password) {
+        if (password.startsWith(BCRYPT_PREFIX)) return CompletableFuture.completedFuture(password.substring(BCRYPT_PREFIX.length()));
+        return hashingExecutor.submit(() -> passwordEncoder.encode(password));
+    }
+
+    private void write(Batch batch, Role role, UserImportReportDTO report, UserImportListener listener) {
+        List<ImportedUser> users = new ArrayList<>(batch.users().size());
+        for (PendingUser user : batch.users()) {
+            UserImportRecordDTO record = user.record();
+            users.add(new ImportedUser(record.getFirstName(), record.getLastName(), record.getEmail(), await(user.passwordHash()), record.getProfileImg()));
+        }
+
+        if (!users.isEmpty()) {
+            boolean[] inserted = userImportRepository.insertBatch(users, role.getRoleId());
+            for (boolean isInserted : inserted) {
+                if (isInserted) report.setImported(report.getImported() + 1);
+                else report.setSkipped(report.getSkipped() + 1);
+            }
+        }
+
+        report.setCheckpoint(batch.lastLine());
+        listener.onProgress(report);
+    }
+
+    private void reportError(UserImportReportDTO report, UserImportListener listener, long line, String email, String message) {
+        UserImportErrorDTO error = new UserImportErrorDTO(line, email, message);
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < properties.getMaxReportedErrors()) report.getErrors().add(error);
+        listener.onError(error);
+    }
+
+    private static String await(Future<String> passwordHash) {
+        try {
+            return passwordHash.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to hash an imported password", ex.getCause());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.selflearntech.tech_blog_backend.datasource.ReadReplicaRouting;
 import com.selflearntech.tech_blog_backend.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -22,7 +23,9 @@ public class UserService implements IUserService, UserDetailsService {
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.info("In the user details service");
 
+        // a user who registered moments ago may not have reached the replica yet
         return userRepository.findByEmail(email)
+            .or(() -> ReadReplicaRouting.onPrimary(() -> userRepository.findByEmail(email)))
             .orElseThrow(() -> new UsernameNotFoundException("User is not valid"));
     }
 
@@ -0,0 +1,18 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+public class ConstraintViolations {
+
+    /**
+     * Whether {@code ex} (or one of its causes) reports a violation of the named database constraint.
+     */
+    public static boolean isViolationOf(Throwable ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraintName.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+}
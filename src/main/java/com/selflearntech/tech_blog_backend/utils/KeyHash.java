@@ -0,0 +1,26 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+/**
+ * Allocation-free 64-bit hash of a namespaced string key, for the in-memory tables that index by hash alone.
+ * Not cryptographic.
+ */
+public final class KeyHash {
+
+    private KeyHash() {
+    }
+
+    public static long hash(String namespace, String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < namespace.length(); i++) hash = (hash ^ namespace.charAt(i)) * 0x100000001b3L;
+        hash = (hash ^ '|') * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+
+        // murmur3 finalizer, FNV-1a alone leaves the high bits poorly mixed
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
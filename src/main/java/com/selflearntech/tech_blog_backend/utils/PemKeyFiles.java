@@ -0,0 +1,65 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+public class PemKeyFiles {
+
+    private static final String PRIVATE_KEY = "PRIVATE KEY";
+    private static final String PUBLIC_KEY = "PUBLIC KEY";
+
+    public static void writePrivateKey(Path path, PrivateKey key) throws IOException {
+        write(path, PRIVATE_KEY, key.getEncoded(), true);
+    }
+
+    public static void writePublicKey(Path path, PublicKey key) throws IOException {
+        write(path, PUBLIC_KEY, key.getEncoded(), false);
+    }
+
+    public static PrivateKey readPrivateKey(Path path, String algorithm) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(read(path, PRIVATE_KEY)));
+    }
+
+    public static PublicKey readPublicKey(Path path, String algorithm) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(read(path, PUBLIC_KEY)));
+    }
+
+    private static byte[] read(Path path, String type) throws IOException {
+        String pem = Files.readString(path, StandardCharsets.US_ASCII);
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+        int start = pem.indexOf(begin);
+        int stop = pem.indexOf(end);
+
+        if (start < 0 || stop < start) throw new IOException("No " + type + " PEM block in " + path);
+
+        return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), stop));
+    }
+
+    // Writes to a temporary file first so that other nodes reading the shared directory never see a partial key
+    private static void write(Path path, String type, byte[] der, boolean ownerOnly) throws IOException {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            if (ownerOnly && temp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Files.writeString(temp, pem, StandardCharsets.US_ASCII);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position after the last story of a page, handed to clients as an opaque URL-safe string: the story's
+ * {@code updatedAt} in epoch milliseconds (MongoDB's precision) followed by its 12-byte ObjectId.
+ */
+public record StoryCursor(Instant updatedAt, ObjectId id) {
+
+    private static final int LENGTH = Long.BYTES + 12;
+
+    public static StoryCursor after(String id, Instant updatedAt) {
+        return new StoryCursor(updatedAt, new ObjectId(id));
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH).putLong(updatedAt.toEpochMilli()).put(id.toByteArray());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a cursor this class encoded
+     */
+    public static StoryCursor decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != LENGTH) throw new IllegalArgumentException("Story cursor must be " + LENGTH + " bytes");
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant updatedAt = Instant.ofEpochMilli(buffer.getLong());
+        byte[] id = new byte[12];
+        buffer.get(id);
+        return new StoryCursor(updatedAt, new ObjectId(id));
+    }
+}
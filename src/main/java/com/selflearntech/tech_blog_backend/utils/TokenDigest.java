@@ -0,0 +1,57 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 digest of a raw token value. Used as a fixed-size key wherever a token has to be looked up
+ * without keeping the bearer value itself around.
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private final byte[] value;
+    private final int hash;
+
+    private TokenDigest(byte[] value) {
+        this.value = value;
+        this.hash = Arrays.hashCode(value);
+    }
+
+    public static TokenDigest of(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return new TokenDigest(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static TokenDigest fromBytes(byte[] value) {
+        if (value.length != LENGTH) throw new IllegalArgumentException("Token digest must be " + LENGTH + " bytes");
+        return new TokenDigest(value.clone());
+    }
+
+    public byte[] bytes() {
+        return value.clone();
+    }
+
+    public boolean matches(byte[] other) {
+        return other != null && MessageDigest.isEqual(value, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TokenDigest other)) return false;
+        return hash == other.hash && MessageDigest.isEqual(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
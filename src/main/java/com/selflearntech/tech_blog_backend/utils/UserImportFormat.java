@@ -0,0 +1,32 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+public enum UserImportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    UserImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static UserImportFormat of(MediaType mediaType) {
+        for (UserImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) return format;
+        }
+        throw new IllegalArgumentException("Unsupported import format " + mediaType);
+    }
+
+    public static UserImportFormat of(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+}
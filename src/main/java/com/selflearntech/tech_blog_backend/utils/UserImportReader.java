@@ -0,0 +1,144 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.selflearntech.tech_blog_backend.dto.UserImportRecordDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a user import one line at a time, so an export of any size is never held in memory. NDJSON has one JSON
+ * object per line; CSV starts with a header naming the columns ({@code first_name}, {@code last_name},
+ * {@code email}, {@code password} and optionally {@code profile_img}) and does not support line breaks inside fields.
+ * <p>
+ * Rows are numbered by their physical line, which is what import checkpoints refer to. A malformed line yields a
+ * row carrying the error rather than failing the import.
+ */
+public class UserImportReader implements Closeable {
+
+    public record Row(long line, UserImportRecordDTO record, String error) {
+    }
+
+    private static final List<String> CSV_COLUMNS = List.of("firstname", "lastname", "email", "password", "profileimg");
+    private static final int REQUIRED_CSV_COLUMNS = 4;
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectReader jsonReader;
+    private int[] csvColumns;
+    private long line;
+
+    public UserImportReader(Reader reader, UserImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(UserImportRecordDTO.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        if (format == UserImportFormat.CSV) readCsvHeader();
+    }
+
+    /**
+     * Skips every line up to and including {@code lastLine}, e.g. the checkpoint of an interrupted import.
+     */
+    public void skipTo(long lastLine) throws IOException {
+        while (line < lastLine && reader.readLine() != null) line++;
+    }
+
+    /**
+     * The next non-blank line, or {@code null} at the end of the input.
+     */
+    public Row next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return new Row(line, format == UserImportFormat.CSV ? parseCsv(text) : jsonReader.readValue(text), null);
+        } catch (JsonProcessingException ex) {
+            return new Row(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            return new Row(line, null, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = reader.readLine();
+        if (header == null) throw new IllegalArgumentException("CSV import is empty, expected a header line");
+        line++;
+
+        csvColumns = new int[CSV_COLUMNS.size()];
+        Arrays.fill(csvColumns, -1);
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            int column = CSV_COLUMNS.indexOf(names.get(i).replaceAll("[_\\-\\s]", "").toLowerCase(Locale.ROOT));
+            if (column >= 0) csvColumns[column] = i;
+        }
+
+        for (int column = 0; column < REQUIRED_CSV_COLUMNS; column++) {
+            if (csvColumns[column] < 0) throw new IllegalArgumentException("CSV header lacks column " + CSV_COLUMNS.get(column));
+        }
+    }
+
+    private UserImportRecordDTO parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        return UserImportRecordDTO.builder()
+                .firstName(field(fields, 0))
+                .lastName(field(fields, 1))
+                .email(field(fields, 2))
+                .password(field(fields, 3))
+                .profileImg(field(fields, 4))
+                .build();
+    }
+
+    private String field(List<String> fields, int column) {
+        int index = csvColumns[column];
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted CSV field");
+        fields.add(field.toString());
+        return fields;
+    }
+}
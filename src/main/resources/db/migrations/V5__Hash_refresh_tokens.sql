@@ -0,0 +1,12 @@
+ALTER TABLE tokens ADD COLUMN refresh_token_hash BYTEA;
+
+UPDATE tokens SET refresh_token_hash = sha256(convert_to(refresh_token, 'UTF8'));
+
+ALTER TABLE tokens
+    ALTER COLUMN refresh_token_hash SET NOT NULL,
+    ADD CONSTRAINT tokens_refresh_token_hash_length CHECK (octet_length(refresh_token_hash) = 32);
+
+DROP INDEX IF EXISTS idx_refresh_token;
+ALTER TABLE tokens DROP COLUMN refresh_token;
+
+CREATE UNIQUE INDEX idx_tokens_refresh_token_hash ON tokens(refresh_token_hash);
@@ -0,0 +1,2 @@
+-- email is covered by users_email_unique, which registration relies on to detect taken emails
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
@@ -0,0 +1,2 @@
+-- keyset order of the refresh token purge: expired rows are a range at the start of the index
+CREATE INDEX IF NOT EXISTS idx_tokens_expire_time ON tokens(expire_time, token_id);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS token_revocations (
+    revocation_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    jti VARCHAR(64),
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+-- every node reloads the unexpired rows, and expired ones are deleted
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
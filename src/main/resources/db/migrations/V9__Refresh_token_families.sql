@@ -0,0 +1,25 @@
+-- a user keeps one refresh token per device: every login starts a family, every refresh rotates within it
+ALTER TABLE tokens DROP CONSTRAINT IF EXISTS tokens_user_id_key;
+
+ALTER TABLE tokens
+    ADD COLUMN family_id UUID,
+    ADD COLUMN device VARCHAR(255),
+    ADD COLUMN session_started_at TIMESTAMP,
+    ADD COLUMN issued_at TIMESTAMP,
+    ADD COLUMN rotated_at TIMESTAMP;
+
+-- existing tokens become single-token families issued seven days before they expire
+UPDATE tokens
+SET family_id = gen_random_uuid(),
+    session_started_at = expire_time - INTERVAL '7 days',
+    issued_at = expire_time - INTERVAL '7 days';
+
+ALTER TABLE tokens
+    ALTER COLUMN family_id SET NOT NULL,
+    ALTER COLUMN session_started_at SET NOT NULL,
+    ALTER COLUMN issued_at SET NOT NULL;
+
+-- revoking a family on reuse or logout
+CREATE INDEX idx_tokens_family_id ON tokens(family_id);
+-- listing and revoking a user's sessions, which only ever looks at the valid token of each family
+CREATE INDEX idx_tokens_user_id ON tokens(user_id) WHERE is_valid;
@@ -1,6 +1,7 @@
 package com.selflearntech.tech_blog_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.config.RefreshTokenProperties;
 import com.selflearntech.tech_blog_backend.config.SecurityConfig;
 import com.selflearntech.tech_blog_backend.dto.AuthenticationDTO;
 import com.selflearntech.tech_blog_backend.dto.RegistrationDTO;
@@ -9,16 +10,21 @@ import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
 import com.selflearntech.tech_blog_backend.exception.*;
 import com.selflearntech.tech_blog_backend.mapper.UserMapper;
 import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
 import com.selflearntech.tech_blog_backend.service.impl.AuthenticationService;
+import com.selflearntech.tech_blog_backend.service.impl.SessionService;
 import com.selflearntech.tech_blog_backend.test_data.AuthenticationDTOMother;
 import com.selflearntech.tech_blog_backend.test_data.RegistrationDTOMother;
-import com.selflearntech.tech_blog_backend.utils.RSAKeyProperties;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockCookie;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -26,17 +32,21 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.Set;
 
 import static com.selflearntech.tech_blog_backend.test_utils.ResponseBodyMatchers.responseBody;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthenticationController.class)
-@Import({SecurityConfig.class, RSAKeyProperties.class})
+@Import({SecurityConfig.class, RefreshTokenProperties.class})
 class AuthenticationControllerTest {
 
     @Autowired
@@ -47,9 +57,19 @@ class AuthenticationControllerTest {
     @MockBean
     private AuthenticationService authenticationService;
     @MockBean
+    private SessionService sessionService;
+    @MockBean
     private UserDetailsService userDetailsService;
     @MockBean
     private UserMapper userMapper;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
 
 
     @Nested
@@ -149,21 +169,23 @@ class AuthenticationControllerTest {
                     .refreshToken("refreshToken")
                     .build();
 
-            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword()))
+            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), "Mozilla/5.0"))
                     .willReturn(userWithRefreshAndAccessTokenDTO);
 
             // When
             mockMvc.perform(post("/auth/login")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.USER_AGENT, "Mozilla/5.0")
                     .content(objectMapper.writeValueAsString(authenticationDTO)))
                     .andExpect(status().isOk())
                     .andExpect(cookie().value("refresh-token", userWithRefreshAndAccessTokenDTO.getRefreshToken()))
                     .andExpect(cookie().httpOnly("refresh-token", true))
                     .andExpect(cookie().domain("refresh-token", "localhost"))
-                    .andExpect(cookie().path("refresh-token", "/auth/refresh"));
+                    .andExpect(cookie().path("refresh-token", "/auth/refresh"))
+                    .andExpect(cookie().maxAge("refresh-token", (int) Duration.ofDays(7).toSeconds()));
 
             // Then
-            then(authenticationService).should().authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword());
+            then(authenticationService).should().authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), "Mozilla/5.0");
             then(userMapper).should().toUserDTO(userWithRefreshAndAccessTokenDTO);
         }
 
@@ -172,7 +194,7 @@ class AuthenticationControllerTest {
             // Given
             AuthenticationDTO authenticationDTO = AuthenticationDTOMother.complete().build();
 
-            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword()))
+            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), null))
                     .willThrow(new UsernameNotFoundException(ErrorMessages.INVALID_CREDENTIALS));
 
             // When, Then
@@ -188,7 +210,7 @@ class AuthenticationControllerTest {
             // Given
             AuthenticationDTO authenticationDTO = AuthenticationDTOMother.complete().build();
 
-            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword()))
+            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), null))
                     .willThrow(new BadCredentialsException(ErrorMessages.INVALID_CREDENTIALS));
 
 
@@ -200,6 +222,23 @@ class AuthenticationControllerTest {
                     .andExpect(jsonPath("$.message").value(ErrorMessages.INVALID_CREDENTIALS));
         }
 
+        @Test
+        void authenticateUser_WithPasswordHashingSaturated_ShouldReturn429StatusWithRetryAfter() throws Exception {
+            // Given
+            AuthenticationDTO authenticationDTO = AuthenticationDTOMother.complete().build();
+
+            given(authenticationService.authenticateUser(authenticationDTO.getEmail(), authenticationDTO.getPassword(), null))
+                    .willThrow(new PasswordHashingRejectedException(ErrorMessages.TOO_MANY_REQUESTS, Duration.ofSeconds(2)));
+
+            // When, Then
+            mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(authenticationDTO)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.message").value(ErrorMessages.TOO_MANY_REQUESTS));
+        }
+
         @Test
         void authenticateUser_WithInvalidEmailFormat_ShouldReturn400StatusWithValidationError() throws Exception {
             // Given
@@ -222,14 +261,19 @@ class AuthenticationControllerTest {
     @Nested
     public class RefreshToken {
         @Test
-        void refreshAccessToken_WithValidCookie_ShouldReturnNewAccessToken() throws Exception {
+        void refreshAccessToken_WithValidCookie_ShouldReturnNewAccessTokenAndRotatedRefreshToken() throws Exception {
             // Given
             String refreshToken = "refreshToken";
+            UserWithRefreshAndAccessTokenDTO refreshed = UserWithRefreshAndAccessTokenDTO.builder()
+                    .accessToken("accessToken")
+                    .refreshToken("nextRefreshToken")
+                    .build();
             UserDTO userDTO = new UserDTO("John", "Doe", "john.doe@gmail.com", "", Set.of("ADMIN", "USER"), "accessToken");
 
             MockCookie refreshTokenCookie = new MockCookie("refresh-token", refreshToken);
 
-            given(authenticationService.refreshAccessToken(refreshToken)).willReturn(userDTO);;
+            given(authenticationService.refreshAccessToken(refreshToken)).willReturn(refreshed);
+            given(userMapper.toUserDTO(refreshed)).willReturn(userDTO);
 
             // When
             mockMvc.perform(post("/auth/refresh")
@@ -237,6 +281,32 @@ class AuthenticationControllerTest {
                     .cookie(refreshTokenCookie))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(cookie().value("refresh-token", "nextRefreshToken"))
+                    .andExpect(cookie().path("refresh-token", "/auth/refresh"))
+                    .andExpect(responseBody().containsObjectAsJson(userDTO, UserDTO.class));
+
+            // Then
+            then(authenticationService).should().refreshAccessToken(refreshToken);
+        }
+
+        @Test
+        void refreshAccessToken_WithTokenJustRotatedByConcurrentRefresh_ShouldLeaveCookieAlone() throws Exception {
+            // Given
+            String refreshToken = "refreshToken";
+            UserWithRefreshAndAccessTokenDTO refreshed = UserWithRefreshAndAccessTokenDTO.builder()
+                    .accessToken("accessToken")
+                    .build();
+            UserDTO userDTO = new UserDTO("John", "Doe", "john.doe@gmail.com", "", Set.of("USER"), "accessToken");
+
+            given(authenticationService.refreshAccessToken(refreshToken)).willReturn(refreshed);
+            given(userMapper.toUserDTO(refreshed)).willReturn(userDTO);
+
+            // When
+            mockMvc.perform(post("/auth/refresh")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cookie(new MockCookie("refresh-token", refreshToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE))
                     .andExpect(responseBody().containsObjectAsJson(userDTO, UserDTO.class));
 
             // Then
@@ -280,4 +350,34 @@ class AuthenticationControllerTest {
         }
     }
 
+    @Nested
+    public class Logout {
+        @Test
+        void logout_WithAccessToken_ShouldRevokeItAndClearRefreshTokenCookie() throws Exception {
+            // Given
+
+
+            // When
+            mockMvc.perform(post("/auth/logout")
+                            .with(jwt().jwt(jwt -> jwt.subject("john.doe@gmail.com").jti("tokenId"))))
+                    .andExpect(status().isNoContent())
+                    .andExpect(header().string("Set-Cookie", containsString("Max-Age=0")));
+
+            // Then
+            then(sessionService).should().logout(argThat(jwt -> "tokenId".equals(jwt.getId())));
+        }
+
+        @Test
+        void logout_WithoutAccessToken_ShouldReturn401Status() throws Exception {
+            // Given
+
+
+            // When
+            mockMvc.perform(post("/auth/logout"))
+                    .andExpect(status().isUnauthorized());
+
+            // Then
+            then(sessionService).shouldHaveNoInteractions();
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JwksController.class)
+@Import({SecurityConfig.class, SigningKeyProperties.class})
+class JwksControllerTest {
+
+    private static final SigningKeyManager.Jwks JWKS = new SigningKeyManager.Jwks("{\"keys\":[]}", "\"etag\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void getJwks_WithoutCredentials_ShouldReturnCacheableKeySet() throws Exception {
+        // Given
+        given(signingKeyManager.publishedJwks()).willReturn(JWKS);
+
+        // When
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(content().json("{\"keys\":[]}"));
+    }
+
+    @Test
+    void getJwks_WithMatchingETag_ShouldReturn304() throws Exception {
+        // Given
+        given(signingKeyManager.publishedJwks()).willReturn(JWKS);
+
+        // When
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
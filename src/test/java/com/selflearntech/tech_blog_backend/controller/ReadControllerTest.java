@@ -0,0 +1,105 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import com.selflearntech.tech_blog_backend.config.PublishedStoryCacheProperties;
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.StoryNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.rendering.ContentCoding;
+import com.selflearntech.tech_blog_backend.rendering.MarkdownRenderer;
+import com.selflearntech.tech_blog_backend.rendering.RenderedStory;
+import com.selflearntech.tech_blog_backend.rendering.StoryRenderer;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import com.selflearntech.tech_blog_backend.service.impl.PublishedStoryService;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReadController.class)
+@Import(SecurityConfig.class)
+class ReadControllerTest {
+
+    private static final String STORY_ID = "6571a2f0c3b2a54e1d2f3a4b";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PublishedStoryService publishedStoryService;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    private final RenderedStory story = new StoryRenderer(Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(),
+            Mappers.getMapper(StoryMapper.class), new MarkdownRenderer(new MarkdownProperties(), new SimpleMeterRegistry()),
+            new PublishedStoryCacheProperties())
+            .render(StoryMother.complete().status(StoryStatus.PUBLISHED).body("Skip less, seek more. ".repeat(50)).build());
+
+    @Test
+    void getPublishedStory_WithoutTokenAcceptingGzip_ShouldReturnGzipBodyAndItsEntityTag() throws Exception {
+        // Given
+        given(publishedStoryService.getPublishedStory(STORY_ID)).willReturn(story);
+
+        // When
+        mockMvc.perform(get("/read/stories/{storyId}", STORY_ID)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, story.eTag(ContentCoding.GZIP)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(story.body(ContentCoding.GZIP)));
+    }
+
+    @Test
+    void getPublishedStory_WithMatchingEntityTag_ShouldReturn304Status() throws Exception {
+        // Given
+        given(publishedStoryService.getPublishedStory(STORY_ID)).willReturn(story);
+
+        // When
+        mockMvc.perform(get("/read/stories/{storyId}", STORY_ID)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br")
+                        .header(HttpHeaders.IF_NONE_MATCH, story.eTag(ContentCoding.IDENTITY)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, story.eTag(ContentCoding.BROTLI)))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getPublishedStory_WithStoryNotPublished_ShouldReturn404Status() throws Exception {
+        // Given
+        given(publishedStoryService.getPublishedStory(STORY_ID)).willThrow(new StoryNotFoundException(ErrorMessages.STORY_NOT_FOUND));
+
+        // When
+        mockMvc.perform(get("/read/stories/{storyId}", STORY_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(ErrorMessages.STORY_NOT_FOUND));
+    }
+}
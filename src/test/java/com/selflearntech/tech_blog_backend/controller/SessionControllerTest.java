@@ -0,0 +1,114 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.SessionNotFoundException;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import com.selflearntech.tech_blog_backend.service.impl.SessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SessionController.class)
+@Import(SecurityConfig.class)
+class SessionControllerTest {
+
+    private static final UUID SESSION_ID = UUID.fromString("11111111-1111-4111-8111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SessionService sessionService;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void listSessions_WithAccessToken_ShouldReturnSessionsOfTheUser() throws Exception {
+        // Given
+        SessionDTO session = SessionDTO.builder()
+                .sessionId(SESSION_ID)
+                .device("Mozilla/5.0")
+                .startedAt(Instant.parse("2024-12-13T12:15:00Z"))
+                .current(true)
+                .build();
+        given(sessionService.listSessions(argThat((Jwt jwt) -> "john.doe@gmail.com".equals(jwt.getSubject()))))
+                .willReturn(List.of(session));
+
+        // When
+        mockMvc.perform(get("/sessions")
+                        .with(jwt().jwt(jwt -> jwt.subject("john.doe@gmail.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sessionId").value(SESSION_ID.toString()))
+                .andExpect(jsonPath("$[0].device").value("Mozilla/5.0"))
+                .andExpect(jsonPath("$[0].current").value(true));
+    }
+
+    @Test
+    void revokeSession_WithUnknownSession_ShouldReturn404Status() throws Exception {
+        // Given
+        willThrow(new SessionNotFoundException(ErrorMessages.SESSION_NOT_FOUND))
+                .given(sessionService).revokeSession(any(Jwt.class), eq(SESSION_ID));
+
+        // When
+        mockMvc.perform(delete("/sessions/{sessionId}", SESSION_ID)
+                        .with(jwt().jwt(jwt -> jwt.subject("john.doe@gmail.com"))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(ErrorMessages.SESSION_NOT_FOUND));
+    }
+
+    @Test
+    void revokeUserSession_WithAdminRole_ShouldReturn204Status() throws Exception {
+        // When
+        mockMvc.perform(delete("/admin/users/{userId}/sessions/{sessionId}", 1, SESSION_ID)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isNoContent());
+
+        // Then
+        then(sessionService).should().revokeSession(1, SESSION_ID);
+    }
+
+    @Test
+    void listUserSessions_WithoutAdminRole_ShouldReturn403Status() throws Exception {
+        // When
+        mockMvc.perform(get("/admin/users/{userId}/sessions", 1)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+
+        // Then
+        then(sessionService).shouldHaveNoInteractions();
+    }
+}
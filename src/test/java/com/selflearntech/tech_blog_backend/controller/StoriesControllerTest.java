@@ -0,0 +1,162 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.dto.StoryPageDTO;
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import com.selflearntech.tech_blog_backend.service.impl.StorySearchService;
+import com.selflearntech.tech_blog_backend.service.impl.StoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StoriesController.class)
+@Import(SecurityConfig.class)
+class StoriesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StoryService storyService;
+    @MockBean
+    private StorySearchService storySearchService;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void getUserDraftStories_WithCursor_ShouldReturnPageAndNextCursor() throws Exception {
+        // Given
+        StorySummaryDTO story = StorySummaryDTO.builder()
+                .id("6571a2f0c3b2a54e1d2f3a4b")
+                .status(StoryStatus.DRAFT)
+                .title("Keyset pagination in MongoDB")
+                .updatedAt(Instant.parse("2024-12-13T12:15:00Z"))
+                .build();
+        given(storyService.listStories(any(Jwt.class), eq(StoryStatus.DRAFT), eq("cursor"), eq(10)))
+                .willReturn(new StoryPageDTO(List.of(story), "next"));
+
+        // When
+        mockMvc.perform(get("/stories/drafts")
+                        .param("cursor", "cursor")
+                        .param("size", "10")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stories[0].id").value("6571a2f0c3b2a54e1d2f3a4b"))
+                .andExpect(jsonPath("$.stories[0].body").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getUserPublishedStories_WithPageSizeAboveMaximum_ShouldReturn400Status() throws Exception {
+        // When
+        mockMvc.perform(get("/stories/published")
+                        .param("size", "101")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        then(storyService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void getUserDraftStories_WithoutWriterRole_ShouldReturn403Status() throws Exception {
+        // When
+        mockMvc.perform(get("/stories/drafts")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+
+        // Then
+        then(storyService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void searchStories_WithQuery_ShouldReturnRankedPublishedStories() throws Exception {
+        // Given
+        StorySummaryDTO story = StorySummaryDTO.builder()
+                .id("6571a2f0c3b2a54e1d2f3a4b")
+                .status(StoryStatus.PUBLISHED)
+                .title("Keyset pagination in MongoDB")
+                .build();
+        given(storySearchService.search("paginating mongo", 5)).willReturn(List.of(story));
+
+        // When
+        mockMvc.perform(get("/stories/search")
+                        .param("q", "paginating mongo")
+                        .param("size", "5")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("6571a2f0c3b2a54e1d2f3a4b"))
+                .andExpect(jsonPath("$[0].body").doesNotExist());
+    }
+
+    @Test
+    void searchStories_WithBlankQuery_ShouldReturn400Status() throws Exception {
+        // When
+        mockMvc.perform(get("/stories/search")
+                        .param("q", " ")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        then(storySearchService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void searchStories_AsReaderWithUserRole_ShouldReturn200Status() throws Exception {
+        // Given
+        given(storySearchService.search("mongo", 20)).willReturn(List.of());
+
+        // When
+        mockMvc.perform(get("/stories/search")
+                        .param("q", "mongo")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isOk());
+
+        // Then
+        then(storySearchService).should().search("mongo", 20);
+    }
+
+    @Test
+    void searchStories_AsAnonymousReader_ShouldReturn200Status() throws Exception {
+        // Given
+        given(storySearchService.search("mongo", 20)).willReturn(List.of());
+
+        // When
+        mockMvc.perform(get("/stories/search")
+                        .param("q", "mongo"))
+                .andExpect(status().isOk());
+
+        // Then
+        then(storySearchService).should().search("mongo", 20);
+    }
+}
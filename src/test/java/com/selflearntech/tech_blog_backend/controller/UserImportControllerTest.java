@@ -0,0 +1,135 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.dto.UserImportErrorDTO;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.UserImportInProgressException;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import com.selflearntech.tech_blog_backend.service.UserImportListener;
+import com.selflearntech.tech_blog_backend.service.impl.UserImportService;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import com.selflearntech.tech_blog_backend.utils.UserImportReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserImportController.class)
+@Import(SecurityConfig.class)
+class UserImportControllerTest {
+
+    private static final String BODY = """
+            {"firstName":"John","lastName":"Doe","email":"john.doe@gmail.com","password":"secret"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void importUsers_AsAdmin_ShouldStreamAReportPerBatchWithCheckpointAndNewErrors() throws Exception {
+        // Given
+        UserImportReader reader = mock(UserImportReader.class);
+        given(userImportService.open(any(), eq(UserImportFormat.NDJSON))).willReturn(reader);
+        given(userImportService.startImport(eq(reader), eq(500L), any())).willAnswer(invocation -> {
+            UserImportListener listener = invocation.getArgument(2);
+            UserImportReportDTO report = UserImportReportDTO.builder()
+                    .processed(500).imported(499).failed(1).checkpoint(1000)
+                    .errors(new ArrayList<>(List.of(new UserImportErrorDTO(742, "not-an-email", "email must be a well-formed email address"))))
+                    .build();
+            listener.onProgress(report);
+            report.setProcessed(700);
+            report.setImported(699);
+            report.setCheckpoint(1200);
+            listener.onProgress(report);
+            report.setCompleted(true);
+            return CompletableFuture.completedFuture(report);
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(post("/admin/users/import")
+                        .param("resumeAfter", "500")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(BODY)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String stream = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(stream.split("\n")).containsExactly(
+                "{\"processed\":500,\"imported\":499,\"skipped\":0,\"failed\":1,\"checkpoint\":1000,\"completed\":false,"
+                        + "\"errors\":[{\"line\":742,\"email\":\"not-an-email\",\"message\":\"email must be a well-formed email address\"}]}",
+                "{\"processed\":700,\"imported\":699,\"skipped\":0,\"failed\":1,\"checkpoint\":1200,\"completed\":false,\"errors\":[]}",
+                "{\"processed\":700,\"imported\":699,\"skipped\":0,\"failed\":1,\"checkpoint\":1200,\"completed\":true,\"errors\":[]}");
+    }
+
+    @Test
+    void importUsers_WhileAnotherImportRuns_ShouldReturnConflict() throws Exception {
+        // Given
+        given(userImportService.open(any(), eq(UserImportFormat.NDJSON))).willReturn(mock(UserImportReader.class));
+        given(userImportService.startImport(any(), eq(0L), any()))
+                .willThrow(new UserImportInProgressException(ErrorMessages.USER_IMPORT_IN_PROGRESS));
+
+        // When
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(BODY)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(ErrorMessages.USER_IMPORT_IN_PROGRESS));
+    }
+
+    @Test
+    void importUsers_WithoutAdminRole_ShouldReturnForbidden() throws Exception {
+        // When
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(BODY)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                .andExpect(status().isForbidden());
+
+        // Then
+        then(userImportService).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,126 @@
+package com.selflearntech.tech_blog_backend.controller;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.dto.DraftPatchDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.exception.DraftConflictException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.security.PasswordHashingEngine;
+import com.selflearntech.tech_blog_backend.security.RateLimiter;
+import com.selflearntech.tech_blog_backend.security.SigningKeyManager;
+import com.selflearntech.tech_blog_backend.security.VerifiedJwtAuthenticationManager;
+import com.selflearntech.tech_blog_backend.service.impl.DraftService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WriteController.class)
+@Import(SecurityConfig.class)
+class WriteControllerTest {
+
+    private static final String DRAFT_ID = "6571a2f0c3b2a54e1d2f3a4b";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DraftService draftService;
+    @MockBean
+    private UserDetailsService userDetailsService;
+    @MockBean
+    private PasswordHashingEngine passwordHashingEngine;
+    @MockBean
+    private SigningKeyManager signingKeyManager;
+    @MockBean
+    private VerifiedJwtAuthenticationManager verifiedJwtAuthenticationManager;
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Test
+    void saveDraft_WithPatch_ShouldReturnNewVersion() throws Exception {
+        // Given
+        given(draftService.saveDraft(any(Jwt.class), eq(DRAFT_ID), argThat((DraftPatchDTO patch) ->
+                patch.getBaseVersion() == 4 && patch.getEdits().get(0).getText().equals("!"))))
+                .willReturn(new DraftVersionDTO(DRAFT_ID, 5L, Instant.parse("2024-12-13T12:15:00Z")));
+
+        // When
+        mockMvc.perform(patch("/write/drafts/{storyId}", DRAFT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "baseVersion": 4, "edits": [ { "position": 5, "deleteCount": 0, "text": "!" } ] }
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void saveDraft_WithStaleBaseVersion_ShouldReturn409Status() throws Exception {
+        // Given
+        given(draftService.saveDraft(any(Jwt.class), eq(DRAFT_ID), any(DraftPatchDTO.class)))
+                .willThrow(new DraftConflictException(ErrorMessages.DRAFT_VERSION_CONFLICT));
+
+        // When
+        mockMvc.perform(patch("/write/drafts/{storyId}", DRAFT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "baseVersion": 3, "title": "Keyset pagination" }
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(ErrorMessages.DRAFT_VERSION_CONFLICT));
+    }
+
+    @Test
+    void saveDraft_WithoutBaseVersionOrWithNegativePosition_ShouldReturn400Status() throws Exception {
+        // When
+        mockMvc.perform(patch("/write/drafts/{storyId}", DRAFT_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "edits": [ { "position": -1, "deleteCount": 0, "text": "!" } ] }
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_WRITER"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[?(@.field == 'baseVersion')]").exists())
+                .andExpect(jsonPath("$.errors[?(@.field == 'edits[0].position')]").exists());
+
+        // Then
+        then(draftService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void saveDraft_PreflightFromEditorOrigin_ShouldAllowPatch() throws Exception {
+        // When
+        mockMvc.perform(options("/write/drafts/{storyId}", DRAFT_ID)
+                        .header(HttpHeaders.ORIGIN, "http://localhost:5173")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "Authorization, Content-Type"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:5173"))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, containsString("PATCH")));
+
+        // Then
+        then(draftService).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,237 @@
+package com.selflearntech.tech_blog_backend.datasource;
+
+import com.selflearntech.tech_blog_backend.config.ReadReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replicaA;
+    @Mock
+    private DataSource replicaB;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaAConnection;
+    @Mock
+    private Connection replicaBConnection;
+
+    private MeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource cut;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        given(primary.getConnection()).willReturn(primaryConnection);
+        given(replicaA.getConnection()).willReturn(replicaAConnection);
+        given(replicaB.getConnection()).willReturn(replicaBConnection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replicaA);
+        replicas.put("replica-1", replicaB);
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new ReplicaRoutingDataSource(primary, replicas, new ReadReplicaProperties(), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadReplicaRouting.clearConsistencyKey();
+    }
+
+    @Test
+    void getConnection_BeforeFirstHealthCheck_ShouldUsePrimary() throws SQLException {
+        // When & Then
+        assertThat(cut.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "no_healthy_replica")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_WithHealthyReplicas_ShouldAlternateBetweenThem() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+
+        // When & Then
+        assertThat(cut.getConnection()).isSameAs(replicaAConnection);
+        assertThat(cut.getConnection()).isSameAs(replicaBConnection);
+        assertThat(cut.getConnection()).isSameAs(replicaAConnection);
+        assertThat(routed("replica-0", "read_only")).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("replica", "replica-1").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_WithLaggingReplica_ShouldSkipIt() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 60);
+        givenLag(replicaBConnection, 0.5);
+        cut.checkHealth();
+
+        // When & Then
+        assertThat(cut.getConnection()).isSameAs(replicaBConnection);
+        assertThat(cut.getConnection()).isSameAs(replicaBConnection);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-0").gauge().value()).isEqualTo(60);
+    }
+
+    @Test
+    void getConnection_WhenReplicasRefuseConnections_ShouldFallBackToPrimaryUntilTheyRecover() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+        given(replicaA.getConnection()).willThrow(new SQLTransientConnectionException("timeout"));
+        given(replicaB.getConnection()).willThrow(new SQLTransientConnectionException("timeout"));
+
+        // When & Then
+        assertThat(cut.getConnection()).isSameAs(primaryConnection);
+        assertThat(cut.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "replica_failure")).isEqualTo(1);
+        assertThat(routed("primary", "no_healthy_replica")).isEqualTo(1);
+
+        willReturn(replicaAConnection).given(replicaA).getConnection();
+        cut.checkHealth();
+        assertThat(cut.getConnection()).isSameAs(replicaAConnection);
+    }
+
+    @Test
+    void getConnection_AfterTheUserWrote_ShouldReadTheirWritesFromPrimary() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+        ReadReplicaRouting.bindConsistencyKey("john.doe@gmail.com");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        cut.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertThat(cut.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("primary", "read_write")).isEqualTo(1);
+        assertThat(routed("primary", "read_your_writes")).isEqualTo(1);
+
+        ReadReplicaRouting.bindConsistencyKey("jane.doe@gmail.com");
+        assertThat(cut.getConnection()).isSameAs(replicaAConnection);
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldRouteLikeGetConnectionAndPassCredentialsOn() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+        given(replicaA.getConnection("reporting", "secret")).willReturn(replicaAConnection);
+        given(primary.getConnection("reporting", "secret")).willReturn(primaryConnection);
+
+        // When
+        Connection read = cut.getConnection("reporting", "secret");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        Connection write = cut.getConnection("reporting", "secret");
+
+        // Then
+        assertThat(read).isSameAs(replicaAConnection);
+        assertThat(write).isSameAs(primaryConnection);
+        assertThat(routed("primary", "read_write")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_OnPrimary_ShouldUsePrimary() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+
+        // When
+        Connection connection = ReadReplicaRouting.onPrimary(() -> {
+            try {
+                return cut.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(routed("primary", "primary_required")).isEqualTo(1);
+        assertThat(cut.getConnection()).isSameAs(replicaAConnection);
+    }
+
+    @Test
+    void lazyProxy_ShouldRouteReadOnlyTransactionsToReplicasAndTheRestToPrimary() throws SQLException {
+        // Given
+        givenLag(replicaAConnection, 0);
+        givenLag(replicaBConnection, 0);
+        cut.checkHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        given(primaryConnection.getAutoCommit()).willReturn(true);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(cut);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // When
+        Connection readConnection = readOnly.execute(status -> targetConnection(dataSource));
+        Connection writeConnection = readWrite.execute(status -> targetConnection(dataSource));
+
+        // Then
+        assertThat(readConnection).isSameAs(replicaAConnection);
+        assertThat(writeConnection).isSameAs(primaryConnection);
+    }
+
+    private static Connection targetConnection(DataSource dataSource) {
+        try {
+            // the first statement makes the lazy proxy fetch its target
+            DataSourceUtils.getConnection(dataSource).createStatement();
+            return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void givenLag(Connection connection, double lagSeconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(anyString())).willReturn(resultSet);
+        given(resultSet.next()).willReturn(true);
+        given(resultSet.getDouble(1)).willReturn(lagSeconds);
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
@@ -4,7 +4,6 @@ import com.selflearntech.tech_blog_backend.dto.UserDTO;
 import com.selflearntech.tech_blog_backend.dto.UserWithRefreshAndAccessTokenDTO;
 import com.selflearntech.tech_blog_backend.model.User;
 import com.selflearntech.tech_blog_backend.test_data.RoleMother;
-import com.selflearntech.tech_blog_backend.test_data.TokenMother;
 import com.selflearntech.tech_blog_backend.test_data.UserMother;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -28,12 +27,12 @@ class UserMapperTest {
         // Given
         User user = UserMother.complete()
                 .authorities(Set.of(RoleMother.ADMIN().build()))
-                .token(TokenMother.complete().build())
                 .build();
         String accessToken = "accessToken";
+        String refreshToken = "refreshToken";
 
         // When
-        UserWithRefreshAndAccessTokenDTO userDTO = cut.toUserWithAccessAndRefreshTokenDTO(user, accessToken);
+        UserWithRefreshAndAccessTokenDTO userDTO = cut.toUserWithAccessAndRefreshTokenDTO(user, accessToken, refreshToken);
 
         // Then
         assertThat(userDTO.getFirstName()).isEqualTo(user.getFirstName());
@@ -42,7 +41,7 @@ class UserMapperTest {
         assertThat(userDTO.getProfileImg()).isEqualTo(user.getProfileImg());
         assertThat(userDTO.getAccessToken()).isEqualTo(accessToken);
         assertThat(userDTO.getRoles()).isEqualTo(Set.of("ADMIN"));
-        assertThat(userDTO.getRefreshToken()).isEqualTo(user.getToken().getRefreshToken());
+        assertThat(userDTO.getRefreshToken()).isEqualTo(refreshToken);
     }
 
     @Test
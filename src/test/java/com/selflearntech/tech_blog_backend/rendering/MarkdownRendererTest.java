@@ -0,0 +1,132 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownRendererTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MarkdownRenderer cut = new MarkdownRenderer(new MarkdownProperties(), meterRegistry);
+
+    @Test
+    void render_WithRawHtmlAndUnsafeUrls_ShouldEscapeAndDropThem() {
+        // When
+        String html = cut.render("""
+                <script>alert(1)</script>
+
+                Click [here](javascript:alert(1)) or <b onclick="x()">there</b>, ~~not~~ [docs](https://docs.spring.io).
+
+                | a | b |
+                |---|---|
+                | 1 | 2 |
+                """);
+
+        // Then
+        assertThat(html)
+                .doesNotContain("<script", "javascript:", "<b ")
+                .contains("&lt;script&gt;", "<a rel=\"nofollow\" href=\"\">here</a>", "&lt;b onclick=&quot;x()&quot;&gt;", "<del>not</del>",
+                        "<a rel=\"nofollow\" href=\"https://docs.spring.io\">docs</a>", "<td>2</td>");
+    }
+
+    @Test
+    void render_WithFencedCode_ShouldHighlightKnownLanguageAndEscapeTheRest() {
+        // When
+        String html = cut.render("""
+                ```java
+                // greet
+                String greeting = "<hi>"; return 42;
+                ```
+
+                ```brainfuck <x>
+                +[<]
+                ```
+                """);
+
+        // Then
+        assertThat(html).contains("""
+                <pre><code class="language-java"><span class="hl-comment">// greet</span>
+                String greeting = <span class="hl-string">&quot;&lt;hi&gt;&quot;</span>; \
+                <span class="hl-keyword">return</span> <span class="hl-number">42</span>;
+                </code></pre>""");
+        assertThat(html).contains("<pre><code class=\"language-brainfuck\">+[&lt;]\n</code></pre>");
+    }
+
+    @Test
+    void render_AfterEditingOneBlock_ShouldReuseTheOthersAndRenderTheSameAsFromScratch() {
+        // Given
+        String original = "# Title\n\nFirst paragraph.\n\n- one\n- two\n\nLast [link][ref].\n\n[ref]: https://a.example\n";
+        String edited = original.replace("First paragraph.", "First paragraph, edited.");
+        cut.render(original);
+
+        // When
+        String html = cut.render(edited);
+
+        // Then
+        MarkdownRenderer fresh = new MarkdownRenderer(new MarkdownProperties(), new SimpleMeterRegistry());
+        assertThat(html).isEqualTo(fresh.render(edited)).contains("<a rel=\"nofollow\" href=\"https://a.example\">link</a>");
+        DistributionSummary reused = meterRegistry.get("stories.markdown.reused").summary();
+        assertThat(reused.count()).isEqualTo(2);
+        // 4 of the 5 blocks, the link reference definition included
+        assertThat(reused.totalAmount()).isEqualTo(0.8);
+        assertThat(meterRegistry.get("stories.markdown.render").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void render_BlockByBlock_ShouldMatchRenderingWholeDocument() {
+        // Given
+        MarkdownProperties withoutCache = new MarkdownProperties();
+        withoutCache.setBlockCacheSize(DataSize.ofBytes(0));
+        MarkdownRenderer wholeDocument = new MarkdownRenderer(withoutCache, new SimpleMeterRegistry());
+        String markdown = """
+                Setext *title*
+                ==============
+
+                  Indented [intro][ref] with a [nested] link
+                and a lazy line.
+
+                > quoted [nested]
+                continued lazily
+                >
+                > [nested]: /nested "Nested"
+
+                    indented code [ref]
+
+                1. loose
+
+                   item
+                2. list
+
+                | a | b |
+                |---|---|
+                | [x][ref] | ~~y~~ |
+
+                [ref]: https://a.example
+                [ref]: https://ignored.example
+
+                ```sql
+                select 1 -- [ref]
+                """;
+
+        // When & Then
+        assertThat(cut.render(markdown)).isEqualTo(wholeDocument.render(markdown))
+                .contains("<a rel=\"nofollow\" href=\"/nested\" title=\"Nested\">nested</a> link", "<td><a rel=\"nofollow\" href=\"https://a.example\">x</a></td>");
+        assertThat(cut.render(markdown)).isEqualTo(wholeDocument.render(markdown));
+    }
+
+    @Test
+    void render_WithChangedLinkReferenceDefinition_ShouldRenderReferencingBlocksAgain() {
+        // Given
+        cut.render("Read [the docs][ref].\n\n[ref]: https://a.example\n");
+
+        // When
+        String html = cut.render("Read [the docs][ref].\n\n[ref]: https://b.example\n");
+
+        // Then
+        assertThat(html).contains("<a rel=\"nofollow\" href=\"https://b.example\">the docs</a>");
+    }
+}
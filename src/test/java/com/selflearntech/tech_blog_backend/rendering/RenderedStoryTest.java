@@ -0,0 +1,54 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedStoryTest {
+
+    private final RenderedStory cut = renderedStory(ContentCoding.IDENTITY, ContentCoding.GZIP, ContentCoding.BROTLI);
+
+    @Test
+    void negotiate_ShouldPickHighestQualityAndDensestOnTie() {
+        // When & Then
+        assertThat(cut.negotiate(null)).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(cut.negotiate("gzip, deflate, br")).isEqualTo(ContentCoding.BROTLI);
+        assertThat(cut.negotiate("br;q=0.5, GZIP")).isEqualTo(ContentCoding.GZIP);
+        assertThat(cut.negotiate("br;q=0, gzip;q=0.5")).isEqualTo(ContentCoding.GZIP);
+        assertThat(cut.negotiate("identity;q=0, *;q=0.1")).isEqualTo(ContentCoding.BROTLI);
+        assertThat(cut.negotiate("deflate")).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(cut.negotiate("br;q=bogus, x-gzip")).isEqualTo(ContentCoding.GZIP);
+    }
+
+    @Test
+    void negotiate_WithPreferredCodingNotKept_ShouldFallBackToNextAcceptable() {
+        // Given
+        RenderedStory gzipOnly = renderedStory(ContentCoding.IDENTITY, ContentCoding.GZIP);
+
+        // When & Then
+        assertThat(gzipOnly.negotiate("br, gzip;q=0.2")).isEqualTo(ContentCoding.GZIP);
+        assertThat(gzipOnly.negotiate("br")).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    @Test
+    void matches_ShouldAcceptEntityTagOfAnyCodingAndWeakOrWildcardTags() {
+        // When & Then
+        assertThat(cut.eTag(ContentCoding.IDENTITY)).isEqualTo("\"hash\"");
+        assertThat(cut.eTag(ContentCoding.BROTLI)).isEqualTo("\"hash-br\"");
+        assertThat(cut.matches("\"hash-gzip\"")).isTrue();
+        assertThat(cut.matches("\"other\", W/\"hash\"")).isTrue();
+        assertThat(cut.matches("*")).isTrue();
+        assertThat(cut.matches("\"other\"")).isFalse();
+        assertThat(cut.matches("hash")).isFalse();
+        assertThat(cut.matches(null)).isFalse();
+    }
+
+    private static RenderedStory renderedStory(ContentCoding... codings) {
+        Map<ContentCoding, byte[]> bodies = new EnumMap<>(ContentCoding.class);
+        for (ContentCoding coding : codings) bodies.put(coding, new byte[]{(byte) coding.ordinal()});
+        return new RenderedStory("6571a2f0c3b2a54e1d2f3a4b", 1, "hash", bodies);
+    }
+}
@@ -0,0 +1,74 @@
+package com.selflearntech.tech_blog_backend.rendering;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import com.selflearntech.tech_blog_backend.config.PublishedStoryCacheProperties;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryRendererTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final StoryRenderer cut = new StoryRenderer(objectMapper, Mappers.getMapper(StoryMapper.class),
+            new MarkdownRenderer(new MarkdownProperties(), new SimpleMeterRegistry()), new PublishedStoryCacheProperties());
+
+    @Test
+    void render_WithLongStory_ShouldKeepJsonAndCompressedCodingsOfIt() throws Exception {
+        // Given
+        Story story = published().body("Seeking beats skipping for deep pages. ".repeat(200)).build();
+
+        // When
+        RenderedStory rendered = cut.render(story);
+
+        // Then
+        byte[] identity = rendered.body(ContentCoding.IDENTITY);
+        JsonNode json = objectMapper.readTree(identity);
+        assertThat(json.get("id").asText()).isEqualTo(story.getId());
+        assertThat(json.get("publishedAt").asText()).isEqualTo("2024-12-13T12:15:00Z");
+        assertThat(json.get("version").asLong()).isEqualTo(3);
+        assertThat(json.get("bodyHtml").asText()).isEqualTo("<p>" + story.getBody().strip() + "</p>\n");
+        assertThat(rendered.version()).isEqualTo(3);
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(rendered.body(ContentCoding.GZIP)))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(identity);
+        }
+        assertThat(rendered.body(ContentCoding.BROTLI)).hasSizeLessThan(rendered.body(ContentCoding.GZIP).length);
+        assertThat(Decoder.decompress(rendered.body(ContentCoding.BROTLI)).getDecompressedData()).isEqualTo(identity);
+    }
+
+    @Test
+    void render_WithSameAndChangedContent_ShouldKeepAndChangeEntityTag() {
+        // When
+        RenderedStory rendered = cut.render(published().build());
+        RenderedStory renderedAgain = cut.render(published().build());
+        RenderedStory changed = cut.render(published().title("Keyset pagination in Postgres").build());
+
+        // Then
+        assertThat(renderedAgain.eTag(ContentCoding.IDENTITY)).isEqualTo(rendered.eTag(ContentCoding.IDENTITY));
+        assertThat(changed.eTag(ContentCoding.IDENTITY)).isNotEqualTo(rendered.eTag(ContentCoding.IDENTITY));
+        assertThat(rendered.eTag(ContentCoding.GZIP)).isNotEqualTo(rendered.eTag(ContentCoding.IDENTITY));
+    }
+
+    private static Story.StoryBuilder published() {
+        return StoryMother.complete()
+                .status(StoryStatus.PUBLISHED)
+                .publishedAt(Instant.parse("2024-12-13T12:15:00Z"))
+                .version(3L);
+    }
+}
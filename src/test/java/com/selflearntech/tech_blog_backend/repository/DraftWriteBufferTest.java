@@ -0,0 +1,158 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.selflearntech.tech_blog_backend.config.DraftAutosaveProperties;
+import com.selflearntech.tech_blog_backend.exception.DraftConflictException;
+import com.selflearntech.tech_blog_backend.exception.DraftNotFoundException;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.*;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class DraftWriteBufferTest {
+
+    private static final String DRAFT_ID = "6571a2f0c3b2a54e1d2f3a4b";
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+
+    @Mock
+    private StoryRepository storyRepository;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MeterRegistry meterRegistry;
+    private DraftWriteBuffer cut;
+
+    @BeforeEach
+    void setUp() {
+        DraftAutosaveProperties properties = new DraftAutosaveProperties();
+        properties.setMaxBufferedSaves(3);
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new DraftWriteBuffer(storyRepository, mongoTemplate, properties, clock, meterRegistry);
+    }
+
+    @Test
+    void save_WithSavesBelowMaximum_ShouldBufferThemUntilTheIntervalFlush() {
+        // Given
+        given(storyRepository.findById(DRAFT_ID)).willReturn(Optional.of(StoryMother.complete().build()));
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Story.class))).willReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        cut.save(DRAFT_ID, 1, 0, draft -> draft.setTitle("First"));
+        Story saved = cut.save(DRAFT_ID, 1, 1, draft -> draft.setTitle("Second"));
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(2);
+        assertThat(cut.get(DRAFT_ID, 1).getTitle()).isEqualTo("Second");
+        then(mongoTemplate).shouldHaveNoInteractions();
+
+        cut.flushAll();
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        then(mongoTemplate).should().updateFirst(any(Query.class), update.capture(), eq(Story.class));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+                .containsEntry("title", "Second")
+                .containsEntry("version", 2L);
+        then(storyRepository).should(times(1)).findById(DRAFT_ID);
+        assertThat(meterRegistry.get("drafts.autosave.saves").tag("outcome", "absorbed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drafts.autosave.saves").tag("outcome", "written").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void save_WithMaximumBufferedSaves_ShouldWriteDraftRightAway() {
+        // Given
+        given(storyRepository.findById(DRAFT_ID)).willReturn(Optional.of(StoryMother.complete().build()));
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Story.class))).willReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        for (long version = 0; version < 3; version++) cut.save(DRAFT_ID, 1, version, draft -> draft.setBody(draft.getBody() + "!"));
+
+        // Then
+        then(mongoTemplate).should().updateFirst(any(Query.class), any(Update.class), eq(Story.class));
+        assertThat(meterRegistry.get("drafts.autosave.flushes").tag("trigger", "size").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drafts.autosave.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void save_WithDraftWrittenWhileBeingLoaded_ShouldDropTheStaleCopyAndLoadAgain() {
+        // Given
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Story.class))).willReturn(UpdateResult.acknowledged(1, 1L, null));
+        AtomicInteger loads = new AtomicInteger();
+        given(storyRepository.findById(DRAFT_ID)).willAnswer(invocation -> switch (loads.incrementAndGet()) {
+            case 1 -> {
+                // another editor's saves are buffered and written while this load is under way
+                for (long version = 0; version < 3; version++) cut.save(DRAFT_ID, 1, version, draft -> draft.setTitle("Other"));
+                yield Optional.of(StoryMother.complete().build());
+            }
+            case 2 -> Optional.of(StoryMother.complete().build());
+            default -> Optional.of(StoryMother.complete().title("Other").version(3L).build());
+        });
+
+        // When
+        Story saved = cut.save(DRAFT_ID, 1, 3, draft -> draft.setTitle("Mine"));
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(4);
+        assertThat(loads).hasValue(3);
+        assertThat(cut.get(DRAFT_ID, 1).getTitle()).isEqualTo("Mine");
+    }
+
+    @Test
+    void save_WithStaleBaseVersion_ShouldThrowDraftConflictExceptionAndKeepDraft() {
+        // Given
+        given(storyRepository.findById(DRAFT_ID)).willReturn(Optional.of(StoryMother.complete().build()));
+        cut.save(DRAFT_ID, 1, 0, draft -> draft.setTitle("First"));
+
+        // When & Then
+        assertThatThrownBy(() -> cut.save(DRAFT_ID, 1, 0, draft -> draft.setTitle("Stale")))
+                .isInstanceOf(DraftConflictException.class);
+        assertThat(cut.get(DRAFT_ID, 1).getTitle()).isEqualTo("First");
+    }
+
+    @Test
+    void save_WithDraftOfAnotherAuthor_ShouldThrowDraftNotFoundException() {
+        // Given
+        given(storyRepository.findById(DRAFT_ID)).willReturn(Optional.of(StoryMother.complete().authorId(2).build()));
+
+        // When & Then
+        assertThatThrownBy(() -> cut.save(DRAFT_ID, 1, 0, draft -> draft.setTitle("Mine")))
+                .isInstanceOf(DraftNotFoundException.class);
+    }
+
+    @Test
+    void flushOnShutdown_WithDraftChangedInMongo_ShouldDropBufferedSaves() {
+        // Given
+        given(storyRepository.findById(DRAFT_ID)).willReturn(Optional.of(StoryMother.complete().build()));
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Story.class))).willReturn(UpdateResult.acknowledged(0, 0L, null));
+        cut.save(DRAFT_ID, 1, 0, draft -> draft.setTitle("Lost"));
+
+        // When
+        cut.flushOnShutdown();
+
+        // Then
+        assertThat(meterRegistry.get("drafts.autosave.conflicts").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drafts.autosave.pending").gauge().value()).isZero();
+    }
+}
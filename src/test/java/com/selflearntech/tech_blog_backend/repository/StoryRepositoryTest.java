@@ -0,0 +1,63 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest(properties = "spring.data.mongodb.auto-index-creation=true")
+@Testcontainers(disabledWithoutDocker = true)
+class StoryRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @BeforeEach
+    void setUp() {
+        storyRepository.deleteAll();
+    }
+
+    @Test
+    void findPageAfter_WithStoriesSharingUpdatedAt_ShouldWalkAllOfThemOnceNewestFirst() {
+        // Given
+        List<Story> drafts = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            drafts.add(StoryMother.complete().id(null).title("draft " + i)
+                    .updatedAt(Instant.parse("2024-12-13T12:00:00Z").plusSeconds(i / 2)).build());
+        }
+        storyRepository.saveAll(drafts);
+        storyRepository.save(StoryMother.complete().id(null).status(StoryStatus.PUBLISHED).build());
+        storyRepository.save(StoryMother.complete().id(null).authorId(2).build());
+
+        // When
+        List<StorySummary> walked = new ArrayList<>(storyRepository.findFirstPage(1, StoryStatus.DRAFT, Limit.of(3)));
+        for (List<StorySummary> page = walked; !page.isEmpty(); ) {
+            StorySummary last = page.get(page.size() - 1);
+            page = storyRepository.findPageAfter(1, StoryStatus.DRAFT, last.getUpdatedAt(), new ObjectId(last.getId()), Limit.of(3));
+            walked.addAll(page);
+        }
+
+        // Then
+        assertThat(walked).extracting(StorySummary::getTitle)
+                .containsExactly("draft 6", "draft 5", "draft 4", "draft 3", "draft 2", "draft 1", "draft 0");
+    }
+}
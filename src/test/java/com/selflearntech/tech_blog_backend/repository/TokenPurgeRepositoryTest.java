@@ -0,0 +1,219 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Batch;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Cursor;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(TokenPurgeRepository.class)
+// each batch commits on its own, and row and advisory locks are taken from other connections
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenPurgeRepositoryTest {
+
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getDefault();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.1");
+
+    @Autowired
+    private TokenPurgeRepository cut;
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    private User user;
+
+    @BeforeAll
+    static void setTimeZone() {
+        // ahead of UTC, so that an instant bound in the JVM zone lands hours away from one bound as UTC wall-clock
+        // time, as Hibernate does
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+    }
+
+    @AfterAll
+    static void restoreTimeZone() {
+        TimeZone.setDefault(DEFAULT_TIME_ZONE);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // the migrations declare the token times TIMESTAMP, where Hibernate would create them WITH TIME ZONE
+        jdbcTemplate.execute("""
+                ALTER TABLE tokens
+                    ALTER COLUMN expire_time TYPE TIMESTAMP,
+                    ALTER COLUMN issued_at TYPE TIMESTAMP,
+                    ALTER COLUMN session_started_at TYPE TIMESTAMP,
+                    ALTER COLUMN rotated_at TYPE TIMESTAMP
+                """);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tokens_expire_time ON tokens(expire_time, token_id)");
+        jdbcTemplate.update("DELETE FROM tokens");
+        userRepository.deleteAll();
+        user = userRepository.save(UserMother.complete().userId(null).password("password").build());
+    }
+
+    @Test
+    void deleteBatch_WithMoreRowsThanBatchSize_ShouldContinueAfterCursorAndKeepLiveAndRotatedTokens() {
+        // Given
+        insert("expired1", now.minus(3, ChronoUnit.HOURS));
+        Integer expired2 = insert("expired2", now.minus(2, ChronoUnit.HOURS));
+        insert("expired3", now.minus(1, ChronoUnit.HOURS));
+        Integer rotated = insert("rotated", now.plus(1, ChronoUnit.DAYS));
+        tokenRepository.rotateRefreshToken(rotated, TokenDigest.of("successor").bytes(), now, now.plus(1, ChronoUnit.DAYS));
+        Integer successor = tokenRepository.findByRefreshTokenHash(TokenDigest.of("successor").bytes()).orElseThrow().getTokenId();
+        UUID loggedOut = UUID.randomUUID();
+        Integer invalidated = insert("invalidated", loggedOut, now.plus(2, ChronoUnit.DAYS));
+        tokenRepository.invalidateFamily(user.getUserId(), loggedOut);
+
+        // When
+        Batch first = cut.deleteBatch(Cursor.START, now, 2);
+        Batch second = cut.deleteBatch(first.last(), now, 2);
+        Batch third = cut.deleteBatch(second.last(), now, 2);
+
+        // Then
+        assertThat(first).isEqualTo(new Batch(true, 2, 0, new Cursor(local(now.minus(2, ChronoUnit.HOURS)), expired2)));
+        assertThat(second).isEqualTo(new Batch(true, 1, 1, new Cursor(local(now.plus(2, ChronoUnit.DAYS)), invalidated)));
+        assertThat(third).isEqualTo(new Batch(true, 0, 0, second.last()));
+        assertThat(remainingTokenIds()).containsExactlyInAnyOrder(rotated, successor);
+    }
+
+    @Test
+    void deleteBatch_WithTiesOnExpireTime_ShouldBreakThemByTokenId() {
+        // Given
+        Instant expireTime = now.minus(1, ChronoUnit.HOURS);
+        Integer a = insert("a", expireTime);
+        Integer b = insert("b", expireTime);
+        Integer c = insert("c", expireTime);
+
+        // When
+        Batch first = cut.deleteBatch(Cursor.START, now, 2);
+        Batch second = cut.deleteBatch(first.last(), now, 2);
+
+        // Then
+        assertThat(first.last()).isEqualTo(new Cursor(local(expireTime), b));
+        assertThat(second).isEqualTo(new Batch(true, 1, 0, new Cursor(local(expireTime), c)));
+        assertThat(a).isLessThan(b);
+        assertThat(remainingTokenIds()).isEmpty();
+    }
+
+    @Test
+    void deleteBatch_WhilePurgeLockHeldElsewhere_ShouldDeleteNothing() throws Exception {
+        // Given
+        Integer expired = insert("expired", now.minus(1, ChronoUnit.HOURS));
+
+        try (Connection otherNode = dataSource.getConnection(); Statement statement = otherNode.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + TokenPurgeRepository.ADVISORY_LOCK_KEY + ")");
+
+            // When
+            Batch batch = cut.deleteBatch(Cursor.START, now, 10);
+
+            // Then
+            assertThat(batch).isEqualTo(new Batch(false, 0, 0, Cursor.START));
+            assertThat(remainingTokenIds()).containsExactly(expired);
+            statement.execute("SELECT pg_advisory_unlock(" + TokenPurgeRepository.ADVISORY_LOCK_KEY + ")");
+        }
+        assertThat(cut.deleteBatch(Cursor.START, now, 10).purged()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteBatch_WithRowLockedByRefreshInProgress_ShouldSkipIt() throws Exception {
+        // Given
+        Integer locked = insert("locked", now.minus(2, ChronoUnit.HOURS));
+        insert("expired", now.minus(1, ChronoUnit.HOURS));
+
+        try (Connection refresh = dataSource.getConnection(); Statement statement = refresh.createStatement()) {
+            refresh.setAutoCommit(false);
+            statement.execute("SELECT token_id FROM tokens WHERE token_id = " + locked + " FOR UPDATE");
+
+            // When
+            Batch batch = cut.deleteBatch(Cursor.START, now, 10);
+
+            // Then
+            assertThat(batch.expired()).isEqualTo(1);
+            assertThat(remainingTokenIds()).containsExactly(locked);
+            refresh.rollback();
+        }
+    }
+
+    @Test
+    void deleteBatch_WithJvmZoneAheadOfUtc_ShouldCompareInstantsNotWallClockTimes() {
+        // Given
+        assertThat(ZoneId.systemDefault()).isEqualTo(ZoneId.of("Asia/Tokyo"));
+        insert("expiredAMinuteAgo", now.minus(1, ChronoUnit.MINUTES));
+        Integer live = insert("expiresInAMinute", now.plus(1, ChronoUnit.MINUTES));
+
+        // When
+        Batch batch = cut.deleteBatch(Cursor.START, now, 10);
+
+        // Then
+        assertThat(batch.expired()).isEqualTo(1);
+        assertThat(batch.last().expireTime()).isEqualTo(local(now.minus(1, ChronoUnit.MINUTES)));
+        assertThat(remainingTokenIds()).containsExactly(live);
+    }
+
+    private Integer insert(String refreshToken, Instant expireTime) {
+        return insert(refreshToken, UUID.randomUUID(), expireTime);
+    }
+
+    // through the repository the application writes tokens with, so that the instants are bound the same way
+    private Integer insert(String refreshToken, UUID familyId, Instant expireTime) {
+        tokenRepository.insertRefreshToken(user.getUserId(), familyId, "laptop", TokenDigest.of(refreshToken).bytes(),
+                expireTime.minus(7, ChronoUnit.DAYS), expireTime);
+        return id(refreshToken);
+    }
+
+    private Integer id(String refreshToken) {
+        return tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes()).orElseThrow().getTokenId();
+    }
+
+    private List<Integer> remainingTokenIds() {
+        return jdbcTemplate.queryForList("SELECT token_id FROM tokens", Integer.class);
+    }
+
+    // the TIMESTAMP value Hibernate stores an instant as: its UTC wall-clock time, whatever the JVM zone
+    private static LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,165 @@
+package com.selflearntech.tech_blog_backend.repository;
+
+import com.selflearntech.tech_blog_backend.model.Token;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class TokenRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.1");
+
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persistFlushFind(UserMother.complete().userId(null).password("password").build());
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void insertRefreshToken_ShouldStoreTokenOfNewSessionInOneStatement() {
+        // Given
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Instant expireTime = issuedAt.plus(7, ChronoUnit.DAYS);
+        UUID familyId = UUID.randomUUID();
+
+        // When
+        tokenRepository.insertRefreshToken(user.getUserId(), familyId, "Mozilla/5.0", TokenDigest.of("refreshToken").bytes(), issuedAt, expireTime);
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Token token = tokenRepository.findByRefreshTokenHash(TokenDigest.of("refreshToken").bytes()).orElseThrow();
+        assertThat(token.isValid()).isTrue();
+        assertThat(token.getFamilyId()).isEqualTo(familyId);
+        assertThat(token.getSessionStartedAt()).isEqualTo(issuedAt);
+        assertThat(token.getExpireTime()).isEqualTo(expireTime);
+    }
+
+    @Test
+    void insertRefreshToken_OnLoginFromSecondDevice_ShouldKeepFirstDevicesToken() {
+        // Given
+        tokenRepository.insertRefreshToken(user.getUserId(), UUID.randomUUID(), "laptop", TokenDigest.of("laptopToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+
+        // When
+        tokenRepository.insertRefreshToken(user.getUserId(), UUID.randomUUID(), "phone", TokenDigest.of("phoneToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(tokenRepository.findActiveSessions(user.getUserId(), Instant.now())).extracting(Token::getDevice).containsExactlyInAnyOrder("laptop", "phone");
+    }
+
+    @Test
+    void rotateRefreshToken_ShouldReplaceTokenWithinFamilyInOneStatement() {
+        // Given
+        UUID familyId = UUID.randomUUID();
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        tokenRepository.insertRefreshToken(user.getUserId(), familyId, "laptop", TokenDigest.of("refreshToken").bytes(), issuedAt, issuedAt.plus(7, ChronoUnit.DAYS));
+        Integer tokenId = tokenRepository.findByRefreshTokenHash(TokenDigest.of("refreshToken").bytes()).orElseThrow().getTokenId();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        Optional<Integer> nextTokenId = tokenRepository.rotateRefreshToken(tokenId, TokenDigest.of("nextToken").bytes(), issuedAt.plusSeconds(60), issuedAt.plus(8, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(nextTokenId).isPresent();
+        Token rotated = tokenRepository.findByRefreshTokenHash(TokenDigest.of("refreshToken").bytes()).orElseThrow();
+        Token next = tokenRepository.findByRefreshTokenHash(TokenDigest.of("nextToken").bytes()).orElseThrow();
+        assertThat(rotated.isValid()).isFalse();
+        assertThat(rotated.getRotatedAt()).isEqualTo(issuedAt.plusSeconds(60));
+        assertThat(next.getTokenId()).isEqualTo(nextTokenId.get());
+        assertThat(next.isValid()).isTrue();
+        assertThat(next.getFamilyId()).isEqualTo(familyId);
+        assertThat(next.getDevice()).isEqualTo("laptop");
+        assertThat(next.getSessionStartedAt()).isEqualTo(issuedAt);
+    }
+
+    @Test
+    void rotateRefreshToken_WithAlreadyRotatedToken_ShouldIssueNothing() {
+        // Given
+        tokenRepository.insertRefreshToken(user.getUserId(), UUID.randomUUID(), "laptop", TokenDigest.of("refreshToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+        Integer tokenId = tokenRepository.findByRefreshTokenHash(TokenDigest.of("refreshToken").bytes()).orElseThrow().getTokenId();
+        tokenRepository.rotateRefreshToken(tokenId, TokenDigest.of("nextToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+
+        // When
+        Optional<Integer> nextTokenId = tokenRepository.rotateRefreshToken(tokenId, TokenDigest.of("otherToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+
+        // Then
+        assertThat(nextTokenId).isEmpty();
+        assertThat(tokenRepository.findByRefreshTokenHash(TokenDigest.of("otherToken").bytes())).isEmpty();
+    }
+
+    @Test
+    void existsValidToken_AfterRotationAndAfterRevocation_ShouldTellWhetherSessionIsAlive() {
+        // Given
+        UUID familyId = UUID.randomUUID();
+        tokenRepository.insertRefreshToken(user.getUserId(), familyId, "laptop", TokenDigest.of("refreshToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+        Integer tokenId = tokenRepository.findByRefreshTokenHash(TokenDigest.of("refreshToken").bytes()).orElseThrow().getTokenId();
+        tokenRepository.rotateRefreshToken(tokenId, TokenDigest.of("nextToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+
+        // When
+        boolean aliveAfterRotation = tokenRepository.existsValidToken(user.getUserId(), familyId);
+        tokenRepository.invalidateFamily(user.getUserId(), familyId);
+        boolean aliveAfterRevocation = tokenRepository.existsValidToken(user.getUserId(), familyId);
+
+        // Then
+        assertThat(aliveAfterRotation).isTrue();
+        assertThat(aliveAfterRevocation).isFalse();
+    }
+
+    @Test
+    void loginPersistence_ShouldLoadUserAndWriteTokenWithoutMergingUser() {
+        // When
+        User loaded = userRepository.findByEmail(user.getEmail()).orElseThrow();
+        tokenRepository.insertRefreshToken(loaded.getUserId(), UUID.randomUUID(), "laptop", TokenDigest.of("refreshToken").bytes(), Instant.now(), Instant.now().plus(7, ChronoUnit.DAYS));
+        entityManager.flush();
+
+        // Then: the user, its roles and the insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package com.selflearntech.tech_blog_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnglishAnalyzerTest {
+
+    private final EnglishAnalyzer cut = new EnglishAnalyzer();
+
+    @Test
+    void analyze_ShouldReduceInflectedAndDerivedFormsToPorterStems() {
+        // When & Then
+        assertThat(terms("caresses ponies relational conditional hopping motoring generalization happy"))
+                .containsExactly("caress", "poni", "relat", "condit", "hop", "motor", "gener", "happi");
+        assertThat(terms("connect connected connecting connection connections"))
+                .containsOnly("connect");
+    }
+
+    @Test
+    void analyze_ShouldSplitOnMarkupAndDropStopWordsApostrophesAndLongTokens() {
+        // When & Then
+        assertThat(terms("## The **Story's** end: don't `SKIP` it " + "x".repeat(EnglishAnalyzer.MAX_TOKEN_LENGTH + 1) + " v2"))
+                .containsExactly("stori", "end", "dont", "skip", "v2");
+    }
+
+    private List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        cut.analyze(text, terms::add);
+        return terms;
+    }
+}
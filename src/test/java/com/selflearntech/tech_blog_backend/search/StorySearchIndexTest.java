@@ -0,0 +1,80 @@
+package com.selflearntech.tech_blog_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorySearchIndexTest {
+
+    private final StorySearchIndex cut = new StorySearchIndex();
+
+    @Test
+    void search_ShouldRankTitleMatchesAndRarerTermsHigher() {
+        // Given
+        cut.put("body", 0, "Notes", List.of(), "A few words about pagination in passing, among many other words.");
+        cut.put("title", 0, "Keyset pagination", List.of(), "Seek instead of skip.");
+        cut.put("unrelated", 0, "Indexes", List.of("mongodb"), "Other words.");
+
+        // When
+        List<StorySearchIndex.Hit> hits = cut.search("paginating", 10);
+
+        // Then
+        assertThat(hits).extracting(StorySearchIndex.Hit::storyId).containsExactly("title", "body");
+        assertThat(cut.search("mongodb words", 10)).extracting(StorySearchIndex.Hit::storyId).first().isEqualTo("unrelated");
+        assertThat(cut.search("the", 10)).isEmpty();
+    }
+
+    @Test
+    void put_WithNewerVersion_ShouldReplaceStoryAndIgnoreOlderOnes() {
+        // Given
+        cut.put("story", 1, "Caching", List.of(), "Caffeine");
+
+        // When
+        boolean replaced = cut.put("story", 2, "Caching", List.of(), "Redis");
+        boolean stale = cut.put("story", 1, "Caching", List.of(), "Caffeine");
+
+        // Then
+        assertThat(replaced).isTrue();
+        assertThat(stale).isFalse();
+        assertThat(cut.search("caffeine", 10)).isEmpty();
+        assertThat(cut.search("redis", 10)).extracting(StorySearchIndex.Hit::storyId).containsExactly("story");
+        assertThat(cut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_WithManyRemovedStories_ShouldCompactAndKeepLiveOnesSearchable() {
+        // Given
+        for (int i = 0; i < 3000; i++) cut.put("story-" + i, 0, "Story " + i, List.of(), i % 2 == 0 ? "even" : "odd");
+
+        // When
+        for (int i = 0; i < 3000; i += 2) cut.remove("story-" + i);
+
+        // Then
+        assertThat(cut.size()).isEqualTo(1500);
+        assertThat(cut.search("even", 10)).isEmpty();
+        assertThat(cut.search("odd", 2000)).hasSize(1500);
+        assertThat(cut.search("2999", 10)).extracting(StorySearchIndex.Hit::storyId).containsExactly("story-2999");
+    }
+
+    @Test
+    void readFrom_WithWrittenSnapshot_ShouldRestoreSameResults() throws IOException {
+        // Given
+        cut.put("first", 3, "Compressed postings", List.of("search"), "Variable-length integers.");
+        cut.put("second", 1, "BM25", List.of("search", "ranking"), "Term frequency saturation.");
+        cut.remove("first");
+        cut.put("first", 4, "Compressed postings", List.of("search"), "Delta-encoded document ids.");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        cut.writeTo(new DataOutputStream(bytes));
+
+        // When
+        StorySearchIndex restored = StorySearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertThat(restored.search("search ranking document", 10)).isEqualTo(cut.search("search ranking document", 10));
+        assertThat(restored.version("first")).isEqualTo(4);
+        assertThat(restored.search("integers", 10)).isEmpty();
+    }
+}
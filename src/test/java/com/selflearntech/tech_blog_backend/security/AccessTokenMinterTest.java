@@ -0,0 +1,82 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessTokenMinterTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void mint_WithConfiguredAlgorithm_ShouldBeAcceptedByDecoder(JwtAlgorithm algorithm) {
+        // Given
+        SigningKeyManager signingKeyManager = signingKeyManager(algorithm);
+        AccessTokenMinter cut = new AccessTokenMinter(signingKeyManager);
+        JwtDecoder jwtDecoder = new SecurityConfig(signingKeyManager).jwtDecoder();
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        UUID sessionId = UUID.randomUUID();
+
+        // When
+        String token = cut.mint("john.doe@gmail.com", AccessTokenMinter.roleMask(List.of("USER", "ADMIN")), sessionId, issuedAt, issuedAt.plusSeconds(10));
+        Jwt jwt = jwtDecoder.decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("john.doe@gmail.com");
+        assertThat(jwt.getClaimAsString("iss")).isEqualTo("self");
+        assertThat(jwt.getClaimAsString("roles")).isEqualTo("USER,ADMIN");
+        assertThat(jwt.getClaimAsString("sid")).isEqualTo(sessionId.toString());
+        assertThat(jwt.getIssuedAt()).isEqualTo(issuedAt);
+        assertThat(jwt.getExpiresAt()).isEqualTo(issuedAt.plusSeconds(10));
+        assertThat(jwt.getHeaders()).containsEntry("kid", signingKeyManager.activeSigningKey().kid());
+    }
+
+    @Test
+    void mint_WithSubjectNeedingEscaping_ShouldKeepSubjectIntact() {
+        // Given
+        SigningKeyManager signingKeyManager = signingKeyManager(JwtAlgorithm.ES256);
+        AccessTokenMinter cut = new AccessTokenMinter(signingKeyManager);
+        Instant issuedAt = Instant.now();
+
+        // When
+        String token = cut.mint("\"john\\doe\"@gmail.com", 0, null, issuedAt, issuedAt.plus(Duration.ofSeconds(10)));
+        Jwt jwt = new SecurityConfig(signingKeyManager).jwtDecoder().decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("\"john\\doe\"@gmail.com");
+        assertThat(jwt.getClaimAsString("roles")).isEmpty();
+        assertThat(jwt.hasClaim("sid")).isFalse();
+    }
+
+    @Test
+    void roleMask_WithUnknownRole_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThatThrownBy(() -> AccessTokenMinter.roleMask(List.of("UNKNOWN"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SigningKeyManager signingKeyManager(JwtAlgorithm algorithm) {
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+        properties.setAlgorithm(algorithm);
+        return new SigningKeyManager(properties, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,88 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.PasswordHashingProperties;
+import com.selflearntech.tech_blog_backend.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PasswordHashingEngineTest {
+
+    private MeterRegistry meterRegistry;
+    private PasswordHashingEngine cut;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new PasswordHashingEngine(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cut.shutdown();
+    }
+
+    @Test
+    void execute_WithFreeWorker_ShouldReturnResultAndRecordHashTime() {
+        // When
+        String result = cut.execute(PasswordHashingEngine.Operation.ENCODE, () -> "encoded");
+
+        // Then
+        assertThat(result).isEqualTo("encoded");
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WithWorkerBusyAndQueueFull_ShouldRejectWithRetryAfter() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> cut.execute(PasswordHashingEngine.Operation.MATCHES, () -> awaitRelease(release)));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("password.hashing.active").gauge().value() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> cut.execute(PasswordHashingEngine.Operation.MATCHES, () -> true));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry.get("password.hashing.queue.depth").gauge().value() == 1);
+
+        // When, Then
+        assertThatThrownBy(() -> cut.execute(PasswordHashingEngine.Operation.MATCHES, () -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .satisfies(ex -> assertThat(((PasswordHashingRejectedException) ex).getRetryAfter()).isEqualTo(Duration.ofSeconds(3)));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_WithFailingTask_ShouldRethrowOriginalException() {
+        // When, Then
+        assertThatThrownBy(() -> cut.execute(PasswordHashingEngine.Operation.ENCODE, () -> {
+            throw new IllegalArgumentException("rawPassword cannot be null");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("rawPassword cannot be null");
+    }
+
+    private static boolean awaitRelease(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.config.RateLimitProperties;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MeterRegistry meterRegistry;
+    private RateLimitFilter cut;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Endpoint login = new RateLimitProperties.Endpoint();
+        login.setPath("/auth/login");
+        login.setIp(limit(10));
+        login.setEmail(limit(2));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("login", login);
+
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new RateLimitFilter(new RateLimiter(properties, clock, meterRegistry), objectMapper);
+    }
+
+    @Test
+    void doFilter_WithinLimit_ShouldPassBodyToNextFilter() throws Exception {
+        // Given
+        String body = "{\"email\":\"john.doe@gmail.com\",\"password\":\"123456789\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        cut.doFilter(login(body), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(chain.getRequest().getInputStream().readAllBytes()).isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_WithEmailOverLimit_ShouldRejectWithRetryAfter() throws Exception {
+        // Given
+        cut.doFilter(login("{\"email\":\"john.doe@gmail.com\"}"), new MockHttpServletResponse(), new MockFilterChain());
+        cut.doFilter(login("{\"email\":\" John.Doe@gmail.com\"}"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        cut.doFilter(login("{\"email\":\"john.doe@gmail.com\"}"), response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains(ErrorMessages.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("endpoint", "login").tag("key", "email")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_WithBodyPaddedPastPeekLimit_ShouldRejectAsTooLarge() throws Exception {
+        // Given
+        String padded = "{\"padding\":\"" + "x".repeat(5000) + "\",\"email\":\"john.doe@gmail.com\"}";
+        for (int i = 0; i < 2; i++) cut.doFilter(login("{\"email\":\"john.doe@gmail.com\"}"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        cut.doFilter(login(padded), response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(response.getContentAsString()).contains(ErrorMessages.REQUEST_BODY_TOO_LARGE);
+    }
+
+    @Test
+    void doFilter_WithUnlimitedPath_ShouldNotReadBody() throws Exception {
+        // Given
+        MockHttpServletRequest request = login("{\"email\":\"john.doe@gmail.com\"}");
+        request.setRequestURI("/auth/register");
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        cut.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPeriod(Duration.ofMinutes(1));
+        return limit;
+    }
+}
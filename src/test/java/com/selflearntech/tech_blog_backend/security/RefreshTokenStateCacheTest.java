@@ -0,0 +1,107 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.RefreshTokenCacheProperties;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenStateCacheTest {
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    private MeterRegistry meterRegistry;
+    private RefreshTokenStateCache cut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new RefreshTokenStateCache(new RefreshTokenCacheProperties(), clock, meterRegistry);
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnCachedState() {
+        // Given
+        TokenDigest digest = TokenDigest.of("refreshToken");
+        RefreshTokenState state = state(1, clock.instant().plus(Duration.ofDays(7)));
+
+        // When
+        cut.put(digest, state, cut.epoch());
+
+        // Then
+        assertThat(cut.get(digest)).contains(state);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", RefreshTokenStateCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WithEvictionSinceEpochWasTaken_ShouldNotCacheState() {
+        // Given
+        TokenDigest digest = TokenDigest.of("refreshToken");
+        long epoch = cut.epoch();
+        cut.evictUser(1);
+
+        // When
+        cut.put(digest, state(1, clock.instant().plus(Duration.ofDays(7))), epoch);
+
+        // Then
+        assertThat(cut.get(digest)).isEmpty();
+    }
+
+    @Test
+    void put_WithTokenOfAnotherSessionOfSameUser_ShouldKeepBothTokens() {
+        // Given
+        TokenDigest laptop = TokenDigest.of("laptopToken");
+        TokenDigest phone = TokenDigest.of("phoneToken");
+        cut.put(laptop, state(1, clock.instant().plus(Duration.ofDays(7))), cut.epoch());
+
+        // When
+        cut.put(phone, state(1, clock.instant().plus(Duration.ofDays(7))), cut.epoch());
+
+        // Then
+        assertThat(cut.get(laptop)).isPresent();
+        assertThat(cut.get(phone)).isPresent();
+    }
+
+    @Test
+    void evictUser_ShouldRemoveTokensOfAllUsersSessions() {
+        // Given
+        TokenDigest laptop = TokenDigest.of("laptopToken");
+        TokenDigest phone = TokenDigest.of("phoneToken");
+        TokenDigest otherUser = TokenDigest.of("otherUsersToken");
+        cut.put(laptop, state(1, clock.instant().plus(Duration.ofDays(7))), cut.epoch());
+        cut.put(phone, state(1, clock.instant().plus(Duration.ofDays(7))), cut.epoch());
+        cut.put(otherUser, state(2, clock.instant().plus(Duration.ofDays(7))), cut.epoch());
+
+        // When
+        cut.evictUser(1);
+
+        // Then
+        assertThat(cut.get(laptop)).isEmpty();
+        assertThat(cut.get(phone)).isEmpty();
+        assertThat(cut.get(otherUser)).isPresent();
+    }
+
+    @Test
+    void put_WithAlreadyExpiredToken_ShouldNotBeReturned() {
+        // Given
+        TokenDigest digest = TokenDigest.of("refreshToken");
+
+        // When
+        cut.put(digest, state(1, clock.instant().minusSeconds(1)), cut.epoch());
+
+        // Then
+        assertThat(cut.get(digest)).isEmpty();
+    }
+
+    private RefreshTokenState state(Integer userId, Instant expireTime) {
+        return new RefreshTokenState(userId, 1, UUID.randomUUID(), "john.doe@gmail.com", "John", "Doe", "", Set.of("USER"),
+                expireTime, true, null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.RevocationProperties;
+import com.selflearntech.tech_blog_backend.model.TokenRevocation;
+import com.selflearntech.tech_blog_backend.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationListTest {
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+    @Mock
+    private RefreshTokenStateCache refreshTokenStateCache;
+
+    private MeterRegistry meterRegistry;
+    private RevocationList cut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new RevocationList(tokenRevocationRepository, refreshTokenStateCache, new RevocationProperties(), clock, meterRegistry);
+    }
+
+    @Test
+    void isRevoked_WithRevokedTokenId_ShouldReturnTrueForThatTokenOnly() {
+        // Given
+        given(tokenRevocationRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        cut.revokeToken(1, jwt("john.doe@gmail.com", "revoked", clock.instant()));
+
+        // When & Then
+        assertThat(cut.isRevoked(jwt("john.doe@gmail.com", "revoked", clock.instant()))).isTrue();
+        assertThat(cut.isRevoked(jwt("john.doe@gmail.com", "other", clock.instant()))).isFalse();
+        assertThat(meterRegistry.get("jwt.revocation.checks").tag("result", "revoked").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void isRevoked_WithRevokedSubject_ShouldRejectTokensIssuedUpToRevocation() {
+        // Given
+        given(tokenRevocationRepository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        cut.revokeSubject(1, "john.doe@gmail.com");
+
+        // When & Then
+        assertThat(cut.isRevoked(jwt("john.doe@gmail.com", "before", clock.instant().minusSeconds(5)))).isTrue();
+        assertThat(cut.isRevoked(jwt("john.doe@gmail.com", "after", clock.instant().plusSeconds(1)))).isFalse();
+        assertThat(cut.isRevoked(jwt("jane.doe@gmail.com", "other", clock.instant().minusSeconds(5)))).isFalse();
+    }
+
+    @Test
+    void reload_WithRevocationFromAnotherNode_ShouldRevokeAndEvictRefreshTokenState() {
+        // Given
+        TokenRevocation revocation = TokenRevocation.builder()
+                .revocationId(1L)
+                .userId(7)
+                .subject("john.doe@gmail.com")
+                .jti("revoked")
+                .revokedAt(clock.instant())
+                .expiresAt(clock.instant().plusSeconds(70))
+                .build();
+        given(tokenRevocationRepository.findByExpiresAtAfter(clock.instant())).willReturn(List.of(revocation));
+
+        // When
+        cut.reload();
+
+        // Then
+        assertThat(cut.isRevoked(jwt("john.doe@gmail.com", "revoked", clock.instant()))).isTrue();
+        then(refreshTokenStateCache).should().evictUser(7);
+    }
+
+    private Jwt jwt(String subject, String jti, Instant issuedAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject)
+                .jti(jti)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(10))
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoleAuthoritiesConverterTest {
+
+    private final RoleAuthoritiesConverter cut = new RoleAuthoritiesConverter();
+
+    @Test
+    void convert_WithSeveralRoles_ShouldSplitClaimOnCommas() {
+        // When
+        Collection<GrantedAuthority> authorities = cut.convert(jwt("USER,ADMIN"));
+
+        // Then
+        assertThat(AuthorityUtils.authorityListToSet(authorities)).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void convert_WithSameClaimValue_ShouldReturnSameImmutableList() {
+        // When
+        Collection<GrantedAuthority> first = cut.convert(jwt(new String("USER,ADMIN")));
+        Collection<GrantedAuthority> second = cut.convert(jwt(new String("USER,ADMIN")));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> second.add(first.iterator().next())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void convert_WithRolesOutsideRoleTypeOrReordered_ShouldInternThemToo() {
+        // When
+        Collection<GrantedAuthority> authorities = cut.convert(jwt("ADMIN, WRITER,ADMIN"));
+
+        // Then
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN", "ROLE_WRITER");
+        assertThat(cut.convert(jwt("ADMIN, WRITER,ADMIN"))).isSameAs(authorities);
+        assertThat(authorities.iterator().next()).isSameAs(cut.convert(jwt("ADMIN")).iterator().next());
+    }
+
+    @Test
+    void convert_WithListOrMissingClaim_ShouldConvertListAndReturnEmptyOtherwise() {
+        // Given
+        Jwt listClaim = Jwt.withTokenValue("token").header("alg", "RS256").subject("john.doe@gmail.com")
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, List.of("USER")).issuedAt(Instant.now()).build();
+        Jwt noClaim = Jwt.withTokenValue("token").header("alg", "RS256").subject("john.doe@gmail.com").build();
+
+        // When & Then
+        assertThat(AuthorityUtils.authorityListToSet(cut.convert(listClaim))).containsExactly("ROLE_USER");
+        assertThat(cut.convert(noClaim)).isEmpty();
+        assertThat(cut.convert(jwt(""))).isEmpty();
+    }
+
+    private static Jwt jwt(String roles) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("john.doe@gmail.com")
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, roles)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.model.Role;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import com.selflearntech.tech_blog_backend.test_data.RoleMother;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCacheTest {
+
+    private static final Instant NOW = LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC);
+
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private Clock clock;
+
+    @Test
+    void get_WithLoadedRole_ShouldNotQueryAgain() {
+        // Given
+        Role userRole = RoleMother.USER().build();
+        given(roleRepository.findAll()).willReturn(List.of(userRole, RoleMother.ADMIN().build()));
+        RoleCache cut = new RoleCache(roleRepository, clock);
+
+        // When
+        cut.get(RoleType.USER);
+
+        // Then
+        assertThat(cut.get(RoleType.USER)).contains(userRole);
+        then(roleRepository).should(times(1)).findAll();
+    }
+
+    @Test
+    void get_WithRoleSeededAfterStartup_ShouldReloadOnce() {
+        // Given
+        Role adminRole = RoleMother.ADMIN().build();
+        given(roleRepository.findAll()).willReturn(List.of(), List.of(adminRole));
+        given(clock.instant()).willReturn(NOW);
+        RoleCache cut = new RoleCache(roleRepository, clock);
+
+        // When
+        cut.get(RoleType.ADMIN);
+
+        // Then
+        assertThat(cut.get(RoleType.ADMIN)).contains(adminRole);
+        then(roleRepository).should(times(2)).findAll();
+    }
+
+    @Test
+    void get_WithRoleStillMissing_ShouldNotReloadAgainWithinReloadInterval() {
+        // Given
+        Role adminRole = RoleMother.ADMIN().build();
+        given(roleRepository.findAll()).willReturn(List.of(), List.of(), List.of(adminRole));
+        given(clock.instant()).willReturn(NOW, NOW.plusSeconds(1), NOW.plus(RoleCache.RELOAD_INTERVAL));
+        RoleCache cut = new RoleCache(roleRepository, clock);
+        cut.get(RoleType.ADMIN);
+
+        // When
+        boolean missingWithinInterval = cut.get(RoleType.ADMIN).isEmpty();
+
+        // Then
+        assertThat(missingWithinInterval).isTrue();
+        then(roleRepository).should(times(2)).findAll();
+        assertThat(cut.get(RoleType.ADMIN)).contains(adminRole);
+        then(roleRepository).should(times(3)).findAll();
+    }
+}
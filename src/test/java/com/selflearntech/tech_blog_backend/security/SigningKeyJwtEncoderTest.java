@@ -0,0 +1,73 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.SecurityConfig;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyJwtEncoderTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void encode_WithConfiguredAlgorithm_ShouldBeAcceptedByDecoder(JwtAlgorithm algorithm) {
+        // Given
+        SigningKeyManager signingKeyManager = signingKeyManager(algorithm);
+        SecurityConfig securityConfig = new SecurityConfig(signingKeyManager);
+        JwtEncoder cut = securityConfig.jwtEncoder();
+
+        // When
+        Jwt encoded = cut.encode(JwtEncoderParameters.from(claims()));
+        Jwt decoded = securityConfig.jwtDecoder().decode(encoded.getTokenValue());
+
+        // Then
+        assertThat(decoded.getSubject()).isEqualTo("john.doe@gmail.com");
+        assertThat(decoded.getClaimAsString("roles")).isEqualTo("USER,WRITER");
+        assertThat(decoded.getHeaders())
+                .containsEntry("alg", algorithm.getName())
+                .containsEntry("kid", signingKeyManager.activeSigningKey().kid());
+    }
+
+    @Test
+    void encode_WithHeaderForOtherAlgorithm_ShouldThrowJwtEncodingException() {
+        // Given
+        JwtEncoder cut = new SigningKeyJwtEncoder(signingKeyManager(JwtAlgorithm.ES256));
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).build();
+
+        // When & Then
+        assertThatThrownBy(() -> cut.encode(JwtEncoderParameters.from(header, claims())))
+                .isInstanceOf(JwtEncodingException.class);
+    }
+
+    private SigningKeyManager signingKeyManager(JwtAlgorithm algorithm) {
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+        properties.setAlgorithm(algorithm);
+        return new SigningKeyManager(properties, Clock.systemUTC());
+    }
+
+    private static JwtClaimsSet claims() {
+        return JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .subject("john.doe@gmail.com")
+                .claim("roles", "USER,WRITER")
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.selflearntech.tech_blog_backend.config.SigningKeyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC));
+    private SigningKeyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SigningKeyProperties();
+        properties.setRotationEnabled(true);
+        properties.setDirectory(directory);
+    }
+
+    @Test
+    void constructor_WithEmptyDirectory_ShouldGenerateAndPersistKey() throws Exception {
+        // When
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+
+        // Then
+        String kid = cut.activeSigningKey().kid();
+        assertThat(Files.exists(directory.resolve(kid + ".key"))).isTrue();
+        assertThat(Files.exists(directory.resolve(kid + ".pub"))).isTrue();
+        assertThat(cut.publishedJwks().json()).contains(kid).doesNotContain("\"d\"");
+    }
+
+    @Test
+    void constructor_WithExistingKeys_ShouldReuseThemAcrossInstances() {
+        // Given
+        String kid = new SigningKeyManager(properties, clock).activeSigningKey().kid();
+
+        // When
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+
+        // Then
+        assertThat(cut.activeSigningKey().kid()).isEqualTo(kid);
+        assertThat(cut.activeSigningKey().algorithm()).isEqualTo(JwtAlgorithm.RS256);
+    }
+
+    @Test
+    void reload_AfterRotationInterval_ShouldPublishNewKeyBeforeSigningWithIt() {
+        // Given
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+        String previousKid = cut.activeSigningKey().kid();
+        String previousEtag = cut.publishedJwks().etag();
+
+        // When
+        clock.advance(properties.getRotationInterval().plusSeconds(1));
+        cut.reload();
+
+        // Then
+        assertThat(cut.activeSigningKey().kid()).isEqualTo(previousKid);
+        assertThat(cut.publishedJwks().etag()).isNotEqualTo(previousEtag);
+        assertThat(selectByKid(cut, previousKid)).isTrue();
+
+        clock.advance(properties.getActivationDelay());
+        assertThat(cut.activeSigningKey().kid()).isNotEqualTo(previousKid);
+    }
+
+    @Test
+    void reload_AfterRetention_ShouldDeleteSupersededKey() {
+        // Given
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+        String previousKid = cut.activeSigningKey().kid();
+        clock.advance(properties.getRotationInterval().plusSeconds(1));
+        cut.reload();
+
+        // When
+        clock.advance(properties.getActivationDelay().plus(properties.getRetention()).plusSeconds(1));
+        cut.reload();
+
+        // Then
+        assertThat(selectByKid(cut, previousKid)).isFalse();
+        assertThat(Files.exists(directory.resolve(previousKid + ".pub"))).isFalse();
+        assertThat(Files.exists(directory.resolve(previousKid + ".key"))).isFalse();
+    }
+
+    @Test
+    void reload_WithChangedAlgorithm_ShouldRotateImmediatelyAndKeepOldKeyForVerification() {
+        // Given
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+        String previousKid = cut.activeSigningKey().kid();
+        properties.setAlgorithm(JwtAlgorithm.ED25519);
+
+        // When
+        cut.reload();
+        clock.advance(properties.getActivationDelay());
+
+        // Then
+        assertThat(cut.activeSigningKey().algorithm()).isEqualTo(JwtAlgorithm.ED25519);
+        assertThat(cut.publishedJwks().json()).contains("\"OKP\"", previousKid);
+        assertThat(selectByKid(cut, previousKid)).isTrue();
+    }
+
+    @Test
+    void reload_WithRotationDisabled_ShouldLeaveKeysToTheRotatingNode() throws Exception {
+        // Given
+        String kid = new SigningKeyManager(properties, clock).activeSigningKey().kid();
+        properties.setRotationEnabled(false);
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+
+        // When
+        clock.advance(properties.getRotationInterval().plus(properties.getRetention()).plusSeconds(1));
+        cut.reload();
+
+        // Then
+        assertThat(cut.activeSigningKey().kid()).isEqualTo(kid);
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    void constructor_WithRotationDisabledAndEmptyDirectory_ShouldFailRatherThanGenerateKey() {
+        // Given
+        properties.setRotationEnabled(false);
+
+        // When & Then
+        assertThatThrownBy(() -> new SigningKeyManager(properties, clock))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rotation-enabled");
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void selectVerificationKeys_WithAlgorithmOtherThanKeys_ShouldReturnNoKeys() {
+        // Given
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(cut.activeSigningKey().kid()).build();
+
+        // When
+        List<PublicKey> keys = cut.selectVerificationKeys(header);
+
+        // Then
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void selectVerificationKeys_WithKeyWrittenByAnotherNode_ShouldReloadDirectory() {
+        // Given
+        SigningKeyManager cut = new SigningKeyManager(properties, clock);
+        String previousKid = cut.activeSigningKey().kid();
+        clock.advance(properties.getRotationInterval().plusSeconds(1));
+        SigningKeyManager rotatingNode = new SigningKeyManager(properties, clock);
+        clock.advance(properties.getActivationDelay());
+        String newKid = rotatingNode.activeSigningKey().kid();
+
+        // When
+        boolean found = selectByKid(cut, newKid);
+
+        // Then
+        assertThat(newKid).isNotEqualTo(previousKid);
+        assertThat(found).isTrue();
+    }
+
+    private static boolean selectByKid(SigningKeyManager manager, String kid) {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        return !manager.selectVerificationKeys(header).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
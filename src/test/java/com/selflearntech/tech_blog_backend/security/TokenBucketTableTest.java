@@ -0,0 +1,65 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.utils.KeyHash;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    private static final long INTERVAL_MS = 1000;
+    private static final long BURST_MS = 2 * INTERVAL_MS;
+
+    private final TokenBucketTable cut = new TokenBucketTable(1024, 4);
+
+    @Test
+    void tryAcquire_WithinCapacity_ShouldAllowBurst() {
+        // Given
+        long key = KeyHash.hash("login|ip", "10.0.0.1");
+
+        // When / Then
+        assertThat(cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1)).isZero();
+        assertThat(cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1)).isZero();
+        assertThat(cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1)).isZero();
+        assertThat(cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1)).isEqualTo(INTERVAL_MS);
+    }
+
+    @Test
+    void tryAcquire_AfterRefillInterval_ShouldAllowOneMoreRequest() {
+        // Given
+        long key = KeyHash.hash("login|ip", "10.0.0.1");
+        for (int i = 0; i < 3; i++) cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1);
+
+        // When
+        long retryAfter = cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1 + INTERVAL_MS);
+
+        // Then
+        assertThat(retryAfter).isZero();
+        assertThat(cut.tryAcquire(key, INTERVAL_MS, BURST_MS, 1 + INTERVAL_MS)).isEqualTo(INTERVAL_MS);
+    }
+
+    @Test
+    void tryAcquire_WithExhaustedBucket_ShouldNotAffectOtherKeys() {
+        // Given
+        long exhausted = KeyHash.hash("login|email", "john.doe@gmail.com");
+        for (int i = 0; i < 3; i++) cut.tryAcquire(exhausted, INTERVAL_MS, BURST_MS, 1);
+
+        // When
+        long retryAfter = cut.tryAcquire(KeyHash.hash("login|email", "jane.doe@gmail.com"), INTERVAL_MS, BURST_MS, 1);
+
+        // Then
+        assertThat(retryAfter).isZero();
+        assertThat(cut.tryAcquire(exhausted, INTERVAL_MS, BURST_MS, 1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_WithMoreKeysThanSlots_ShouldKeepMemoryBoundedAndAllowNewKeys() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(16, 1);
+
+        // When / Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.tryAcquire(KeyHash.hash("login|ip", "10.0." + i), INTERVAL_MS, BURST_MS, 1)).isZero();
+        }
+    }
+}
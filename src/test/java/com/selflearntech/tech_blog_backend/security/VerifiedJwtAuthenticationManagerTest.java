@@ -0,0 +1,120 @@
+package com.selflearntech.tech_blog_backend.security;
+
+import com.selflearntech.tech_blog_backend.config.VerifiedJwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedJwtAuthenticationManagerTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+    @Mock
+    private RevocationList revocationList;
+
+    private MeterRegistry meterRegistry;
+    private VerifiedJwtAuthenticationManager cut;
+
+    @BeforeEach
+    void setUp() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName("roles");
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new VerifiedJwtAuthenticationManager(jwtDecoder, converter, revocationList, new VerifiedJwtCacheProperties(), clock, meterRegistry);
+    }
+
+    @Test
+    void authenticate_WithRepeatedToken_ShouldVerifyOnce() {
+        // Given
+        given(jwtDecoder.decode(TOKEN)).willReturn(jwt(clock.instant().plusSeconds(10)));
+
+        // When
+        Authentication first = cut.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        Authentication second = cut.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+
+        // Then
+        then(jwtDecoder).should(times(1)).decode(TOKEN);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("john.doe@gmail.com");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", VerifiedJwtAuthenticationManager.CACHE_NAME).gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("jwt.verification.saved").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void authenticate_WithExpiredToken_ShouldNotCache() {
+        // Given
+        given(jwtDecoder.decode(TOKEN)).willReturn(jwt(clock.instant().minusSeconds(1)));
+
+        // When
+        cut.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        cut.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+
+        // Then
+        then(jwtDecoder).should(times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void authenticate_WithInvalidToken_ShouldThrowEveryTime() {
+        // Given
+        given(jwtDecoder.decode(TOKEN)).willThrow(new BadJwtException("Invalid signature"));
+
+        // When & Then
+        assertThatThrownBy(() -> cut.authenticate(new BearerTokenAuthenticationToken(TOKEN))).isInstanceOf(InvalidBearerTokenException.class);
+        assertThatThrownBy(() -> cut.authenticate(new BearerTokenAuthenticationToken(TOKEN))).isInstanceOf(InvalidBearerTokenException.class);
+        then(jwtDecoder).should(times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void authenticate_WithCachedTokenRevokedSince_ShouldReject() {
+        // Given
+        Jwt jwt = jwt(clock.instant().plusSeconds(10));
+        given(jwtDecoder.decode(TOKEN)).willReturn(jwt);
+        cut.authenticate(new BearerTokenAuthenticationToken(TOKEN));
+        given(revocationList.isRevoked(jwt)).willReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> cut.authenticate(new BearerTokenAuthenticationToken(TOKEN))).isInstanceOf(InvalidBearerTokenException.class);
+        then(jwtDecoder).should(times(1)).decode(TOKEN);
+    }
+
+    private Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("john.doe@gmail.com")
+                .claim("roles", "USER")
+                .issuedAt(expiresAt.minusSeconds(10))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
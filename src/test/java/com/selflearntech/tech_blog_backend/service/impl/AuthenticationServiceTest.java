@@ -1,37 +1,57 @@
 package com.selflearntech.tech_blog_backend.service.impl;
 
+import com.selflearntech.tech_blog_backend.config.RefreshTokenProperties;
 import com.selflearntech.tech_blog_backend.dto.RegistrationDTO;
 import com.selflearntech.tech_blog_backend.exception.*;
 import com.selflearntech.tech_blog_backend.mapper.UserMapper;
+import com.selflearntech.tech_blog_backend.model.Role;
 import com.selflearntech.tech_blog_backend.model.RoleType;
 import com.selflearntech.tech_blog_backend.model.Token;
 import com.selflearntech.tech_blog_backend.model.User;
-import com.selflearntech.tech_blog_backend.repository.RoleRepository;
+import com.selflearntech.tech_blog_backend.repository.TokenRepository;
 import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.security.AuthenticationMetrics;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenState;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenStateCache;
+import com.selflearntech.tech_blog_backend.security.RoleCache;
 import com.selflearntech.tech_blog_backend.service.ITokenService;
 import com.selflearntech.tech_blog_backend.test_data.*;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtException;
 
+import java.sql.SQLException;
 import java.time.*;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceTest {
@@ -45,11 +65,20 @@ class AuthenticationServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCache roleCache;
+    @Mock
+    private TokenRepository tokenRepository;
     @Mock
     private AuthenticationManager authenticationManager;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private RefreshTokenStateCache refreshTokenStateCache;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private AuthenticationMetrics authenticationMetrics = new AuthenticationMetrics(meterRegistry);
+    @Spy
+    private RefreshTokenProperties refreshTokenProperties = new RefreshTokenProperties();
 
     @InjectMocks
     private AuthenticationService cut;
@@ -61,9 +90,9 @@ class AuthenticationServiceTest {
         void registerUser_WithValidData_ShouldCreateNewUser() {
             // Given
             RegistrationDTO registrationDTO = RegistrationDTOMother.complete().build();
+            Role userRole = RoleMother.USER().build();
 
-            given(userRepository.existsUserByEmail(registrationDTO.getEmail())).willReturn(false);
-            given(roleRepository.findByAuthority(RoleType.USER)).willReturn(Optional.of(RoleMother.USER().build()));
+            given(roleCache.get(RoleType.USER)).willReturn(Optional.of(userRole));
             given(passwordEncoder.encode(registrationDTO.getPassword())).willReturn("encoded-password");
 
             // When
@@ -72,6 +101,10 @@ class AuthenticationServiceTest {
             // Then
             ArgumentCaptor<User> userArgumentCaptor = ArgumentCaptor.forClass(User.class);
             then(userRepository).should().save(userArgumentCaptor.capture());
+            then(userRepository).shouldHaveNoMoreInteractions();
+
+            assertThat(userArgumentCaptor.getValue().getAuthorities()).containsExactly(userRole);
+            assertThat(userArgumentCaptor.getValue().getPassword()).isEqualTo("encoded-password");
         }
 
         @Test
@@ -85,7 +118,7 @@ class AuthenticationServiceTest {
 
             // Then
             then(userRepository).shouldHaveNoInteractions();
-            then(roleRepository).shouldHaveNoInteractions();
+            then(roleCache).shouldHaveNoInteractions();
             then(passwordEncoder).shouldHaveNoInteractions();
         }
 
@@ -93,16 +126,29 @@ class AuthenticationServiceTest {
         void registerUser_WithEmailAlreadyTaken_ShouldThrowUserExistsException() {
             // Given
             RegistrationDTO registrationDTO = RegistrationDTOMother.complete().build();
+            ConstraintViolationException violation = new ConstraintViolationException("duplicate key", new SQLException(), User.EMAIL_UNIQUE_CONSTRAINT);
 
-            given(userRepository.existsUserByEmail(registrationDTO.getEmail())).willReturn(true);
+            given(roleCache.get(RoleType.USER)).willReturn(Optional.of(RoleMother.USER().build()));
+            given(passwordEncoder.encode(registrationDTO.getPassword())).willReturn("encoded-password");
+            given(userRepository.save(any(User.class))).willThrow(new DataIntegrityViolationException("duplicate key", violation));
 
-            // When
+            // When & Then
             assertThatThrownBy(() -> cut.registerUser(registrationDTO)).isInstanceOf(UserExistsException.class)
                     .hasMessage(ErrorMessages.USER_EXISTS);
+        }
 
-            // Then
-            then(roleRepository).shouldHaveNoInteractions();
-            then(passwordEncoder).shouldHaveNoInteractions();
+        @Test
+        void registerUser_WithOtherConstraintViolation_ShouldRethrow() {
+            // Given
+            RegistrationDTO registrationDTO = RegistrationDTOMother.complete().build();
+            ConstraintViolationException violation = new ConstraintViolationException("null value", new SQLException(), "users_first_name_not_null");
+
+            given(roleCache.get(RoleType.USER)).willReturn(Optional.of(RoleMother.USER().build()));
+            given(passwordEncoder.encode(registrationDTO.getPassword())).willReturn("encoded-password");
+            given(userRepository.save(any(User.class))).willThrow(new DataIntegrityViolationException("null value", violation));
+
+            // When & Then
+            assertThatThrownBy(() -> cut.registerUser(registrationDTO)).isInstanceOf(DataIntegrityViolationException.class);
         }
 
         @Test
@@ -111,8 +157,7 @@ class AuthenticationServiceTest {
             RegistrationDTO registrationDTO = RegistrationDTOMother.complete().build();
             RoleType userRoleType = RoleType.USER;
 
-            given(userRepository.existsUserByEmail(registrationDTO.getEmail())).willReturn(false);
-            given(roleRepository.findByAuthority(userRoleType)).willReturn(Optional.empty());
+            given(roleCache.get(userRoleType)).willReturn(Optional.empty());
 
             // When
             assertThatThrownBy(() -> cut.registerUser(registrationDTO))
@@ -121,7 +166,7 @@ class AuthenticationServiceTest {
 
             // Then
             then(passwordEncoder).shouldHaveNoInteractions();
-            then(userRepository).shouldHaveNoMoreInteractions();
+            then(userRepository).shouldHaveNoInteractions();
         }
     }
 
@@ -129,119 +174,299 @@ class AuthenticationServiceTest {
     class UserAuthentication {
 
         @Test
-        void authenticateUser_CreateRefreshTokenOnFirstUserSigIn_ShouldReturnUserWithRefreshAndAccessTokenDTO() {
+        void authenticateUser_WithValidCredentials_ShouldStartNewSessionWithRefreshToken() {
             // Given
             String email = AuthenticationDTOMother.complete().build().getEmail();
             String password = AuthenticationDTOMother.complete().build().getPassword();
             User user = UserMother.complete().build();
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, password);
             String refreshToken = "refreshToken";
-            Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(Instant.now())
-                    .header("alg", "SH252")
-                    .build();
+            Instant now = Instant.parse("2024-12-13T12:15:00Z");
+            Instant expireTime = now.plus(Duration.ofDays(7));
 
             given(authenticationManager.authenticate(any(Authentication.class))).willReturn(authenticationToken);
-            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(tokenService.createRefreshToken(email)).willReturn(refreshToken);
+            given(clock.instant()).willReturn(now);
+            given(tokenService.createRefreshToken(email, now, expireTime)).willReturn(refreshToken);
 
             // When
-            cut.authenticateUser(email, password);
+            cut.authenticateUser(email, password, "Mozilla/5.0");
 
             // Then
-            ArgumentCaptor<User> userArgumentMatcher = ArgumentCaptor.forClass(User.class);
-            then(userRepository).should().save(userArgumentMatcher.capture());
+            ArgumentCaptor<UUID> familyIdArgumentCaptor = ArgumentCaptor.forClass(UUID.class);
+            ArgumentCaptor<byte[]> refreshTokenHashArgumentCaptor = ArgumentCaptor.forClass(byte[].class);
+            then(tokenRepository).should().insertRefreshToken(eq(user.getUserId()), familyIdArgumentCaptor.capture(), eq("Mozilla/5.0"),
+                    refreshTokenHashArgumentCaptor.capture(), eq(now), eq(expireTime));
+            then(tokenService).should().createAccessToken(user, familyIdArgumentCaptor.getValue());
 
-            assertThat(userArgumentMatcher.getValue().getToken()).isNotNull();
-            assertThat(userArgumentMatcher.getValue().getToken().isValid()).isTrue();
-            assertThat(userArgumentMatcher.getValue().getToken().getExpireTime()).isEqualTo(jwt.getExpiresAt());
+            assertThat(refreshTokenHashArgumentCaptor.getValue()).isEqualTo(TokenDigest.of(refreshToken).bytes());
         }
 
         @Test
-        void authenticateUser_ReuseRefreshTokenWithDifferentValueOnSubsequentSignIn_ShouldReturnUserWithRefreshAndAccessTokenDTO() {
+        void authenticateUser_OnSubsequentSignIn_ShouldNotSaveUserNorTouchOtherSessions() {
             // Given
             String email = AuthenticationDTOMother.complete().build().getEmail();
             String password = AuthenticationDTOMother.complete().build().getPassword();
-            User user = UserMother.complete().token(TokenMother.complete().build()).build();
+            User user = UserMother.complete().build();
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, password);
-            String refreshToken = "refreshToken";
-            Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(Instant.now())
-                    .header("alg", "SH252")
-                    .build();
+            Instant now = Instant.parse("2024-12-13T12:15:00Z");
 
             given(authenticationManager.authenticate(any(Authentication.class))).willReturn(authenticationToken);
-            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(tokenService.createRefreshToken(email)).willReturn(refreshToken);
+            given(clock.instant()).willReturn(now);
+            given(tokenService.createRefreshToken(email, now, now.plus(Duration.ofDays(7)))).willReturn("refreshToken");
 
             // When
-            cut.authenticateUser(email, password);
+            cut.authenticateUser(email, password, "Mozilla/5.0");
 
             // Then
-            ArgumentCaptor<User> userArgumentMatcher = ArgumentCaptor.forClass(User.class);
-            then(userRepository).should().save(userArgumentMatcher.capture());
-
-            assertThat(userArgumentMatcher.getValue().getToken()).isNotNull();
-            assertThat(userArgumentMatcher.getValue().getToken().isValid()).isTrue();
-            assertThat(userArgumentMatcher.getValue().getToken().getExpireTime()).isEqualTo(jwt.getExpiresAt());
+            then(tokenRepository).should().insertRefreshToken(eq(user.getUserId()), any(UUID.class), eq("Mozilla/5.0"), any(byte[].class), eq(now), any(Instant.class));
+            then(tokenRepository).shouldHaveNoMoreInteractions();
+            then(userRepository).shouldHaveNoInteractions();
+            then(refreshTokenStateCache).shouldHaveNoInteractions();
         }
 
         @Test
-        void authenticateUser_WithValidCredentialsButFailToValidateRecentlyCreatedJwt_ShouldThrowRuntimeException() {
+        void authenticateUser_WithOverlongUserAgent_ShouldStoreTruncatedDevice() {
             // Given
             String email = AuthenticationDTOMother.complete().build().getEmail();
             String password = AuthenticationDTOMother.complete().build().getPassword();
             User user = UserMother.complete().build();
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, password);
-            String refreshToken = "refreshToken";
+            Instant now = Instant.parse("2024-12-13T12:15:00Z");
 
             given(authenticationManager.authenticate(any(Authentication.class))).willReturn(authenticationToken);
-            given(tokenService.validateJWT(refreshToken)).willThrow(new JwtException(ErrorMessages.INVALID_REFRESH_TOKEN));
-            given(tokenService.createRefreshToken(email)).willReturn(refreshToken);
+            given(clock.instant()).willReturn(now);
+            given(tokenService.createRefreshToken(email, now, now.plus(Duration.ofDays(7)))).willReturn("refreshToken");
 
             // When
-            assertThatThrownBy(() -> cut.authenticateUser(email, password))
-                    .isInstanceOf(RuntimeException.class)
-                    .hasMessage(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.FAIL_TOKEN_DECODE);
+            cut.authenticateUser(email, password, "x".repeat(300));
 
             // Then
-            then(userRepository).shouldHaveNoInteractions();
-            then(userMapper).shouldHaveNoInteractions();
+            then(tokenRepository).should().insertRefreshToken(eq(user.getUserId()), any(UUID.class), eq("x".repeat(255)), any(byte[].class), eq(now), any(Instant.class));
+        }
+
+        @Test
+        void authenticateUser_WithBadCredentials_ShouldRecordFailedLogin() {
+            // Given
+            String email = AuthenticationDTOMother.complete().build().getEmail();
+            String password = AuthenticationDTOMother.complete().build().getPassword();
+
+            given(authenticationManager.authenticate(any(Authentication.class))).willThrow(new BadCredentialsException("Bad credentials"));
+
+            // When
+            assertThatThrownBy(() -> cut.authenticateUser(email, password, "Mozilla/5.0"))
+                    .isInstanceOf(BadCredentialsException.class);
+
+            // Then
+            assertThat(meterRegistry.get("auth.login").tag("outcome", "bad_credentials").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("auth.login").tag("outcome", "success").timer().count()).isZero();
+            then(tokenRepository).shouldHaveNoInteractions();
         }
     }
 
     @Nested
     class RefreshAccessToken {
 
+        private final Instant currentTime = Instant.parse("2024-12-13T12:15:00Z");
+        private final Instant nextExpireTime = currentTime.plus(Duration.ofDays(7));
+
         @Test
-        void refreshAccessToken_WithValidToken_ShouldReturnNewAccessToken() {
+        void refreshAccessToken_WithValidToken_ShouldRotateRefreshTokenAndReturnNewAccessToken() {
             // Given
-            LocalDateTime defaultLocalDateTime = LocalDateTime.of(2024, 12, 13, 12, 15);
-            Clock fixedClock = Clock.fixed(defaultLocalDateTime.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            Instant tokenExpirationTime = fixedClock.instant();
-            Instant currentTime = fixedClock.instant().minusSeconds(100);
+            String refreshToken = "refreshToken";
+            String nextRefreshToken = "nextRefreshToken";
+            String accessToken = "accessToken";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime).user(user).build();
+            Jwt jwt = Jwt.withTokenValue(refreshToken)
+                    .expiresAt(token.getExpireTime())
+                    .subject(user.getEmail())
+                    .header("alg", "SH252")
+                    .build();
+
+            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
+            given(clock.instant()).willReturn(currentTime);
+            given(tokenService.createRefreshToken(user.getEmail(), currentTime, nextExpireTime)).willReturn(nextRefreshToken);
+            given(tokenRepository.rotateRefreshToken(token.getTokenId(), TokenDigest.of(nextRefreshToken).bytes(), currentTime, nextExpireTime))
+                    .willReturn(Optional.of(2));
+            given(tokenService.createAccessToken(eq(user.getEmail()), any(), eq(token.getFamilyId()))).willReturn(accessToken);
 
+            // When
+            cut.refreshAccessToken(refreshToken);
+
+            // Then
+            ArgumentCaptor<RefreshTokenState> stateArgumentCaptor = ArgumentCaptor.forClass(RefreshTokenState.class);
+            then(refreshTokenStateCache).should().evict(TokenDigest.of(refreshToken));
+            then(refreshTokenStateCache).should().put(eq(TokenDigest.of(nextRefreshToken)), stateArgumentCaptor.capture(), anyLong());
+            then(userMapper).should().toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(stateArgumentCaptor.getValue(), accessToken, nextRefreshToken);
+
+            RefreshTokenState next = stateArgumentCaptor.getValue();
+            assertThat(next.tokenId()).isEqualTo(2);
+            assertThat(next.familyId()).isEqualTo(token.getFamilyId());
+            assertThat(next.expireTime()).isEqualTo(nextExpireTime);
+            assertThat(next.valid()).isTrue();
+        }
+
+        @Test
+        void refreshAccessToken_WithCachedTokenState_ShouldRotateWithoutDecodingOrReadingToken() {
+            // Given
             String refreshToken = "refreshToken";
+            String nextRefreshToken = "nextRefreshToken";
             String accessToken = "accessToken";
-            Token token = TokenMother.complete().refreshToken(refreshToken).expireTime(tokenExpirationTime).build();
-            User user = UserMother.complete().token(token).build();
+            RefreshTokenState state = state(true, null);
+
+            given(refreshTokenStateCache.get(TokenDigest.of(refreshToken))).willReturn(Optional.of(state));
+            given(clock.instant()).willReturn(currentTime);
+            given(tokenService.createRefreshToken(state.email(), currentTime, nextExpireTime)).willReturn(nextRefreshToken);
+            given(tokenRepository.rotateRefreshToken(state.tokenId(), TokenDigest.of(nextRefreshToken).bytes(), currentTime, nextExpireTime))
+                    .willReturn(Optional.of(2));
+            given(tokenService.createAccessToken(state.email(), state.roles(), state.familyId())).willReturn(accessToken);
+
+            // When
+            cut.refreshAccessToken(refreshToken);
+
+            // Then
+            then(userMapper).should().toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(state.successor(2, nextExpireTime), accessToken, nextRefreshToken);
+            then(tokenService).shouldHaveNoMoreInteractions();
+            then(tokenRepository).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void refreshAccessToken_WithTokenRotatedWithinReuseGrace_ShouldReturnAccessTokenWithoutRotating() {
+            // Given
+            String refreshToken = "refreshToken";
+            String accessToken = "accessToken";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime)
+                    .isValid(false).rotatedAt(currentTime.minusSeconds(2)).user(user).build();
             Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(tokenExpirationTime)
+                    .expiresAt(token.getExpireTime())
                     .subject(user.getEmail())
                     .header("alg", "SH252")
                     .build();
 
             given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
             given(clock.instant()).willReturn(currentTime);
-            given(tokenService.createAccessToken(user)).willReturn(accessToken);
+            given(tokenRepository.existsValidToken(user.getUserId(), token.getFamilyId())).willReturn(true);
+            given(tokenService.createAccessToken(eq(user.getEmail()), any(), eq(token.getFamilyId()))).willReturn(accessToken);
 
             // When
             cut.refreshAccessToken(refreshToken);
 
             // Then
-            then(tokenService).should().createAccessToken(user);
-            then(userMapper).should().toUserDTOFromUserAndAccessToken(user, accessToken);
+            then(userMapper).should().toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(RefreshTokenState.of(user, token), accessToken, null);
+            then(tokenRepository).should().existsValidToken(user.getUserId(), token.getFamilyId());
+            then(tokenRepository).shouldHaveNoMoreInteractions();
+            then(refreshTokenStateCache).should().get(TokenDigest.of(refreshToken));
+            then(refreshTokenStateCache).shouldHaveNoMoreInteractions();
+        }
+
+        @Test
+        void refreshAccessToken_WithTokenRotatedWithinReuseGraceOfRevokedSession_ShouldThrowRefreshTokenException() {
+            // Given
+            String refreshToken = "refreshToken";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime)
+                    .isValid(false).rotatedAt(currentTime.minusSeconds(2)).user(user).build();
+            Jwt jwt = Jwt.withTokenValue(refreshToken)
+                    .expiresAt(token.getExpireTime())
+                    .subject(user.getEmail())
+                    .header("alg", "SH252")
+                    .build();
+
+            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
+            given(clock.instant()).willReturn(currentTime);
+            given(tokenRepository.existsValidToken(user.getUserId(), token.getFamilyId())).willReturn(false);
+
+            // When
+            assertThatThrownBy(() -> cut.refreshAccessToken(refreshToken))
+                    .isInstanceOf(RefreshTokenException.class)
+                    .hasMessage(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.INVALIDATED_REFRESH_TOKEN);
+
+            // Then
+            then(tokenService).shouldHaveNoMoreInteractions();
+            then(userMapper).shouldHaveNoInteractions();
+            then(tokenRepository).should(never()).invalidateFamily(any(), any());
+        }
+
+        @Test
+        void refreshAccessToken_WithTokenReusedAfterReuseGrace_ShouldRevokeWholeFamily() {
+            // Given
+            String refreshToken = "refreshToken";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime)
+                    .isValid(false).rotatedAt(currentTime.minus(Duration.ofHours(1))).user(user).build();
+            Jwt jwt = Jwt.withTokenValue(refreshToken)
+                    .expiresAt(token.getExpireTime())
+                    .subject(user.getEmail())
+                    .header("alg", "SH252")
+                    .build();
+
+            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
+            given(clock.instant()).willReturn(currentTime);
+
+            // When
+            assertThatThrownBy(() -> cut.refreshAccessToken(refreshToken))
+                    .isInstanceOf(RefreshTokenException.class)
+                    .hasMessage(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.REUSED_REFRESH_TOKEN);
+
+            // Then
+            then(tokenRepository).should().invalidateFamily(user.getUserId(), token.getFamilyId());
+            then(refreshTokenStateCache).should().evictUser(user.getUserId());
+            then(tokenService).shouldHaveNoMoreInteractions();
+            then(userMapper).shouldHaveNoInteractions();
+            assertThat(meterRegistry.get("auth.refresh").tag("outcome", "reused").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        void refreshAccessToken_WithCachedTokenRotatedConcurrently_ShouldReturnAccessTokenOnly() {
+            // Given
+            String refreshToken = "refreshToken";
+            String nextRefreshToken = "nextRefreshToken";
+            String accessToken = "accessToken";
+            RefreshTokenState state = state(true, null);
+            User user = UserMother.complete().build();
+            Token rotated = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime)
+                    .isValid(false).rotatedAt(currentTime).user(user).build();
+
+            given(refreshTokenStateCache.get(TokenDigest.of(refreshToken))).willReturn(Optional.of(state));
+            given(clock.instant()).willReturn(currentTime);
+            given(tokenService.createRefreshToken(state.email(), currentTime, nextExpireTime)).willReturn(nextRefreshToken);
+            given(tokenRepository.rotateRefreshToken(state.tokenId(), TokenDigest.of(nextRefreshToken).bytes(), currentTime, nextExpireTime))
+                    .willReturn(Optional.empty());
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(rotated));
+            given(tokenRepository.existsValidToken(user.getUserId(), rotated.getFamilyId())).willReturn(true);
+            given(tokenService.createAccessToken(eq(user.getEmail()), any(), eq(rotated.getFamilyId()))).willReturn(accessToken);
+
+            // When
+            cut.refreshAccessToken(refreshToken);
+
+            // Then
+            then(userMapper).should().toUserWithAccessAndRefreshTokenDTOFromRefreshTokenState(RefreshTokenState.of(user, rotated), accessToken, null);
+            then(refreshTokenStateCache).should(never()).put(any(), any(), anyLong());
+        }
+
+        @Test
+        void refreshAccessToken_WithCachedInvalidatedTokenState_ShouldThrowRefreshTokenException() {
+            // Given
+            String refreshToken = "refreshToken";
+            RefreshTokenState state = state(false, null);
+
+            given(refreshTokenStateCache.get(TokenDigest.of(refreshToken))).willReturn(Optional.of(state));
+            given(clock.instant()).willReturn(currentTime);
+
+            // When
+            assertThatThrownBy(() -> cut.refreshAccessToken(refreshToken))
+                    .isInstanceOf(RefreshTokenException.class)
+                    .hasMessage(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.INVALIDATED_REFRESH_TOKEN);
+
+            // Then
+            then(tokenService).shouldHaveNoInteractions();
+            then(tokenRepository).shouldHaveNoInteractions();
+            then(userMapper).shouldHaveNoInteractions();
         }
 
         @Test
@@ -257,28 +482,26 @@ class AuthenticationServiceTest {
                     .hasMessage(ErrorMessages.INVALID_REFRESH_TOKEN + ": " + ErrorMessages.FAIL_TOKEN_DECODE);
 
             // Then
-            then(userRepository).shouldHaveNoInteractions();
+            then(tokenRepository).shouldHaveNoInteractions();
             then(tokenService).shouldHaveNoMoreInteractions();
             then(userMapper).shouldHaveNoInteractions();
         }
 
         @Test
-        void refreshAccessToken_WithNonExistingSubject_ShouldThrowRefreshTokenException() {
+        void refreshAccessToken_WithSubjectNotOwningStoredToken_ShouldThrowRefreshTokenException() {
             // Given
-            LocalDateTime defaultLocalDateTime = LocalDateTime.of(2024, 12, 13, 12, 15);
-            Clock fixedClock = Clock.fixed(defaultLocalDateTime.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            Instant tokenExpirationTime = fixedClock.instant();
-
             String refreshToken = "refreshToken";
             String subject = "john.gmail.com";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime).user(user).build();
             Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(tokenExpirationTime)
+                    .expiresAt(token.getExpireTime())
                     .subject(subject)
                     .header("alg", "SH252")
                     .build();
 
             given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(userRepository.findByEmail(subject)).willReturn(Optional.empty());
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
 
             // When
             assertThatThrownBy(() -> cut.refreshAccessToken(refreshToken))
@@ -287,28 +510,24 @@ class AuthenticationServiceTest {
 
             // Then
             then(tokenService).shouldHaveNoMoreInteractions();
+            then(tokenRepository).shouldHaveNoMoreInteractions();
             then(userMapper).shouldHaveNoInteractions();
         }
 
         @Test
         void refreshAccessToken_WithInvalidatedToken_ShouldThrowRefreshTokenException() {
             // Given
-            LocalDateTime defaultLocalDateTime = LocalDateTime.of(2024, 12, 13, 12, 15);
-            Clock fixedClock = Clock.fixed(defaultLocalDateTime.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            Instant tokenExpirationTime = fixedClock.instant();
-            Instant currentTime = fixedClock.instant().minusSeconds(100);
-
             String refreshToken = "refreshToken";
-            Token token = TokenMother.complete().refreshToken(refreshToken).isValid(false).expireTime(tokenExpirationTime).build();
-            User user = UserMother.complete().token(token).build();
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).isValid(false).expireTime(nextExpireTime).user(user).build();
             Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(tokenExpirationTime)
+                    .expiresAt(token.getExpireTime())
                     .subject(user.getEmail())
                     .header("alg", "SH252")
                     .build();
 
             given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
             given(clock.instant()).willReturn(currentTime);
 
             // When
@@ -318,29 +537,22 @@ class AuthenticationServiceTest {
 
             // Then
             then(tokenService).shouldHaveNoMoreInteractions();
+            then(tokenRepository).shouldHaveNoMoreInteractions();
             then(userMapper).shouldHaveNoInteractions();
         }
 
         @Test
         void refreshAccessToken_WithCookieTokenAndDatabaseTokenNotMatching_ShouldThrowRefreshTokenException() {
             // Given
-            LocalDateTime defaultLocalDateTime = LocalDateTime.of(2024, 12, 13, 12, 15);
-            Clock fixedClock = Clock.fixed(defaultLocalDateTime.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            Instant tokenExpirationTime = fixedClock.instant();
-            Instant currentTime = fixedClock.instant().minusSeconds(100);
-
             String refreshToken = "refreshToken";
-            Token token = TokenMother.complete().refreshToken("different Token").expireTime(tokenExpirationTime).build();
-            User user = UserMother.complete().token(token).build();
             Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(tokenExpirationTime)
-                    .subject(user.getEmail())
+                    .expiresAt(nextExpireTime)
+                    .subject(UserMother.complete().build().getEmail())
                     .header("alg", "SH252")
                     .build();
 
             given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
-            given(clock.instant()).willReturn(currentTime);
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.empty());
 
             // When
             assertThatThrownBy(() -> cut.refreshAccessToken(refreshToken))
@@ -350,27 +562,52 @@ class AuthenticationServiceTest {
             // Then
             then(tokenService).shouldHaveNoMoreInteractions();
             then(userMapper).shouldHaveNoInteractions();
+            then(refreshTokenStateCache).should().get(TokenDigest.of(refreshToken));
+            then(refreshTokenStateCache).shouldHaveNoMoreInteractions();
         }
 
         @Test
-        void refreshAccessToken_WithExpiredToken_ShouldThrowRefreshTokenException() {
+        void refreshAccessToken_WithTokenNotYetOnReplica_ShouldFindItOnSecondRead() {
             // Given
-            LocalDateTime defaultLocalDateTime = LocalDateTime.of(2024, 12, 13, 12, 15);
-            Clock fixedClock = Clock.fixed(defaultLocalDateTime.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
-            Instant tokenExpirationTime = fixedClock.instant();
-            Instant currentTime = fixedClock.instant().plusSeconds(100);
+            String refreshToken = "refreshToken";
+            String nextRefreshToken = "nextRefreshToken";
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(nextExpireTime).user(user).build();
+            Jwt jwt = Jwt.withTokenValue(refreshToken)
+                    .expiresAt(token.getExpireTime())
+                    .subject(user.getEmail())
+                    .header("alg", "SH252")
+                    .build();
+
+            given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.empty(), Optional.of(token));
+            given(clock.instant()).willReturn(currentTime);
+            given(tokenService.createRefreshToken(user.getEmail(), currentTime, nextExpireTime)).willReturn(nextRefreshToken);
+            given(tokenRepository.rotateRefreshToken(token.getTokenId(), TokenDigest.of(nextRefreshToken).bytes(), currentTime, nextExpireTime))
+                    .willReturn(Optional.of(2));
+
+            // When
+            cut.refreshAccessToken(refreshToken);
+
+            // Then
+            then(tokenRepository).should(times(2)).findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes());
+            then(refreshTokenStateCache).should().put(eq(TokenDigest.of(nextRefreshToken)), any(), anyLong());
+        }
 
+        @Test
+        void refreshAccessToken_WithExpiredToken_ShouldThrowRefreshTokenException() {
+            // Given
             String refreshToken = "refreshToken";
-            Token token = TokenMother.complete().refreshToken(refreshToken).expireTime(tokenExpirationTime).build();
-            User user = UserMother.complete().token(token).build();
+            User user = UserMother.complete().build();
+            Token token = TokenMother.complete().refreshTokenHash(TokenDigest.of(refreshToken).bytes()).expireTime(currentTime.minusSeconds(100)).user(user).build();
             Jwt jwt = Jwt.withTokenValue(refreshToken)
-                    .expiresAt(tokenExpirationTime)
+                    .expiresAt(token.getExpireTime())
                     .subject(user.getEmail())
                     .header("alg", "SH252")
                     .build();
 
             given(tokenService.validateJWT(refreshToken)).willReturn(jwt);
-            given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+            given(tokenRepository.findByRefreshTokenHash(TokenDigest.of(refreshToken).bytes())).willReturn(Optional.of(token));
             given(clock.instant()).willReturn(currentTime);
 
             // When
@@ -381,6 +618,12 @@ class AuthenticationServiceTest {
             // Then
             then(tokenService).shouldHaveNoMoreInteractions();
             then(userMapper).shouldHaveNoInteractions();
+            assertThat(meterRegistry.get("auth.refresh").tag("outcome", "expired").timer().count()).isEqualTo(1);
+        }
+
+        private RefreshTokenState state(boolean valid, Instant rotatedAt) {
+            return new RefreshTokenState(1, 1, UUID.randomUUID(), "john.doe@gmail.com", "John", "Doe", "",
+                    Set.of("USER"), nextExpireTime, valid, rotatedAt);
         }
     }
 }
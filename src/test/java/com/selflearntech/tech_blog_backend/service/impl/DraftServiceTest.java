@@ -0,0 +1,163 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.config.MarkdownProperties;
+import com.selflearntech.tech_blog_backend.dto.DraftPatchDTO;
+import com.selflearntech.tech_blog_backend.dto.DraftVersionDTO;
+import com.selflearntech.tech_blog_backend.dto.TextEditDTO;
+import com.selflearntech.tech_blog_backend.exception.BadRequestException;
+import com.selflearntech.tech_blog_backend.exception.DraftNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.StoryNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.rendering.MarkdownRenderer;
+import com.selflearntech.tech_blog_backend.repository.DraftWriteBuffer;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.service.IPublishedStoryService;
+import com.selflearntech.tech_blog_backend.service.IStorySearchService;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+class DraftServiceTest {
+
+    private static final String DRAFT_ID = "6571a2f0c3b2a54e1d2f3a4b";
+
+    @Mock
+    private StoryRepository storyRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DraftWriteBuffer draftWriteBuffer;
+    @Mock
+    private IStorySearchService storySearchService;
+    @Mock
+    private IPublishedStoryService publishedStoryService;
+    @Spy
+    private StoryMapper storyMapper = Mappers.getMapper(StoryMapper.class);
+    @Spy
+    private MarkdownRenderer markdownRenderer = new MarkdownRenderer(new MarkdownProperties(), new SimpleMeterRegistry());
+    @Spy
+    private Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    @InjectMocks
+    private DraftService cut;
+
+    @Test
+    void saveDraft_WithTextEdits_ShouldApplyThemInOrderToBufferedDraft() {
+        // Given
+        Story draft = StoryMother.complete().body("Hello world").build();
+        given(userRepository.findUserIdByEmail("john.doe@gmail.com")).willReturn(Optional.of(1));
+        given(draftWriteBuffer.save(eq(DRAFT_ID), eq(1), eq(0L), any())).willAnswer(invocation -> {
+            Consumer<Story> patch = invocation.getArgument(3);
+            patch.accept(draft);
+            draft.setVersion(1L);
+            return draft;
+        });
+        DraftPatchDTO patch = DraftPatchDTO.builder()
+                .baseVersion(0L)
+                .tags(List.of("java"))
+                .edits(List.of(new TextEditDTO(6, 5, "there"), new TextEditDTO(11, 0, "!")))
+                .build();
+
+        // When
+        DraftVersionDTO saved = cut.saveDraft(accessToken(), DRAFT_ID, patch);
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(1);
+        assertThat(draft.getBody()).isEqualTo("Hello there!");
+        assertThat(draft.getBodyHtml()).isEqualTo("<p>Hello there!</p>\n");
+        assertThat(draft.getTags()).containsExactly("java");
+        assertThat(draft.getTitle()).isEqualTo(StoryMother.complete().build().getTitle());
+    }
+
+    @Test
+    void saveDraft_WithEditPastEndOfBody_ShouldThrowBadRequestException() {
+        // Given
+        Story draft = StoryMother.complete().body("Hello").build();
+        given(userRepository.findUserIdByEmail("john.doe@gmail.com")).willReturn(Optional.of(1));
+        given(draftWriteBuffer.save(eq(DRAFT_ID), eq(1), eq(0L), any())).willAnswer(invocation -> {
+            Consumer<Story> patch = invocation.getArgument(3);
+            patch.accept(draft);
+            return draft;
+        });
+        DraftPatchDTO patch = DraftPatchDTO.builder().baseVersion(0L).edits(List.of(new TextEditDTO(3, 10, ""))).build();
+
+        // When & Then
+        assertThatThrownBy(() -> cut.saveDraft(accessToken(), DRAFT_ID, patch))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ErrorMessages.INVALID_DRAFT_EDIT);
+        assertThat(draft.getBody()).isEqualTo("Hello");
+    }
+
+    @Test
+    void publishDraft_ShouldWriteBufferedSavesBeforePublishingIndexingAndRendering() {
+        // Given
+        given(userRepository.findUserIdByEmail("john.doe@gmail.com")).willReturn(Optional.of(1));
+        given(storyRepository.publishDraft(DRAFT_ID, 1, clock.instant())).willReturn(1L);
+
+        // When
+        cut.publishDraft(accessToken(), DRAFT_ID);
+
+        // Then
+        InOrder inOrder = inOrder(draftWriteBuffer, storyRepository, storySearchService, publishedStoryService);
+        inOrder.verify(draftWriteBuffer).flush(DRAFT_ID);
+        inOrder.verify(storyRepository).publishDraft(DRAFT_ID, 1, clock.instant());
+        inOrder.verify(storySearchService).indexStory(DRAFT_ID);
+        inOrder.verify(publishedStoryService).renderPublishedStory(DRAFT_ID);
+    }
+
+    @Test
+    void publishDraft_WithoutSuchDraftOfUser_ShouldThrowDraftNotFoundException() {
+        // Given
+        given(userRepository.findUserIdByEmail("john.doe@gmail.com")).willReturn(Optional.of(1));
+        given(storyRepository.publishDraft(DRAFT_ID, 1, clock.instant())).willReturn(0L);
+
+        // When & Then
+        assertThatThrownBy(() -> cut.publishDraft(accessToken(), DRAFT_ID))
+                .isInstanceOf(DraftNotFoundException.class);
+        then(storySearchService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void unpublishStory_WithoutSuchPublishedStoryOfUser_ShouldThrowStoryNotFoundException() {
+        // Given
+        given(userRepository.findUserIdByEmail("john.doe@gmail.com")).willReturn(Optional.of(1));
+        given(storyRepository.unpublishStory(DRAFT_ID, 1, clock.instant())).willReturn(0L);
+
+        // When & Then
+        assertThatThrownBy(() -> cut.unpublishStory(accessToken(), DRAFT_ID))
+                .isInstanceOf(StoryNotFoundException.class)
+                .hasMessage(ErrorMessages.STORY_NOT_FOUND);
+        then(storySearchService).shouldHaveNoInteractions();
+    }
+
+    private static Jwt accessToken() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("john.doe@gmail.com")
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.dto.SessionDTO;
+import com.selflearntech.tech_blog_backend.exception.SessionNotFoundException;
+import com.selflearntech.tech_blog_backend.exception.UserNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.SessionMapper;
+import com.selflearntech.tech_blog_backend.model.Token;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.TokenRepository;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.security.RefreshTokenStateCache;
+import com.selflearntech.tech_blog_backend.security.RevocationList;
+import com.selflearntech.tech_blog_backend.test_data.TokenMother;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class SessionServiceTest {
+
+    private static final UUID LAPTOP_SESSION = UUID.fromString("11111111-1111-4111-8111-111111111111");
+    private static final UUID PHONE_SESSION = UUID.fromString("22222222-2222-4222-8222-222222222222");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TokenRepository tokenRepository;
+    @Mock
+    private RefreshTokenStateCache refreshTokenStateCache;
+    @Mock
+    private RevocationList revocationList;
+    @Spy
+    private SessionMapper sessionMapper = Mappers.getMapper(SessionMapper.class);
+    @Spy
+    private Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    @InjectMocks
+    private SessionService cut;
+
+    @Test
+    void listSessions_ShouldFlagSessionOfAccessToken() {
+        // Given
+        User user = UserMother.complete().build();
+        Token laptop = TokenMother.complete().familyId(LAPTOP_SESSION).device("Firefox").build();
+        Token phone = TokenMother.complete().tokenId(2).familyId(PHONE_SESSION).device("Safari").build();
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        given(tokenRepository.findActiveSessions(user.getUserId(), clock.instant())).willReturn(List.of(laptop, phone));
+
+        // When
+        List<SessionDTO> sessions = cut.listSessions(accessToken(user, PHONE_SESSION));
+
+        // Then
+        assertThat(sessions).extracting(SessionDTO::getSessionId).containsExactly(LAPTOP_SESSION, PHONE_SESSION);
+        assertThat(sessions).extracting(SessionDTO::getDevice).containsExactly("Firefox", "Safari");
+        assertThat(sessions).extracting(SessionDTO::isCurrent).containsExactly(false, true);
+    }
+
+    @Test
+    void revokeSession_ShouldInvalidateOnlyThatSessionOfTheUser() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        given(tokenRepository.invalidateFamily(user.getUserId(), LAPTOP_SESSION)).willReturn(1);
+
+        // When
+        cut.revokeSession(accessToken(user, PHONE_SESSION), LAPTOP_SESSION);
+
+        // Then
+        then(refreshTokenStateCache).should().evictUser(user.getUserId());
+        then(tokenRepository).shouldHaveNoMoreInteractions();
+        then(revocationList).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void revokeSession_WithSessionOfAnotherUser_ShouldThrowSessionNotFoundException() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findById(user.getUserId())).willReturn(Optional.of(user));
+        given(tokenRepository.invalidateFamily(user.getUserId(), LAPTOP_SESSION)).willReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> cut.revokeSession(user.getUserId(), LAPTOP_SESSION)).isInstanceOf(SessionNotFoundException.class);
+        then(refreshTokenStateCache).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessTokenAndInvalidateRefreshTokenOfItsSession() {
+        // Given
+        User user = UserMother.complete().build();
+        Jwt accessToken = accessToken(user, LAPTOP_SESSION);
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+
+        // When
+        cut.logout(accessToken);
+
+        // Then
+        then(tokenRepository).should().invalidateFamily(user.getUserId(), LAPTOP_SESSION);
+        then(tokenRepository).shouldHaveNoMoreInteractions();
+        then(refreshTokenStateCache).should().evictUser(user.getUserId());
+        then(revocationList).should().revokeToken(user.getUserId(), accessToken);
+    }
+
+    @Test
+    void logout_WithAccessTokenWithoutSession_ShouldInvalidateAllRefreshTokensOfTheUser() {
+        // Given
+        User user = UserMother.complete().build();
+        Jwt accessToken = accessToken(user, null);
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+
+        // When
+        cut.logout(accessToken);
+
+        // Then
+        then(tokenRepository).should().invalidateUserTokens(user.getUserId());
+        then(revocationList).should().revokeToken(user.getUserId(), accessToken);
+    }
+
+    @Test
+    void revokeAllSessions_ShouldRevokeEveryTokenOfTheUser() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findById(user.getUserId())).willReturn(Optional.of(user));
+
+        // When
+        cut.revokeAllSessions(user.getUserId());
+
+        // Then
+        then(tokenRepository).should().invalidateUserTokens(user.getUserId());
+        then(revocationList).should().revokeSubject(user.getUserId(), user.getEmail());
+    }
+
+    @Test
+    void revokeAllSessions_WithUnknownUser_ShouldThrowUserNotFoundException() {
+        // Given
+        given(userRepository.findById(42)).willReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> cut.revokeAllSessions(42)).isInstanceOf(UserNotFoundException.class);
+        then(revocationList).shouldHaveNoInteractions();
+    }
+
+    private Jwt accessToken(User user, UUID sessionId) {
+        Jwt.Builder accessToken = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(user.getEmail())
+                .jti("tokenId")
+                .expiresAt(clock.instant().plusSeconds(10));
+        if (sessionId != null) accessToken.claim("sid", sessionId.toString());
+        return accessToken.build();
+    }
+}
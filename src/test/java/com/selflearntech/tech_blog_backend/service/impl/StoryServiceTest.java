@@ -0,0 +1,133 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.dto.StoryPageDTO;
+import com.selflearntech.tech_blog_backend.dto.StorySummaryDTO;
+import com.selflearntech.tech_blog_backend.exception.BadRequestException;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.UserNotFoundException;
+import com.selflearntech.tech_blog_backend.mapper.StoryMapper;
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.StoryRepository;
+import com.selflearntech.tech_blog_backend.repository.StorySummary;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.test_data.StoryMother;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import com.selflearntech.tech_blog_backend.utils.StoryCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class StoryServiceTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-12-13T12:15:00Z");
+
+    @Mock
+    private StoryRepository storyRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Spy
+    private StoryMapper storyMapper = Mappers.getMapper(StoryMapper.class);
+    @InjectMocks
+    private StoryService cut;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @Test
+    void listStories_WithMoreStoriesThanPageSize_ShouldReturnPageAndCursorAfterItsLastStory() {
+        // Given
+        User user = UserMother.complete().build();
+        List<StorySummary> stories = summaries("6571a2f0c3b2a54e1d2f3a4c", "6571a2f0c3b2a54e1d2f3a4b", "6571a2f0c3b2a54e1d2f3a4a");
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        given(storyRepository.findFirstPage(user.getUserId(), StoryStatus.DRAFT, Limit.of(3))).willReturn(stories);
+
+        // When
+        StoryPageDTO page = cut.listStories(accessToken(user), StoryStatus.DRAFT, null, 2);
+
+        // Then
+        assertThat(page.getStories()).extracting(StorySummaryDTO::getId)
+                .containsExactly("6571a2f0c3b2a54e1d2f3a4c", "6571a2f0c3b2a54e1d2f3a4b");
+        assertThat(StoryCursor.decode(page.getNextCursor()))
+                .isEqualTo(new StoryCursor(UPDATED_AT, new ObjectId("6571a2f0c3b2a54e1d2f3a4b")));
+    }
+
+    @Test
+    void listStories_WithCursor_ShouldReadPageAfterItAndStopAtLastPage() {
+        // Given
+        User user = UserMother.complete().build();
+        StoryCursor cursor = new StoryCursor(UPDATED_AT, new ObjectId("6571a2f0c3b2a54e1d2f3a4b"));
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        given(storyRepository.findPageAfter(user.getUserId(), StoryStatus.PUBLISHED, cursor.updatedAt(), cursor.id(), Limit.of(3)))
+                .willReturn(summaries("6571a2f0c3b2a54e1d2f3a4a"));
+
+        // When
+        StoryPageDTO page = cut.listStories(accessToken(user), StoryStatus.PUBLISHED, cursor.encode(), 2);
+
+        // Then
+        assertThat(page.getStories()).extracting(StorySummaryDTO::getId).containsExactly("6571a2f0c3b2a54e1d2f3a4a");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listStories_WithMalformedCursor_ShouldThrowBadRequestException() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+
+        // When & Then
+        assertThatThrownBy(() -> cut.listStories(accessToken(user), StoryStatus.DRAFT, "not-a-cursor", 20))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ErrorMessages.INVALID_STORY_CURSOR);
+        then(storyRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void listStories_WithUnknownUser_ShouldThrowUserNotFoundException() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> cut.listStories(accessToken(user), StoryStatus.DRAFT, null, 20))
+                .isInstanceOf(UserNotFoundException.class);
+        then(storyRepository).should(never()).findFirstPage(any(), any(), any());
+    }
+
+    private List<StorySummary> summaries(String... ids) {
+        return Arrays.stream(ids)
+                .map(id -> {
+                    Story story = StoryMother.complete().id(id).build();
+                    return projectionFactory.createProjection(StorySummary.class, story);
+                })
+                .toList();
+    }
+
+    private static Jwt accessToken(User user) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(user.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.config.TokenPurgeProperties;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Batch;
+import com.selflearntech.tech_blog_backend.repository.TokenPurgeRepository.Cursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class TokenPurgeServiceTest {
+
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2024, 12, 13, 12, 15).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+    private final Cursor first = new Cursor(LocalDateTime.of(2024, 12, 1, 0, 0), 2);
+    private final Cursor second = new Cursor(LocalDateTime.of(2024, 12, 2, 0, 0), 5);
+
+    @Mock
+    private TokenPurgeRepository tokenPurgeRepository;
+
+    private MeterRegistry meterRegistry;
+    private TokenPurgeService cut;
+
+    @BeforeEach
+    void setUp() {
+        TokenPurgeProperties properties = new TokenPurgeProperties();
+        properties.setBatchSize(2);
+        properties.setBatchDelay(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new TokenPurgeService(tokenPurgeRepository, properties, clock, meterRegistry);
+    }
+
+    @Test
+    void purgeTokens_WithSeveralBatches_ShouldContinueFromLastDeletedKey() {
+        // Given
+        given(tokenPurgeRepository.deleteBatch(Cursor.START, clock.instant(), 2)).willReturn(new Batch(true, 2, 0, first));
+        given(tokenPurgeRepository.deleteBatch(first, clock.instant(), 2)).willReturn(new Batch(true, 1, 0, second));
+
+        // When
+        long purged = cut.purgeTokens();
+
+        // Then
+        assertThat(purged).isEqualTo(3);
+        then(tokenPurgeRepository).should(times(2)).deleteBatch(any(), eq(clock.instant()), eq(2));
+        assertThat(meterRegistry.get("token.purge.rows").tag("reason", "expired").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("token.purge.runs").tag("outcome", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeTokens_WithInvalidatedTokens_ShouldCountThemSeparately() {
+        // Given
+        given(tokenPurgeRepository.deleteBatch(Cursor.START, clock.instant(), 2)).willReturn(new Batch(true, 0, 1, first));
+
+        // When
+        cut.purgeTokens();
+
+        // Then
+        assertThat(meterRegistry.get("token.purge.rows").tag("reason", "invalidated").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("token.purge.run.rows").summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeTokens_WithLockHeldByAnotherNode_ShouldStopWithoutDeleting() {
+        // Given
+        given(tokenPurgeRepository.deleteBatch(Cursor.START, clock.instant(), 2)).willReturn(new Batch(false, 0, 0, Cursor.START));
+
+        // When
+        long purged = cut.purgeTokens();
+
+        // Then
+        assertThat(purged).isZero();
+        then(tokenPurgeRepository).should(times(1)).deleteBatch(any(), any(), eq(2));
+        assertThat(meterRegistry.get("token.purge.runs").tag("outcome", "locked").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,195 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selflearntech.tech_blog_backend.config.UserImportProperties;
+import com.selflearntech.tech_blog_backend.dto.UserImportReportDTO;
+import com.selflearntech.tech_blog_backend.exception.ErrorMessages;
+import com.selflearntech.tech_blog_backend.exception.UserImportInProgressException;
+import com.selflearntech.tech_blog_backend.model.RoleType;
+import com.selflearntech.tech_blog_backend.repository.UserImportRepository;
+import com.selflearntech.tech_blog_backend.repository.UserImportRepository.ImportedUser;
+import com.selflearntech.tech_blog_backend.security.RoleCache;
+import com.selflearntech.tech_blog_backend.service.UserImportListener;
+import com.selflearntech.tech_blog_backend.test_data.RoleMother;
+import com.selflearntech.tech_blog_backend.utils.UserImportFormat;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserImportRepository userImportRepository;
+    @Mock
+    private RoleCache roleCache;
+    @Captor
+    private ArgumentCaptor<List<ImportedUser>> usersCaptor;
+
+    private UserImportService cut;
+
+    @BeforeEach
+    void setUp() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(2);
+        properties.setHashingThreads(2);
+        cut = new UserImportService(userImportRepository, roleCache, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), properties);
+        given(roleCache.get(RoleType.USER)).willReturn(Optional.of(RoleMother.USER().build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cut.shutdown();
+    }
+
+    @Test
+    void importUsers_ShouldInsertInBatchesAndReportCheckpointAfterEachBatch() {
+        // Given
+        given(userImportRepository.insertBatch(anyList(), eq(1))).willAnswer(invocation -> {
+            List<ImportedUser> users = invocation.getArgument(0);
+            return users.size() == 2 ? new boolean[]{true, false} : new boolean[]{true};
+        });
+        List<Long> checkpoints = new ArrayList<>();
+        UserImportListener listener = new UserImportListener() {
+            @Override
+            public void onProgress(UserImportReportDTO report) {
+                checkpoints.add(report.getCheckpoint());
+            }
+        };
+
+        // When
+        UserImportReportDTO report = cut.importUsers(ndjson(user("a@gmail.com"), user("b@gmail.com"), user("c@gmail.com")),
+                UserImportFormat.NDJSON, 0, listener);
+
+        // Then
+        then(userImportRepository).should(times(2)).insertBatch(usersCaptor.capture(), eq(1));
+        assertThat(usersCaptor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(checkpoints).containsExactly(2L, 3L);
+        assertThat(report.getProcessed()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.isCompleted()).isTrue();
+    }
+
+    @Test
+    void importUsers_ShouldHashPlainPasswordsAndKeepBcryptPasswords() {
+        // Given
+        String existingHash = new BCryptPasswordEncoder(4).encode("legacy");
+        given(userImportRepository.insertBatch(anyList(), eq(1))).willReturn(new boolean[]{true, true});
+
+        // When
+        cut.importUsers(ndjson(user("a@gmail.com", "plain"), user("b@gmail.com", "{bcrypt}" + existingHash)),
+                UserImportFormat.NDJSON, 0, UserImportListener.NONE);
+
+        // Then
+        then(userImportRepository).should().insertBatch(usersCaptor.capture(), eq(1));
+        List<ImportedUser> users = usersCaptor.getValue();
+        assertThat(new BCryptPasswordEncoder().matches("plain", users.get(0).passwordHash())).isTrue();
+        assertThat(users.get(1).passwordHash()).isEqualTo(existingHash);
+    }
+
+    @Test
+    void importUsers_WithInvalidRows_ShouldReportErrorsAndImportTheRest() {
+        // Given
+        given(userImportRepository.insertBatch(anyList(), eq(1))).willReturn(new boolean[]{true});
+
+        // When
+        UserImportReportDTO report = cut.importUsers(ndjson(user("not-an-email"), user("a@gmail.com", "{bcrypt}nonsense"), user("b@gmail.com")),
+                UserImportFormat.NDJSON, 0, UserImportListener.NONE);
+
+        // Then
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting("line").containsExactly(1L, 2L);
+        assertThat(report.getErrors().get(1).getMessage()).contains("BCrypt");
+        assertThat(report.getCheckpoint()).isEqualTo(3);
+    }
+
+    @Test
+    void importUsers_WithResumeAfter_ShouldSkipCommittedLines() {
+        // Given
+        given(userImportRepository.insertBatch(anyList(), eq(1))).willReturn(new boolean[]{true});
+
+        // When
+        UserImportReportDTO report = cut.importUsers(ndjson(user("a@gmail.com"), user("b@gmail.com"), user("c@gmail.com")),
+                UserImportFormat.NDJSON, 2, UserImportListener.NONE);
+
+        // Then
+        then(userImportRepository).should().insertBatch(usersCaptor.capture(), eq(1));
+        assertThat(usersCaptor.getValue()).extracting(ImportedUser::email).containsExactly("c@gmail.com");
+        assertThat(report.getProcessed()).isEqualTo(1);
+    }
+
+    @Test
+    void startImport_WhileAnotherImportRuns_ShouldRefuseIt() throws Exception {
+        // Given
+        given(userImportRepository.insertBatch(anyList(), eq(1))).willReturn(new boolean[]{true});
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserImportListener blocking = new UserImportListener() {
+            @Override
+            public void onProgress(UserImportReportDTO report) {
+                running.countDown();
+                awaitQuietly(release);
+            }
+        };
+        CompletableFuture<UserImportReportDTO> first = cut.startImport(cut.open(ndjson(user("a@gmail.com")), UserImportFormat.NDJSON), 0, blocking);
+        running.await(5, TimeUnit.SECONDS);
+
+        // When & Then
+        assertThatThrownBy(() -> cut.startImport(cut.open(ndjson(user("b@gmail.com")), UserImportFormat.NDJSON), 0, UserImportListener.NONE))
+                .isInstanceOf(UserImportInProgressException.class)
+                .hasMessage(ErrorMessages.USER_IMPORT_IN_PROGRESS);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).isCompleted()).isTrue();
+        assertThat(cut.startImport(cut.open(ndjson(user("b@gmail.com")), UserImportFormat.NDJSON), 0, UserImportListener.NONE)
+                .get(5, TimeUnit.SECONDS).getImported()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String user(String email) {
+        return user(email, "secret");
+    }
+
+    private static String user(String email, String password) {
+        return """
+                {"firstName":"John","lastName":"Doe","email":"%s","password":"%s"}""".formatted(email, password);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
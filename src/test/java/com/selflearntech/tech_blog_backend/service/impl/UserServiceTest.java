@@ -0,0 +1,53 @@
+package com.selflearntech.tech_blog_backend.service.impl;
+
+import com.selflearntech.tech_blog_backend.model.User;
+import com.selflearntech.tech_blog_backend.repository.UserRepository;
+import com.selflearntech.tech_blog_backend.test_data.UserMother;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private UserService cut;
+
+    @Test
+    void loadUserByUsername_WithUserRegisteredButNotYetOnReplica_ShouldFindItOnSecondRead() {
+        // Given
+        User user = UserMother.complete().build();
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.empty(), Optional.of(user));
+
+        // When
+        UserDetails userDetails = cut.loadUserByUsername(user.getEmail());
+
+        // Then
+        assertThat(userDetails).isSameAs(user);
+        then(userRepository).should(times(2)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void loadUserByUsername_WithUnknownEmail_ShouldThrowUsernameNotFoundException() {
+        // Given
+        given(userRepository.findByEmail("jane.doe@gmail.com")).willReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> cut.loadUserByUsername("jane.doe@gmail.com")).isInstanceOf(UsernameNotFoundException.class);
+        then(userRepository).should(times(2)).findByEmail("jane.doe@gmail.com");
+    }
+}
@@ -0,0 +1,22 @@
+package com.selflearntech.tech_blog_backend.test_data;
+
+import com.selflearntech.tech_blog_backend.model.Story;
+import com.selflearntech.tech_blog_backend.model.StoryStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public class StoryMother {
+    public static Story.StoryBuilder complete() {
+        return Story.builder()
+                .id("6571a2f0c3b2a54e1d2f3a4b")
+                .authorId(1)
+                .status(StoryStatus.DRAFT)
+                .title("Keyset pagination in MongoDB")
+                .body("# Keyset pagination\n\nSkip less, seek more.")
+                .tags(List.of("mongodb", "pagination"))
+                .createdAt(Instant.parse("2024-12-13T12:00:00Z"))
+                .updatedAt(Instant.parse("2024-12-13T12:15:00Z"))
+                .version(0L);
+    }
+}
@@ -1,12 +1,17 @@
 package com.selflearntech.tech_blog_backend.test_data;
 
 import com.selflearntech.tech_blog_backend.model.Token;
+import com.selflearntech.tech_blog_backend.utils.TokenDigest;
+
+import java.util.UUID;
 
 public class TokenMother {
     public static Token.TokenBuilder complete() {
         return Token.builder()
                 .tokenId(1)
+                .familyId(UUID.fromString("6f1c2a9e-3b4d-4e5f-8a7b-9c0d1e2f3a4b"))
+                .device("Mozilla/5.0")
                 .isValid(true)
-                .refreshToken("token");
+                .refreshTokenHash(TokenDigest.of("token").bytes());
     }
 }
@@ -2,6 +2,8 @@ package com.selflearntech.tech_blog_backend.test_data;
 
 import com.selflearntech.tech_blog_backend.model.User;
 
+import java.util.Set;
+
 public class UserMother {
 
     public static User.UserBuilder complete() {
@@ -10,6 +12,7 @@ public class UserMother {
                 .profileImg("")
                 .firstName("John")
                 .lastName("Doe")
-                .email("john.doe@gmail.com");
+                .email("john.doe@gmail.com")
+                .authorities(Set.of());
     }
 }
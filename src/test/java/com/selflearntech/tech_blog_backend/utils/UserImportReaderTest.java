@@ -0,0 +1,100 @@
+package com.selflearntech.tech_blog_backend.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_WithNdjson_ShouldReadOneRecordPerLineAndSkipBlankLines() throws IOException {
+        // Given
+        String input = """
+                {"firstName":"John","lastName":"Doe","email":"john.doe@gmail.com","password":"secret","legacyId":7}
+
+                {"firstName":"Jane","lastName":"Doe","email":"jane.doe@gmail.com","password":"secret"}
+                """;
+        UserImportReader cut = new UserImportReader(new StringReader(input), UserImportFormat.NDJSON, objectMapper);
+
+        // When
+        UserImportReader.Row first = cut.next();
+        UserImportReader.Row second = cut.next();
+
+        // Then
+        assertThat(first.line()).isEqualTo(1);
+        assertThat(first.record().getEmail()).isEqualTo("john.doe@gmail.com");
+        assertThat(second.line()).isEqualTo(3);
+        assertThat(second.record().getFirstName()).isEqualTo("Jane");
+        assertThat(cut.next()).isNull();
+    }
+
+    @Test
+    void next_WithMalformedJsonLine_ShouldReturnRowError() throws IOException {
+        // Given
+        UserImportReader cut = new UserImportReader(new StringReader("{\"firstName\":\n"), UserImportFormat.NDJSON, objectMapper);
+
+        // When
+        UserImportReader.Row row = cut.next();
+
+        // Then
+        assertThat(row.record()).isNull();
+        assertThat(row.error()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void next_WithCsv_ShouldMapColumnsByHeaderAndUnquoteFields() throws IOException {
+        // Given
+        String input = """
+                email,password,first_name,last_name
+                john.doe@gmail.com,"pa,ss""word",John,"Doe"
+                """;
+        UserImportReader cut = new UserImportReader(new StringReader(input), UserImportFormat.CSV, objectMapper);
+
+        // When
+        UserImportReader.Row row = cut.next();
+
+        // Then
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.record().getEmail()).isEqualTo("john.doe@gmail.com");
+        assertThat(row.record().getPassword()).isEqualTo("pa,ss\"word");
+        assertThat(row.record().getLastName()).isEqualTo("Doe");
+        assertThat(row.record().getProfileImg()).isNull();
+    }
+
+    @Test
+    void constructor_WithCsvHeaderMissingRequiredColumn_ShouldThrowIllegalArgumentException() {
+        // Given
+        String input = "email,first_name,last_name\n";
+
+        // When / Then
+        assertThatThrownBy(() -> new UserImportReader(new StringReader(input), UserImportFormat.CSV, objectMapper))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void skipTo_ShouldContinueAfterCheckpointLine() throws IOException {
+        // Given
+        String input = """
+                first_name,last_name,email,password
+                John,Doe,john.doe@gmail.com,secret
+                Jane,Doe,jane.doe@gmail.com,secret
+                """;
+        UserImportReader cut = new UserImportReader(new StringReader(input), UserImportFormat.CSV, objectMapper);
+
+        // When
+        cut.skipTo(2);
+
+        // Then
+        UserImportReader.Row row = cut.next();
+        assertThat(row.line()).isEqualTo(3);
+        assertThat(row.record().getEmail()).isEqualTo("jane.doe@gmail.com");
+    }
+}